@@ -0,0 +1,212 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package BreadthFirstSearch;
+/////////////////////////////////////////////////////////////////////
+import Graph.CompressedGraph;
+import Graph.Graph;
+import Graph.Path;
+import Graph.ReverseIndex;
+import Graph.SearchContext;
+import Node.*;
+/////////////////////////////////////////////////////////////////////
+/**
+ * <pre>
+ * Bidirectional breadth-first search for the fewest hops between two
+ * nodes.
+ *
+ * A forward search from the start node follows the edges, a backward
+ * search from the destination node follows them in reverse through the
+ * {@link ReverseIndex} of the snapshot. Each round expands one whole level
+ * of whichever frontier holds fewer nodes; the first level on which the
+ * searches meet holds the shortest connection
+ *
+ *   hops := min over meeting edges (u, v) of  f(u) + 1 + b(v)
+ *
+ * On a graph of branching factor k and diameter d each side only goes
+ * about d/2 levels deep, so roughly 2 k^(d/2) nodes are touched instead of
+ * k^d. The forward state is kept in a {@link SearchContext}, the backward
+ * state in a second context borrowed by each thread; both reset in
+ * constant time, so a query costs only the nodes it touches.
+ * </pre>
+ */
+public class BidirectionalBFS extends BreadthFirstSearch {
+    /**
+     * The backward context reused by the searches of each thread
+     */
+    private static final ThreadLocal<SearchContext> BACKWARD = new ThreadLocal<>();
+
+    /**
+     * The fewest hops from the start node to the destination node. The graph
+     * is frozen into a {@link CompressedGraph} snapshot first.
+     * @param graph the graph or digraph
+     * @param startNode the start node
+     * @param destinationNode the destination node
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     * @return an immutable {@link Path} from the destination node back to the
+     * start node with the hop count as its cost, or the empty path if the
+     * destination is unreachable.
+     * @throws IllegalArgumentException if either node is not in the graph
+     */
+    public <Id, Data, Metric> Path<Id, Data, Metric> shortestPath(
+            Graph<Node<Id, Data, Metric>> graph,
+            Node<Id, Data, Metric> startNode,
+            Node<Id, Data, Metric> destinationNode) {
+        CompressedGraph<Id, Data, Metric> csr = CompressedGraph.of(graph);
+        return shortestPath(csr, startNode, destinationNode, SearchContext.local(csr));
+    }
+
+    /**
+     * The fewest hops from the start node to the destination node
+     * @param graph the compressed graph or digraph
+     * @param startNode the start node
+     * @param destinationNode the destination node
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     * @return an immutable {@link Path} from the destination node back to the
+     * start node with the hop count as its cost, or the empty path if the
+     * destination is unreachable.
+     * @throws IllegalArgumentException if either node is not in the graph
+     */
+    public <Id, Data, Metric> Path<Id, Data, Metric> shortestPath(
+            CompressedGraph<Id, Data, Metric> graph,
+            Node<Id, Data, Metric> startNode,
+            Node<Id, Data, Metric> destinationNode) {
+        return shortestPath(graph, startNode, destinationNode, SearchContext.local(graph));
+    }
+
+    /**
+     * The fewest hops from the start node to the destination node. The
+     * forward search is recorded in the given context, and once the
+     * searches meet the backward half of the path is copied into it, so
+     * the context holds the whole path when the search returns.
+     * @param graph the compressed graph or digraph
+     * @param startNode the start node
+     * @param destinationNode the destination node
+     * @param context the forward search state, sized for the graph
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     * @return an immutable {@link Path} from the destination node back to the
+     * start node with the hop count as its cost, or the empty path if the
+     * destination is unreachable.
+     * @throws IllegalArgumentException if either node is not in the graph
+     */
+    public <Id, Data, Metric> Path<Id, Data, Metric> shortestPath(
+            CompressedGraph<Id, Data, Metric> graph,
+            Node<Id, Data, Metric> startNode,
+            Node<Id, Data, Metric> destinationNode,
+            SearchContext context) {
+        int source = graph.indexOf(startNode);
+        int target = graph.indexOf(destinationNode);
+        if (source < 0 || target < 0) {
+            throw new IllegalArgumentException("Start and destination nodes must belong to the graph.");
+        }
+        context.reset();
+        // no path leads from the start node to the destination node
+        if (!graph.mayReach(source, target)) return Path.empty();
+        SearchContext backward = backward(graph);
+        context.visit(source);
+        context.setDistance(source, 0);
+        backward.visit(target);
+        backward.setDistance(target, 0);
+        if (source == target) return context.path(graph, target);
+
+        ReverseIndex reverse = graph.reverse();
+        int[] forwardQueue = context.queue(), backwardQueue = backward.queue();
+        int forwardHead = 0, forwardTail = 0, backwardHead = 0, backwardTail = 0;
+        forwardQueue[forwardTail++] = source;
+        backwardQueue[backwardTail++] = target;
+        // the node where the shortest connection found so far meets, and its length
+        int meet = -1;
+        double hops = Double.POSITIVE_INFINITY;
+
+        while (meet < 0 && forwardHead < forwardTail && backwardHead < backwardTail) {
+            if (forwardTail - forwardHead <= backwardTail - backwardHead) {
+                // one level forward
+                for (int end = forwardTail; forwardHead < end; ) {
+                    int u = forwardQueue[forwardHead++];
+                    double next = context.distance(u) + 1;
+                    for (int e = graph.firstEdge(u), last = graph.lastEdge(u); e < last; e++) {
+                        int v = graph.target(e);
+                        if (context.isVisited(v)) continue;
+                        context.visit(v);
+                        context.setDistance(v, next);
+                        context.setParent(v, u);
+                        forwardQueue[forwardTail++] = v;
+                        if (backward.isVisited(v) && next + backward.distance(v) < hops) {
+                            hops = next + backward.distance(v);
+                            meet = v;
+                        }
+                    }
+                }
+            } else {
+                // one level backward, along the reversed edges
+                for (int end = backwardTail; backwardHead < end; ) {
+                    int v = backwardQueue[backwardHead++];
+                    double next = backward.distance(v) + 1;
+                    for (int e = reverse.firstEdge(v), last = reverse.lastEdge(v); e < last; e++) {
+                        int u = reverse.source(e);
+                        if (backward.isVisited(u)) continue;
+                        backward.visit(u);
+                        backward.setDistance(u, next);
+                        backward.setParent(u, v);
+                        backwardQueue[backwardTail++] = u;
+                        if (context.isVisited(u) && next + context.distance(u) < hops) {
+                            hops = next + context.distance(u);
+                            meet = u;
+                        }
+                    }
+                }
+            }
+        }
+        if (meet < 0) return Path.empty();
+
+        // splice the backward half of the path into the forward search tree
+        for (int v = meet; backward.parent(v) >= 0; v = backward.parent(v)) {
+            int w = backward.parent(v);
+            context.visit(w);
+            context.setDistance(w, context.distance(v) + 1);
+            context.setParent(w, v);
+        }
+        return context.path(graph, target);
+    }
+
+    /**
+     * Borrow the backward context of the calling thread, sized for a
+     * compressed graph and already reset
+     * @param graph the compressed graph
+     * @return the reset backward context of the calling thread
+     */
+    private static SearchContext backward(CompressedGraph<?, ?, ?> graph) {
+        SearchContext context = BACKWARD.get();
+        if (context == null || context.size() < graph.size()) {
+            context = SearchContext.of(graph);
+            BACKWARD.set(context);
+        } else {
+            context.reset();
+        }
+        return context;
+    }
+}
@@ -4,12 +4,24 @@ package BreadthFirstSearch;
 //import Dijkstra.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import Graph.CompressedGraph;
 import Graph.Graph;
+import Graph.SearchContext;
+import Graph.SearchVisitor;
+import Graph.SettledNode;
+import Graph.SparseDistanceMap;
 import Node.*;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 
 public class BreadthFirstSearch {
@@ -42,12 +54,29 @@ public class BreadthFirstSearch {
      *          state[u] = “processed”
      * </pre>
      *
-     * @param graph
-     * @param distance
-     * @param startNode
-     * @param destinationNode
-     * @return
+     * <p>
+     * The graph is frozen into a {@link CompressedGraph} snapshot and the search
+     * is delegated to {@link #breadthFirstSearch(CompressedGraph, Node, Node)}.
+     * The snapshot is taken on every call, which costs O(V + E) however close
+     * the destination is.
+     * <p>
+     * Unlike earlier releases, the search no longer initializes or updates the
+     * {@link Distance} of any {@link Node}: the distance argument is ignored,
+     * and the hop count of each node is only kept in the search state. Callers
+     * that read {@link Node#getDistance()} after a search should use
+     * {@link #breadthFirstSearch(CompressedGraph, Node, Node, SearchContext)}
+     * and read the hop counts from the context instead.
+     * @param graph the graph or digraph
+     * @param distance ignored; the start node is always at hop 0
+     * @param startNode the start node
+     * @param destinationNode the destination node
+     * @return the nodes in the order they were processed, ending with the
+     * destination node when it is reachable
+     * @deprecated freezes the whole graph per query; use
+     *          {@link #breadthFirstSearch(CompressedGraph, Node, Node)} on a
+     *          snapshot taken once with {@link CompressedGraph#ofInt(Graph)}
      */
+    @Deprecated
     public Queue<Node<String,String,Integer>> breadthFirstSearch(
             Graph<Node<String,String,Integer>> graph,
             Distance<Integer> distance,
@@ -55,63 +84,319 @@ public class BreadthFirstSearch {
             Node<String,String,Integer> destinationNode
     ){
         log.info("\nInitialization......\nStart Node: {}\n",startNode);
+        return breadthFirstSearch(CompressedGraph.ofInt(graph), startNode, destinationNode);
+    }
 
-        // create two lists, undiscovered/unsettled nodes and discovered/settled nodes;
-        // contains all unexplored nodes
-        Queue<Edge<Distance<Integer>, Node<String,String,Integer>>> deQueue = new ArrayDeque<>();
-        // contains the path explored to the destination node
-        Queue<Node<String,String,Integer>> enQueue = new ArrayDeque<>();
-        // initialize all nodes distance to +Infinity;
-        // and start node distance to 0
-        if (distance.getValue() == 0)
-        {
-            // Initialization of all nodes with distance "infinite";
-            graph.getNodes().forEach(
-                    gNode -> {
-                        Distance<Integer> d = new Distance<>( Integer.MAX_VALUE);
-                        gNode.setDistance(d);
-                    }
-            );
-
-            // initialization of the starting node with 0
-            startNode.setDistance(distance);
+    /**
+     * Breadth-first search over a {@link CompressedGraph} snapshot.
+     * @param graph the compressed graph or digraph
+     * @param startNode the start node
+     * @param destinationNode the destination node, or null to visit every
+     *                        node reachable from the start node
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     * @return the nodes in the order they were processed, ending with the
+     * destination node when it is reachable
+     * @throws IllegalArgumentException if the start node is not in the graph
+     * @see #breadthFirstSearch(CompressedGraph, Node, Node, SearchContext)
+     */
+    public <Id, Data, Metric> Queue<Node<Id,Data,Metric>> breadthFirstSearch(
+            CompressedGraph<Id,Data,Metric> graph,
+            Node<Id,Data,Metric> startNode,
+            Node<Id,Data,Metric> destinationNode
+    ){
+        return breadthFirstSearch(graph, startNode, destinationNode, SearchContext.local(graph));
+    }
+
+    /**
+     * Breadth-first search over a {@link CompressedGraph} snapshot. The state of
+     * each node is recorded in the given {@link SearchContext}: the hop count
+     * from the start node as its distance, the node it was discovered from as
+     * its parent, and whether it has been discovered as visited. No {@link Node}
+     * is mutated, so concurrent searches may share one snapshot as long as each
+     * passes its own context. The search terminates once the destination node
+     * has been processed.
+     * @param graph the compressed graph or digraph
+     * @param startNode the start node
+     * @param destinationNode the destination node, or null to visit every
+     *                        node reachable from the start node
+     * @param context the per query search state, sized for the graph
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     * @return the nodes in the order they were processed, ending with the
+     * destination node when it is reachable
+     * @throws IllegalArgumentException if the start node is not in the graph
+     */
+    public <Id, Data, Metric> Queue<Node<Id,Data,Metric>> breadthFirstSearch(
+            CompressedGraph<Id,Data,Metric> graph,
+            Node<Id,Data,Metric> startNode,
+            Node<Id,Data,Metric> destinationNode,
+            SearchContext context
+    ){
+        int source = graph.indexOf(startNode);
+        if (source < 0) {
+            throw new IllegalArgumentException("Start node must belong to the graph.");
         }
+        int target = destinationNode == null ? -1 : graph.indexOf(destinationNode);
+        context.reset();
+        // Q = {s}; each node is enqueued at most once
+        int[] queue = context.queue();
+        int head = 0, tail = 0;
+        queue[tail++] = source;
+        // state(s) = "discovered"
+        context.visit(source);
+        context.setDistance(source, 0);
+        // contains the nodes in the order they were processed
+        Queue<Node<Id,Data,Metric>> processed = new ArrayDeque<>();
+        while (head < tail) {
+            int u = queue[head++];
+            processed.add(graph.getNode(u));
+            if (u == target) break;
+            double hops = context.distance(u) + 1;
+            for (int e = graph.firstEdge(u), end = graph.lastEdge(u); e < end; e++) {
+                int v = graph.target(e);
+                if (!context.isVisited(v)) {
+                    // state(v) = "discovered"; p(v) = u
+                    context.visit(v);
+                    context.setDistance(v, hops);
+                    context.setParent(v, u);
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return processed;
+    }
+
+
+    /**
+     * Breadth-first traversal over a {@link CompressedGraph} snapshot that
+     * reports each step to a visitor instead of collecting the nodes. The
+     * traversal runs on a context of its own, so the visitor may start other
+     * searches on the same thread.
+     * @param graph the compressed graph or digraph
+     * @param startNode the start node
+     * @param visitor the callbacks of the traversal
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     * @return true if the visitor stopped the traversal, false if it ran out of nodes
+     * @throws IllegalArgumentException if the start node is not in the graph
+     * @see #traverse(CompressedGraph, Node, SearchVisitor, SearchContext)
+     */
+    public <Id, Data, Metric> boolean traverse(
+            CompressedGraph<Id,Data,Metric> graph,
+            Node<Id,Data,Metric> startNode,
+            SearchVisitor visitor
+    ){
+        return traverse(graph, startNode, visitor, SearchContext.of(graph));
+    }
+
+    /**
+     * Breadth-first traversal over a {@link CompressedGraph} snapshot that
+     * reports each step to a visitor instead of collecting the nodes. A node
+     * is discovered when it is enqueued and settled when it is dequeued, its
+     * distance being its hop count; an edge is relaxed when it leads to an
+     * undiscovered node. The hop counts and parents are recorded in the
+     * given {@link SearchContext} as the traversal goes.
+     * @param graph the compressed graph or digraph
+     * @param startNode the start node
+     * @param visitor the callbacks of the traversal
+     * @param context the per query search state, sized for the graph
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     * @return true if the visitor stopped the traversal, false if it ran out of nodes
+     * @throws IllegalArgumentException if the start node is not in the graph
+     */
+    public <Id, Data, Metric> boolean traverse(
+            CompressedGraph<Id,Data,Metric> graph,
+            Node<Id,Data,Metric> startNode,
+            SearchVisitor visitor,
+            SearchContext context
+    ){
+        int source = graph.indexOf(startNode);
+        if (source < 0) {
+            throw new IllegalArgumentException("Start node must belong to the graph.");
+        }
+        context.reset();
+        int[] queue = context.queue();
+        int head = 0, tail = 0;
+        context.visit(source);
+        context.setDistance(source, 0);
+        SearchVisitor.Action action = visitor.onDiscover(source, -1, 0);
+        if (action == SearchVisitor.Action.STOP) return true;
+        if (action == SearchVisitor.Action.CONTINUE) queue[tail++] = source;
+        while (head < tail) {
+            int u = queue[head++];
+            double hops = context.distance(u);
+            action = visitor.onSettle(u, hops);
+            if (action == SearchVisitor.Action.STOP) return true;
+            if (action == SearchVisitor.Action.PRUNE) continue;
+            for (int e = graph.firstEdge(u), end = graph.lastEdge(u); e < end; e++) {
+                int v = graph.target(e);
+                if (context.isVisited(v)) continue;
+                action = visitor.onRelax(u, v, e, hops + 1);
+                if (action == SearchVisitor.Action.STOP) return true;
+                if (action == SearchVisitor.Action.PRUNE) continue;
+                // state(v) = "discovered"; p(v) = u
+                context.visit(v);
+                context.setDistance(v, hops + 1);
+                context.setParent(v, u);
+                action = visitor.onDiscover(v, u, hops + 1);
+                if (action == SearchVisitor.Action.STOP) return true;
+                if (action == SearchVisitor.Action.CONTINUE) queue[tail++] = v;
+            }
+        }
+        return false;
+    }
 
-        // add the start node to unsettled node list
-        deQueue.add(
-                new Edge<>(
-                        distance,
-                        startNode
-                )
-        );
-        // for each neighbor adjacent node of the minimum distance node, where n has not yet been
-        // removed from unsettled nodes do;
-        while (deQueue.size() != 0) {
-            // get the node on with the smallest/minimum distance
-            Edge<Distance<Integer>, Node<String,String,Integer>> parentEdge = deQueue.poll();
-
-            Node<String,String,Integer> parent = parentEdge.getNode();
-            Distance<Integer> edgeWeightParent = parentEdge.getDistance();
-
-            // for each neighbor adjacent node of the minimum distance node, where n has not yet been
-            // removed from unsettled nodes do;
-            for (Edge<Distance<Integer>, Node<String,String,Integer>> childEdge : parentEdge.getNode().getEdges())
-            {
-                Node<String,String,Integer> child = childEdge.getNode();
-                Distance<Integer> edgeWeightChild = childEdge.getDistance();
-                Integer pathWeight = edgeWeightParent.getValue() + edgeWeightChild.getValue();
-                if (pathWeight < child.getDistance().getValue()){
-                    child.setDistance( new Distance<>( pathWeight ) );
-                    if (deQueue.contains( childEdge )){
-                        enQueue.add( child );
-                    }
+    /**
+     * The nodes reachable from the start node in breadth-first order, each
+     * with its hop count, produced lazily: the search advances one node per
+     * element pulled, so {@code limit}, {@code takeWhile} or {@code findFirst}
+     * end it early. The search runs on a context of its own.
+     * @param graph the compressed graph or digraph
+     * @param startNode the start node
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     * @return a sequential, ordered stream of the settled nodes
+     * @throws IllegalArgumentException if the start node is not in the graph
+     * @see #stream(CompressedGraph, Node, SearchContext)
+     */
+    public <Id, Data, Metric> Stream<SettledNode<Id,Data,Metric>> stream(
+            CompressedGraph<Id,Data,Metric> graph,
+            Node<Id,Data,Metric> startNode
+    ){
+        return stream(graph, startNode, SearchContext.of(graph));
+    }
+
+    /**
+     * The nodes reachable from the start node in breadth-first order, each
+     * with its hop count, produced lazily in the given context. The context
+     * belongs to the stream until it is exhausted or abandoned. The search
+     * itself is sequential; the stream may be made parallel, in which case
+     * its spliterator hands out batches of settled nodes to other threads
+     * while the search keeps running on one.
+     * @param graph the compressed graph or digraph
+     * @param startNode the start node
+     * @param context the search state, sized for the graph
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     * @return a sequential, ordered stream of the settled nodes
+     * @throws IllegalArgumentException if the start node is not in the graph
+     */
+    public <Id, Data, Metric> Stream<SettledNode<Id,Data,Metric>> stream(
+            CompressedGraph<Id,Data,Metric> graph,
+            Node<Id,Data,Metric> startNode,
+            SearchContext context
+    ){
+        int source = graph.indexOf(startNode);
+        if (source < 0) {
+            throw new IllegalArgumentException("Start node must belong to the graph.");
+        }
+        return StreamSupport.stream(new Settler<>(graph, source, context), false);
+    }
+
+    /**
+     * A breadth-first search advanced one dequeued node at a time
+     */
+    private static final class Settler<Id, Data, Metric> extends Spliterators.AbstractSpliterator<SettledNode<Id,Data,Metric>> {
+        private final CompressedGraph<Id,Data,Metric> graph;
+        private final SearchContext context;
+        private final int[] queue;
+        private int head, tail;
+
+        Settler(CompressedGraph<Id,Data,Metric> graph, int source, SearchContext context) {
+            super(graph.size(), Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+            this.graph = graph;
+            this.context = context;
+            context.reset();
+            this.queue = context.queue();
+            // state(s) = "discovered"
+            context.visit(source);
+            context.setDistance(source, 0);
+            this.queue[this.tail++] = source;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super SettledNode<Id,Data,Metric>> action) {
+            if (this.head == this.tail) return false;
+            int u = this.queue[this.head++];
+            double hops = this.context.distance(u);
+            for (int e = this.graph.firstEdge(u), end = this.graph.lastEdge(u); e < end; e++) {
+                int v = this.graph.target(e);
+                if (!this.context.isVisited(v)) {
+                    // state(v) = "discovered"; p(v) = u
+                    this.context.visit(v);
+                    this.context.setDistance(v, hops + 1);
+                    this.context.setParent(v, u);
+                    this.queue[this.tail++] = v;
                 }
             }
-            enQueue.add( parent );
+            action.accept(new SettledNode<>(this.graph.getNode(u), u, hops, this.context.parent(u)));
+            return true;
         }
-        return enQueue;
     }
 
+    /**
+     * All nodes within k hops of the start node, in breadth-first order with
+     * their hop counts. The search never expands a node k hops out, and it
+     * records the nodes it reaches in a {@link SparseDistanceMap} rather than
+     * a {@link SearchContext}, so the cost of a query is proportional to the
+     * size of the neighborhood rather than to the size of the graph.
+     * <pre>
+     *   N_k(s) := { v | hops(s, v) &lt;= k }
+     * </pre>
+     * @param graph the compressed graph or digraph
+     * @param startNode the start node
+     * @param k the maximum number of hops
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     * @return the nodes within k hops, the start node first
+     * @throws IllegalArgumentException if the start node is not in the graph
+     *          or k is negative
+     */
+    public <Id, Data, Metric> List<SettledNode<Id,Data,Metric>> withinHops(
+            CompressedGraph<Id,Data,Metric> graph,
+            Node<Id,Data,Metric> startNode,
+            int k
+    ){
+        int source = graph.indexOf(startNode);
+        if (source < 0) {
+            throw new IllegalArgumentException("Start node must belong to the graph.");
+        }
+        if (k < 0) {
+            throw new IllegalArgumentException("Hop bound must not be negative: " + k);
+        }
+        // the hop count and parent of each discovered node
+        SparseDistanceMap reached = new SparseDistanceMap();
+        List<SettledNode<Id,Data,Metric>> neighborhood = new ArrayList<>();
+        // Q = {s}, grown with the neighborhood rather than sized for the graph
+        int[] queue = new int[16];
+        int head = 0, tail = 0;
+        reached.put(source, 0, -1);
+        queue[tail++] = source;
+        while (head < tail) {
+            int u = queue[head++];
+            double hops = reached.distance(u);
+            neighborhood.add(new SettledNode<>(graph.getNode(u), u, hops, reached.parent(u)));
+            // the boundary: nodes k hops out are reported but not expanded
+            if (hops == k) continue;
+            for (int e = graph.firstEdge(u), end = graph.lastEdge(u); e < end; e++) {
+                int v = graph.target(e);
+                if (reached.contains(v)) continue;
+                reached.put(v, hops + 1, u);
+                if (tail == queue.length) queue = Arrays.copyOf(queue, tail * 2);
+                queue[tail++] = v;
+            }
+        }
+        return neighborhood;
+    }
 
 //    /**
 //     * Retrieve the edge with the minimum distance node.
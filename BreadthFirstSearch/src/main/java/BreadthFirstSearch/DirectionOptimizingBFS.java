@@ -0,0 +1,315 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package BreadthFirstSearch;
+/////////////////////////////////////////////////////////////////////
+import Graph.CompressedGraph;
+import Graph.Graph;
+import Graph.ReverseIndex;
+import Node.*;
+import java.util.Arrays;
+/////////////////////////////////////////////////////////////////////
+/**
+ * <pre>
+ * Level synchronous, direction optimizing breadth-first search (Beamer,
+ * Asanović and Patterson) over a {@link CompressedGraph} snapshot.
+ *
+ * Each level is expanded in one of two ways:
+ *
+ *   top-down  := for each u in the frontier, for each v in Adj(u),
+ *                claim v if it is undiscovered
+ *   bottom-up := for each undiscovered v, look through its in-edges
+ *                (u, v) for a u in the frontier and stop at the first
+ *
+ * Top-down examines every edge leaving the frontier, bottom-up every edge
+ * entering the undiscovered nodes but stops early once a parent is found.
+ * When the frontier is large the latter is far cheaper, so the search
+ *
+ *   switches to bottom-up when  m_f &#62; m_u / alpha
+ *   switches back to top-down when  n_f &#60; n / beta  and the frontier shrinks
+ *
+ * where m_f is the number of edges leaving the frontier, m_u the number of
+ * edges leaving undiscovered nodes and n_f the size of the frontier.
+ *
+ * The discovered nodes and the bottom-up frontier are bitsets of one bit
+ * per node, the top-down frontier an int array; the result is a primitive
+ * array of hop counts, -1 for the nodes that cannot be reached.
+ * </pre>
+ */
+public class DirectionOptimizingBFS {
+    /**
+     * The default top-down to bottom-up threshold
+     */
+    public static final int DEFAULT_ALPHA = 14;
+    /**
+     * The default bottom-up to top-down threshold
+     */
+    public static final int DEFAULT_BETA = 24;
+    /**
+     * The hop count of a node that cannot be reached
+     */
+    public static final int UNREACHED = -1;
+
+    private final int alpha;
+    private final int beta;
+
+    /**
+     * A direction optimizing search with the published thresholds
+     */
+    public DirectionOptimizingBFS() {
+        this(DEFAULT_ALPHA, DEFAULT_BETA);
+    }
+
+    /**
+     * A direction optimizing search with tuned thresholds
+     * @param alpha switch to bottom-up once the frontier has more than 1/alpha
+     *              of the edges left to check
+     * @param beta switch back to top-down once the frontier holds fewer than
+     *             1/beta of the nodes
+     * @throws IllegalArgumentException if a threshold is not positive
+     */
+    public DirectionOptimizingBFS(int alpha, int beta) {
+        if (alpha <= 0 || beta <= 0) {
+            throw new IllegalArgumentException("Direction thresholds must be positive: " + alpha + ", " + beta);
+        }
+        this.alpha = alpha;
+        this.beta = beta;
+    }
+
+    /**
+     * The hop count of every node from the start node. The graph is frozen
+     * into a {@link CompressedGraph} snapshot first.
+     * @param graph the graph or digraph
+     * @param startNode the start node
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     * @return the hop counts, indexed like the nodes of the snapshot
+     * @throws IllegalArgumentException if the start node is not in the graph
+     */
+    public <Id, Data, Metric> int[] hops(Graph<Node<Id, Data, Metric>> graph, Node<Id, Data, Metric> startNode) {
+        return hops(CompressedGraph.of(graph), startNode);
+    }
+
+    /**
+     * The hop count of every node from the start node
+     * @param graph the compressed graph or digraph
+     * @param startNode the start node
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     * @return the hop count of each node index, {@link #UNREACHED} if the node
+     * cannot be reached
+     * @throws IllegalArgumentException if the start node is not in the graph
+     */
+    public <Id, Data, Metric> int[] hops(CompressedGraph<Id, Data, Metric> graph, Node<Id, Data, Metric> startNode) {
+        int source = graph.indexOf(startNode);
+        if (source < 0) {
+            throw new IllegalArgumentException("Start node must belong to the graph.");
+        }
+        return hops(graph, source);
+    }
+
+    /**
+     * The hop count of every node from the start node
+     * @param graph the compressed graph or digraph
+     * @param source the index of the start node
+     * @return the hop count of each node index, {@link #UNREACHED} if the node
+     * cannot be reached
+     * @throws IndexOutOfBoundsException if the index is not in the graph
+     */
+    public int[] hops(CompressedGraph<?, ?, ?> graph, int source) {
+        if (source < 0 || source >= graph.size()) throw new IndexOutOfBoundsException(source);
+        return new Run(graph, source).hops;
+    }
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * Set a bit
+     * @param bits the bitset
+     * @param i the bit index
+     */
+    static void set(long[] bits, int i) { bits[i >>> 6] |= 1L << i; }
+
+    /**
+     * Test a bit
+     * @param bits the bitset
+     * @param i the bit index
+     * @return true if the bit is set
+     */
+    static boolean get(long[] bits, int i) { return (bits[i >>> 6] & (1L << i)) != 0; }
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * The state of one search
+     */
+    private final class Run {
+        private final CompressedGraph<?, ?, ?> graph;
+        private final int n;
+        private final int[] hops;
+        /**
+         * The discovered nodes
+         */
+        private final long[] visited;
+        /**
+         * The top-down frontier and the next one
+         */
+        private int[] frontier, next;
+        private int size;
+        /**
+         * The bottom-up frontier and the next one, built on first use
+         */
+        private long[] current, following;
+        /**
+         * m_f, the edges leaving the frontier
+         */
+        private long scout;
+        /**
+         * m_u, the edges leaving the undiscovered nodes
+         */
+        private long unexplored;
+
+        Run(CompressedGraph<?, ?, ?> graph, int source) {
+            this.graph = graph;
+            this.n = graph.size();
+            this.hops = new int[n];
+            Arrays.fill(this.hops, UNREACHED);
+            this.visited = new long[(n + 63) >>> 6];
+            this.frontier = new int[n];
+            this.next = new int[n];
+
+            set(this.visited, source);
+            this.hops[source] = 0;
+            this.frontier[this.size++] = source;
+            this.scout = graph.degree(source);
+            this.unexplored = graph.edgeCount() - this.scout;
+            search();
+        }
+
+        private void search() {
+            for (int level = 1; this.size > 0; level++) {
+                if (this.scout > this.unexplored / alpha) {
+                    // bottom-up until the frontier is small and shrinking
+                    ReverseIndex reverse = this.graph.reverse();
+                    toBits();
+                    int previous;
+                    do {
+                        previous = this.size;
+                        bottomUp(reverse, level++);
+                    } while (this.size > 0 && (this.size >= previous || this.size > n / beta));
+                    level--;
+                    toList();
+                } else {
+                    topDown(level);
+                }
+            }
+        }
+
+        /**
+         * Expand the frontier along the out-edges of its nodes
+         */
+        private void topDown(int level) {
+            int count = 0;
+            long edges = 0;
+            for (int i = 0; i < this.size; i++) {
+                int u = this.frontier[i];
+                for (int e = this.graph.firstEdge(u), end = this.graph.lastEdge(u); e < end; e++) {
+                    int v = this.graph.target(e);
+                    if (!get(this.visited, v)) {
+                        set(this.visited, v);
+                        this.hops[v] = level;
+                        this.next[count++] = v;
+                        edges += this.graph.degree(v);
+                    }
+                }
+            }
+            int[] swap = this.frontier;
+            this.frontier = this.next;
+            this.next = swap;
+            this.size = count;
+            this.scout = edges;
+            this.unexplored -= edges;
+        }
+
+        /**
+         * Give each undiscovered node with an in-edge from the frontier a parent
+         */
+        private void bottomUp(ReverseIndex reverse, int level) {
+            long[] frontier = this.current, next = this.following;
+            Arrays.fill(next, 0L);
+            int count = 0;
+            for (int w = 0; w < this.visited.length; w++) {
+                // the undiscovered nodes of this word
+                long open = ~this.visited[w];
+                while (open != 0) {
+                    int v = (w << 6) + Long.numberOfTrailingZeros(open);
+                    open &= open - 1;
+                    if (v >= n) break;
+                    for (int e = reverse.firstEdge(v), end = reverse.lastEdge(v); e < end; e++) {
+                        if (get(frontier, reverse.source(e))) {
+                            this.hops[v] = level;
+                            set(next, v);
+                            count++;
+                            break;
+                        }
+                    }
+                }
+            }
+            // claim the new level only once the whole level has been scanned
+            for (int w = 0; w < this.visited.length; w++) this.visited[w] |= next[w];
+            this.current = next;
+            this.following = frontier;
+            this.size = count;
+        }
+
+        /**
+         * The top-down frontier as a bitset
+         */
+        private void toBits() {
+            if (this.current == null) {
+                this.current = new long[this.visited.length];
+                this.following = new long[this.visited.length];
+            } else {
+                Arrays.fill(this.current, 0L);
+            }
+            for (int i = 0; i < this.size; i++) set(this.current, this.frontier[i]);
+        }
+
+        /**
+         * The bottom-up frontier as a list, with the edges leaving it
+         */
+        private void toList() {
+            int count = 0;
+            long edges = 0;
+            for (int w = 0; w < this.current.length; w++) {
+                for (long bits = this.current[w]; bits != 0; bits &= bits - 1) {
+                    int v = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    this.frontier[count++] = v;
+                    edges += this.graph.degree(v);
+                }
+            }
+            this.size = count;
+            this.scout = edges;
+            // the nodes claimed bottom-up were never subtracted from m_u
+            long left = 0;
+            for (int v = 0; v < n; v++) if (!get(this.visited, v)) left += this.graph.degree(v);
+            this.unexplored = left;
+        }
+    }
+}
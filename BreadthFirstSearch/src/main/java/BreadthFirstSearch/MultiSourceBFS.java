@@ -0,0 +1,156 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package BreadthFirstSearch;
+/////////////////////////////////////////////////////////////////////
+import Graph.CompressedGraph;
+import Graph.Graph;
+import Node.*;
+import java.util.Arrays;
+import java.util.List;
+/////////////////////////////////////////////////////////////////////
+/**
+ * <pre>
+ * Multi-source bit-parallel breadth-first search (MS-BFS, Then et al.):
+ * up to 64 searches share one traversal of the graph.
+ *
+ * Bit i of a node's words belongs to the i-th source of a batch:
+ *
+ *   seen(v)  := the searches that have discovered v
+ *   visit(v) := the searches with v on their current frontier
+ *
+ *   for each source s_i;  seen(s_i) |= 1 &#60;&#60; i;  visit(s_i) |= 1 &#60;&#60; i
+ *   while some visit(v) &#8800; 0;
+ *       for each v with visit(v) &#8800; 0, for each u in Adj(v);
+ *           next(u) |= visit(v) &#38; ~seen(u)
+ *       for each u with next(u) &#8800; 0;
+ *           seen(u) |= next(u);  hops(i, u) := level for each bit i of next(u)
+ *       visit := next
+ *
+ * Each adjacency list is read once per level for all the searches that
+ * have its node on their frontier, instead of once per search. Sources
+ * beyond the 64th are run in further batches.
+ * </pre>
+ */
+public class MultiSourceBFS extends BreadthFirstSearch {
+    /**
+     * The number of searches that share a traversal
+     */
+    public static final int BATCH = Long.SIZE;
+    /**
+     * The hop count of a node that cannot be reached
+     */
+    public static final int UNREACHED = -1;
+
+    /**
+     * The hop count of every node from each start node. The graph is frozen
+     * into a {@link CompressedGraph} snapshot first.
+     * @param graph the graph or digraph
+     * @param startNodes the start nodes
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     * @return the hop counts, one row per start node, indexed like the nodes
+     * of the snapshot
+     * @throws IllegalArgumentException if a start node is not in the graph
+     */
+    public <Id, Data, Metric> int[][] hops(
+            Graph<Node<Id, Data, Metric>> graph, List<Node<Id, Data, Metric>> startNodes) {
+        return hops(CompressedGraph.of(graph), startNodes);
+    }
+
+    /**
+     * The hop count of every node from each start node
+     * @param graph the compressed graph or digraph
+     * @param startNodes the start nodes
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     * @return the hop counts, row r for the r-th start node, with
+     * {@link #UNREACHED} for the nodes it cannot reach
+     * @throws IllegalArgumentException if a start node is not in the graph
+     */
+    public <Id, Data, Metric> int[][] hops(
+            CompressedGraph<Id, Data, Metric> graph, List<Node<Id, Data, Metric>> startNodes) {
+        int[] sources = new int[startNodes.size()];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = graph.indexOf(startNodes.get(i));
+            if (sources[i] < 0) {
+                throw new IllegalArgumentException("Start nodes must belong to the graph.");
+            }
+        }
+        int n = graph.size();
+        int[][] hops = new int[sources.length][];
+        for (int i = 0; i < sources.length; i++) {
+            hops[i] = new int[n];
+            Arrays.fill(hops[i], UNREACHED);
+        }
+        long[] seen = new long[n], visit = new long[n], next = new long[n];
+        for (int from = 0; from < sources.length; from += BATCH) {
+            batch(graph, sources, from, Math.min(from + BATCH, sources.length), hops, seen, visit, next);
+        }
+        return hops;
+    }
+
+    /**
+     * Search from sources[from, to) at once
+     */
+    private static void batch(CompressedGraph<?, ?, ?> graph, int[] sources, int from, int to, int[][] hops,
+                              long[] seen, long[] visit, long[] next) {
+        int n = graph.size();
+        Arrays.fill(seen, 0L);
+        Arrays.fill(visit, 0L);
+        for (int i = from; i < to; i++) {
+            long bit = 1L << (i - from);
+            seen[sources[i]] |= bit;
+            visit[sources[i]] |= bit;
+            hops[i][sources[i]] = 0;
+        }
+        for (int level = 1; ; level++) {
+            Arrays.fill(next, 0L);
+            boolean active = false;
+            for (int v = 0; v < n; v++) {
+                long frontier = visit[v];
+                if (frontier == 0) continue;
+                for (int e = graph.firstEdge(v), end = graph.lastEdge(v); e < end; e++) {
+                    int u = graph.target(e);
+                    long discovered = frontier & ~seen[u];
+                    if (discovered != 0) {
+                        next[u] |= discovered;
+                        active = true;
+                    }
+                }
+            }
+            if (!active) return;
+            for (int u = 0; u < n; u++) {
+                long discovered = next[u];
+                if (discovered == 0) continue;
+                seen[u] |= discovered;
+                for (; discovered != 0; discovered &= discovered - 1) {
+                    hops[from + Long.numberOfTrailingZeros(discovered)][u] = level;
+                }
+            }
+            long[] swap = visit;
+            visit = next;
+            next = swap;
+        }
+    }
+}
@@ -0,0 +1,261 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package BreadthFirstSearch;
+/////////////////////////////////////////////////////////////////////
+import Graph.CompressedGraph;
+import Graph.SearchContext;
+import Node.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+/////////////////////////////////////////////////////////////////////
+/**
+ * <pre>
+ * Level synchronous breadth-first search on a {@link ForkJoinPool}.
+ *
+ * Each frontier is cut into slices of at least GRAIN nodes, one task per
+ * slice. A task claims an undiscovered node by setting its bit in a shared
+ * visited bitmap with compare and set, so exactly one task discovers each
+ * node and alone writes its hop count and parent. Each task collects the
+ * nodes it claimed in its own buffer, and the buffers are concatenated
+ * into the next frontier once the level is done.
+ *
+ *   F := {s}
+ *   while F is not empty;
+ *       for each slice of F in parallel;
+ *           for u in slice, v in Adj(u);
+ *               if CAS(visited(v), 0, 1) then hops(v) := level;  p(v) := u;  buffer := buffer ∪ {v}
+ *       F := concatenation of the buffers
+ *
+ * Frontiers smaller than a slice are expanded on the calling thread. The
+ * hop counts are those of {@link BreadthFirstSearch}; when a node has
+ * several parents on the previous level, which one is kept depends on
+ * the schedule.
+ * </pre>
+ */
+public class ParallelBFS extends BreadthFirstSearch {
+    /**
+     * The number of frontier nodes expanded by one task
+     */
+    private static final int GRAIN = 1024;
+    /**
+     * The hop count of a node that cannot be reached
+     */
+    public static final int UNREACHED = -1;
+    /**
+     * The pool the levels are expanded on
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * A parallel search on the common pool
+     */
+    public ParallelBFS() { this(ForkJoinPool.commonPool()); }
+
+    /**
+     * A parallel search
+     * @param pool the pool the levels are expanded on
+     */
+    public ParallelBFS(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool must not be null.");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Breadth-first search over a {@link CompressedGraph} snapshot, one level
+     * at a time in parallel. The hop count, parent and discovered state of
+     * every node reached are copied into the context once the search ends,
+     * and the search ends with the level of the destination node.
+     * @param graph the compressed graph or digraph
+     * @param startNode the start node
+     * @param destinationNode the destination node, or null to visit every
+     *                        node reachable from the start node
+     * @param context the per query search state, sized for the graph
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     * @return the nodes level by level, ending with the destination node
+     * when it is reachable
+     * @throws IllegalArgumentException if the start node is not in the graph
+     */
+    @Override
+    public <Id, Data, Metric> Queue<Node<Id, Data, Metric>> breadthFirstSearch(
+            CompressedGraph<Id, Data, Metric> graph,
+            Node<Id, Data, Metric> startNode,
+            Node<Id, Data, Metric> destinationNode,
+            SearchContext context) {
+        int source = graph.indexOf(startNode);
+        if (source < 0) {
+            throw new IllegalArgumentException("Start node must belong to the graph.");
+        }
+        int target = destinationNode == null ? -1 : graph.indexOf(destinationNode);
+        Run run = new Run(graph, source, target);
+
+        context.reset();
+        Queue<Node<Id, Data, Metric>> processed = new ArrayDeque<>();
+        for (int i = 0; i < run.order.length; i++) {
+            int v = run.order[i];
+            context.visit(v);
+            context.setDistance(v, run.hops[v]);
+            if (v != source) context.setParent(v, run.parents[v]);
+            processed.add(graph.getNode(v));
+            if (v == target) break;
+        }
+        return processed;
+    }
+
+    /**
+     * The hop count of every node from the start node
+     * @param graph the compressed graph or digraph
+     * @param startNode the start node
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     * @return the hop count of each node index, {@link #UNREACHED} if the node
+     * cannot be reached
+     * @throws IllegalArgumentException if the start node is not in the graph
+     */
+    public <Id, Data, Metric> int[] hops(CompressedGraph<Id, Data, Metric> graph, Node<Id, Data, Metric> startNode) {
+        int source = graph.indexOf(startNode);
+        if (source < 0) {
+            throw new IllegalArgumentException("Start node must belong to the graph.");
+        }
+        return new Run(graph, source, -1).hops;
+    }
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * The state of one search
+     */
+    private final class Run {
+        private final CompressedGraph<?, ?, ?> graph;
+        private final int[] hops;
+        private final int[] parents;
+        private final AtomicLongArray visited;
+        /**
+         * The nodes in the order of their levels
+         */
+        private int[] order;
+
+        Run(CompressedGraph<?, ?, ?> graph, int source, int target) {
+            int n = graph.size();
+            this.graph = graph;
+            this.hops = new int[n];
+            this.parents = new int[n];
+            Arrays.fill(this.hops, UNREACHED);
+            this.visited = new AtomicLongArray((n + 63) >>> 6);
+
+            int[] order = new int[n];
+            int size = 0;
+            claim(source);
+            this.hops[source] = 0;
+            this.parents[source] = -1;
+            order[size++] = source;
+            // the frontier is always the tail of the order
+            for (int start = 0, level = 1; start < size; level++) {
+                if (target >= 0 && this.hops[target] >= 0) break;
+                int[] next = expand(order, start, size, level);
+                start = size;
+                System.arraycopy(next, 0, order, size, next.length);
+                size += next.length;
+            }
+            this.order = Arrays.copyOf(order, size);
+        }
+
+        /**
+         * Claim a node
+         * @return true if this call discovered the node
+         */
+        private boolean claim(int node) {
+            int word = node >>> 6;
+            long bit = 1L << node;
+            while (true) {
+                long bits = this.visited.get(word);
+                if ((bits & bit) != 0) return false;
+                if (this.visited.compareAndSet(word, bits, bits | bit)) return true;
+            }
+        }
+
+        /**
+         * Expand the frontier order[from, to) into the nodes of the next level
+         */
+        private int[] expand(int[] order, int from, int to, int level) {
+            int size = to - from;
+            if (size <= GRAIN) return slice(order, from, to, level);
+            int slices = Math.min((size + GRAIN - 1) / GRAIN, pool.getParallelism() * 4);
+            List<Callable<int[]>> tasks = new ArrayList<>(slices);
+            for (int s = 0; s < slices; s++) {
+                int lo = from + (int) ((long) size * s / slices);
+                int hi = from + (int) ((long) size * (s + 1) / slices);
+                tasks.add(() -> slice(order, lo, hi, level));
+            }
+            List<int[]> buffers = new ArrayList<>(slices);
+            try {
+                for (Future<int[]> future : pool.invokeAll(tasks)) buffers.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted during breadth-first search.", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IllegalArgumentException) throw (IllegalArgumentException) e.getCause();
+                throw new IllegalStateException("Failed to run breadth-first search.", e.getCause());
+            }
+            int total = 0;
+            for (int[] buffer : buffers) total += buffer.length;
+            int[] next = new int[total];
+            int offset = 0;
+            for (int[] buffer : buffers) {
+                System.arraycopy(buffer, 0, next, offset, buffer.length);
+                offset += buffer.length;
+            }
+            return next;
+        }
+
+        /**
+         * Expand one slice of the frontier into a buffer of its own
+         */
+        private int[] slice(int[] order, int from, int to, int level) {
+            int[] buffer = new int[Math.max(16, to - from)];
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                int u = order[i];
+                for (int e = this.graph.firstEdge(u), end = this.graph.lastEdge(u); e < end; e++) {
+                    int v = this.graph.target(e);
+                    if (claim(v)) {
+                        this.hops[v] = level;
+                        this.parents[v] = u;
+                        if (count == buffer.length) buffer = Arrays.copyOf(buffer, count * 2);
+                        buffer[count++] = v;
+                    }
+                }
+            }
+            return Arrays.copyOf(buffer, count);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package BreadthFirstSearch;
+/////////////////////////////////////////////////////////////////////
+import Graph.CompressedGraph;
+import Graph.Graph;
+import Graph.Path;
+import Node.*;
+import java.util.Arrays;
+/////////////////////////////////////////////////////////////////////
+/**
+ * <pre>
+ * 0-1 breadth-first search: shortest paths in linear time over graphs
+ * whose edge weights are all 0 or 1, such as grid maps with free moves.
+ *
+ * A double ended queue takes the place of the priority queue. A node
+ * reached over a 0 edge is as close as the node it came from and goes to
+ * the front, one reached over a 1 edge goes to the back, so the deque
+ * always holds nodes of at most two distances, in order.
+ *
+ *   d(s) := 0;  D := [s]
+ *   while D is not empty;
+ *       u := pop_front(D)
+ *       for each v in Adj(u);
+ *           if d(u) + w(u, v) &#60; d(v)
+ *           then d(v) := d(u) + w(u, v);  p(v) := u
+ *                if w(u, v) = 0 then push_front(D, v) else push_back(D, v)
+ *
+ * A node may be queued again after it improves; the stale entry is
+ * skipped once the node has been settled. Graphs with any other weight
+ * are rejected.
+ * </pre>
+ */
+public class ZeroOneBFS {
+    /**
+     * The distance of a node that cannot be reached
+     */
+    public static final int UNREACHED = -1;
+
+    /**
+     * The distances from the start node. The graph is frozen into an int
+     * {@link CompressedGraph} snapshot first.
+     * @param graph the graph or digraph
+     * @param startNode the start node
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     * @return the distances and parents
+     * @throws IllegalArgumentException if the start node is not in the graph,
+     * or an edge weight is neither 0 nor 1
+     */
+    public <Id, Data, Metric> Tree<Id, Data, Metric> search(
+            Graph<Node<Id, Data, Metric>> graph, Node<Id, Data, Metric> startNode) {
+        return search(CompressedGraph.ofInt(graph), startNode, null);
+    }
+
+    /**
+     * The distances from the start node, stopping once the destination
+     * node is settled
+     * @param graph the compressed graph or digraph
+     * @param startNode the start node
+     * @param destinationNode the destination node, or null to settle every
+     *                        node reachable from the start node
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     * @return the distances and parents; past the destination node they may
+     * be tentative
+     * @throws IllegalArgumentException if either node is not in the graph,
+     * or an edge weight is neither 0 nor 1
+     */
+    public <Id, Data, Metric> Tree<Id, Data, Metric> search(
+            CompressedGraph<Id, Data, Metric> graph,
+            Node<Id, Data, Metric> startNode,
+            Node<Id, Data, Metric> destinationNode) {
+        int source = graph.indexOf(startNode);
+        int target = destinationNode == null ? -1 : graph.indexOf(destinationNode);
+        if (source < 0 || (destinationNode != null && target < 0)) {
+            throw new IllegalArgumentException("Start and destination nodes must belong to the graph.");
+        }
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            double w = graph.weight(e);
+            if (w != 0 && w != 1) {
+                throw new IllegalArgumentException("0-1 BFS requires edge weights of 0 or 1, found: " + w);
+            }
+        }
+        int n = graph.size();
+        int[] distances = new int[n];
+        int[] parents = new int[n];
+        Arrays.fill(distances, Integer.MAX_VALUE);
+        Arrays.fill(parents, -1);
+        boolean[] settled = new boolean[n];
+
+        // a ring buffer, grown when a node is queued more often than there are nodes
+        int[] deque = new int[Integer.highestOneBit(Math.max(n, 8) - 1) << 1];
+        int head = 0, size = 0;
+        distances[source] = 0;
+        deque[head] = source;
+        size++;
+        while (size > 0) {
+            int u = deque[head];
+            head = (head + 1) & (deque.length - 1);
+            size--;
+            if (settled[u]) continue;
+            settled[u] = true;
+            if (u == target) break;
+            for (int e = graph.firstEdge(u), end = graph.lastEdge(u); e < end; e++) {
+                int v = graph.target(e);
+                boolean free = graph.weight(e) == 0;
+                int d = free ? distances[u] : distances[u] + 1;
+                if (d >= distances[v]) continue;
+                distances[v] = d;
+                parents[v] = u;
+                if (size == deque.length) {
+                    int[] grown = new int[deque.length << 1];
+                    for (int i = 0; i < size; i++) grown[i] = deque[(head + i) & (deque.length - 1)];
+                    deque = grown;
+                    head = 0;
+                }
+                if (free) {
+                    head = (head - 1) & (deque.length - 1);
+                    deque[head] = v;
+                } else {
+                    deque[(head + size) & (deque.length - 1)] = v;
+                }
+                size++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            if (distances[v] == Integer.MAX_VALUE) distances[v] = UNREACHED;
+        }
+        return new Tree<>(graph, source, distances, parents);
+    }
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * The distances and parents of a 0-1 search, indexed like the nodes of
+     * the compressed graph
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     */
+    public static final class Tree<Id, Data, Metric> {
+        private final CompressedGraph<Id, Data, Metric> graph;
+        private final int source;
+        private final int[] distances;
+        private final int[] parents;
+
+        private Tree(CompressedGraph<Id, Data, Metric> graph, int source, int[] distances, int[] parents) {
+            this.graph = graph;
+            this.source = source;
+            this.distances = distances;
+            this.parents = parents;
+        }
+
+        /**
+         * Get the graph that was searched
+         * @return the compressed graph
+         */
+        public CompressedGraph<Id, Data, Metric> getGraph() { return this.graph; }
+
+        /**
+         * Get the start node index
+         * @return the index of the start node
+         */
+        public int source() { return this.source; }
+
+        /**
+         * Get the distances, not copied
+         * @return the distance of each node index, {@link #UNREACHED} if the
+         * node cannot be reached
+         */
+        public int[] distances() { return this.distances; }
+
+        /**
+         * Get the parents, not copied
+         * @return the node index each node was reached from, -1 for the start
+         * node and the nodes that cannot be reached
+         */
+        public int[] parents() { return this.parents; }
+
+        /**
+         * Back up from a node to the start node through the parents.
+         * @param node the node to back up from
+         * @return an immutable {@link Path} from the node back to the start
+         * node, or the empty path if the node was not reached.
+         * @throws IllegalArgumentException if the node is not in the graph
+         */
+        public Path<Id, Data, Metric> path(Node<Id, Data, Metric> node) {
+            int v = this.graph.indexOf(node);
+            if (v < 0) {
+                throw new IllegalArgumentException("The node does not belong to the graph.");
+            }
+            if (this.distances[v] == UNREACHED) return Path.empty();
+            return Path.of(this.graph, v, p -> this.parents[p], this.distances[v]);
+        }
+    }
+}
@@ -71,7 +71,6 @@ module BreadthFirstSearch {
     requires java.desktop;
     requires Node;
     requires org.slf4j;
-    requires Node;
     exports BreadthFirstSearch;
 
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+import BreadthFirstSearch.BidirectionalBFS;
+import BreadthFirstSearch.BreadthFirstSearch;
+import Graph.CompressedGraph;
+import Graph.Path;
+import Graph.SearchContext;
+import Node.*;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import java.util.Random;
+
+@Slf4j
+public class BidirectionalBFSTest {
+
+    @Test
+    public void bidirectionalBFSTest() {
+        CompressedGraph<Object,Object,Object> csr = DirectionOptimizingBFSTest.socialGraph(20000, 29);
+        BreadthFirstSearch bfs = new BreadthFirstSearch();
+        BidirectionalBFS bidirectional = new BidirectionalBFS();
+        SearchContext expected = SearchContext.of(csr);
+        SearchContext actual = SearchContext.of(csr);
+        Random random = new Random(3);
+        long touched = 0, swept = 0;
+        for (int query = 0; query < 60; query++) {
+            Node<Object,Object,Object> start = csr.getNode(random.nextInt(csr.size()));
+            Node<Object,Object,Object> destination = csr.getNode(random.nextInt(csr.size()));
+            bfs.breadthFirstSearch(csr, start, null, expected);
+            Path<Object,Object,Object> path = bidirectional.shortestPath(csr, start, destination, actual);
+
+            int target = csr.indexOf(destination);
+            if (!expected.isVisited(target)) {
+                Assert.assertTrue(path.isEmpty());
+                continue;
+            }
+            Assert.assertEquals(path.getCost(), expected.distance(target));
+            Assert.assertEquals(path.size(), (int) expected.distance(target) + 1);
+            Assert.assertSame(path.getDestination(), destination);
+            Assert.assertSame(path.getStart(), start);
+            // each hop follows an edge
+            for (int i = path.size() - 1; i > 0; i--) {
+                int u = csr.indexOf(path.get(i)), v = csr.indexOf(path.get(i - 1));
+                boolean edge = false;
+                for (int e = csr.firstEdge(u); e < csr.lastEdge(u); e++) edge |= csr.target(e) == v;
+                Assert.assertTrue(edge, "no edge " + u + " -> " + v);
+            }
+            for (int v = 0; v < csr.size(); v++) {
+                if (actual.isVisited(v)) touched++;
+                if (expected.isVisited(v)) swept++;
+            }
+        }
+        log.info("\nForward nodes touched: {} bidirectional, {} full sweeps\n", touched, swept);
+        Assert.assertTrue(touched < swept);
+    }
+
+    @Test
+    public void bidirectionalBFSSameNodeTest() {
+        CompressedGraph<Object,Object,Object> csr = DirectionOptimizingBFSTest.socialGraph(10, 1);
+        Path<Object,Object,Object> path = new BidirectionalBFS().shortestPath(csr, csr.getNode(3), csr.getNode(3));
+        Assert.assertEquals(path.size(), 1);
+        Assert.assertEquals(path.getCost(), 0.0);
+    }
+}
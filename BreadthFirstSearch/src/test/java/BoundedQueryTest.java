@@ -0,0 +1,60 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+import BreadthFirstSearch.BreadthFirstSearch;
+import BreadthFirstSearch.DirectionOptimizingBFS;
+import Graph.CompressedGraph;
+import Graph.SettledNode;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+public class BoundedQueryTest {
+
+    @Test
+    public void withinHopsTest() {
+        CompressedGraph<Object,Object,Object> csr = DirectionOptimizingBFSTest.socialGraph(5000, 59);
+        int[] hops = new DirectionOptimizingBFS().hops(csr, 0);
+        BreadthFirstSearch bfs = new BreadthFirstSearch();
+        for (int k = 0; k <= 3; k++) {
+            List<SettledNode<Object,Object,Object>> neighborhood = bfs.withinHops(csr, csr.getNode(0), k);
+            Set<Integer> seen = new HashSet<>();
+            for (SettledNode<Object,Object,Object> node : neighborhood) {
+                Assert.assertTrue(seen.add(node.index()));
+                Assert.assertEquals((int) node.getDistance(), hops[node.index()]);
+                Assert.assertTrue(node.getDistance() <= k);
+            }
+            int expected = 0;
+            for (int h : hops) if (h >= 0 && h <= k) expected++;
+            Assert.assertEquals(neighborhood.size(), expected);
+            Assert.assertEquals(neighborhood.get(0).index(), 0);
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void negativeHopBoundTest() {
+        CompressedGraph<Object,Object,Object> csr = DirectionOptimizingBFSTest.socialGraph(10, 61);
+        new BreadthFirstSearch().withinHops(csr, csr.getNode(0), -1);
+    }
+}
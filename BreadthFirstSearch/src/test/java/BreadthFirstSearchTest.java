@@ -111,7 +111,8 @@ public class BreadthFirstSearchTest {
             nodeA.setShortestPath(new ArrayList<>(results0));
             Long results0EndTime = System.currentTimeMillis() - startTime;
             log.info("\nRecursive Shortest Path 0:{} \nRuntime: {}\n", results0, results0EndTime);
-            // we should have a list of 10 nodes returned from BFS
+            // the search stops once the destination node I is processed,
+            // before the last 2 of the 10 reachable nodes
             Assert.assertEquals(results0.size(),8);
         } catch (Exception e){
             log.error(e.getLocalizedMessage());
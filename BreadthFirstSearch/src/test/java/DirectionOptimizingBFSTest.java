@@ -0,0 +1,90 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+import BreadthFirstSearch.BreadthFirstSearch;
+import BreadthFirstSearch.DirectionOptimizingBFS;
+import Graph.CompressedGraph;
+import Graph.Graph;
+import Graph.SearchContext;
+import Node.*;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+@Slf4j
+public class DirectionOptimizingBFSTest {
+
+    /**
+     * A digraph with a few high degree hubs, like a social graph, and a
+     * tail of nodes nothing points at
+     */
+    static CompressedGraph<Object,Object,Object> socialGraph(int n, long seed) {
+        Random random = new Random(seed);
+        List<Node<Object,Object,Object>> nodes = new ArrayList<>();
+        Graph<Node<Object,Object,Object>> graph = new Graph<Node<Object,Object,Object>>();
+        for (int i = 0; i < n; i++) {
+            Node<Object,Object,Object> node = new Node<Object,Object,Object>("N" + i, i);
+            nodes.add(node);
+            graph.addNode(node);
+        }
+        int reachable = n - n / 20;
+        for (int i = 0; i < n; i++) {
+            double r = random.nextDouble();
+            int degree = 1 + (int) (r * r * r * 120);
+            for (int d = 0; d < degree; d++) {
+                nodes.get(i).addAdjacentNode(nodes.get(random.nextInt(reachable)), new Distance<Object>(1));
+            }
+        }
+        return CompressedGraph.of(graph);
+    }
+
+    @Test
+    public void directionOptimizingBFSTest() {
+        CompressedGraph<Object,Object,Object> csr = socialGraph(5000, 17);
+        SearchContext context = SearchContext.of(csr);
+        new BreadthFirstSearch().breadthFirstSearch(csr, csr.getNode(0), null, context);
+
+        DirectionOptimizingBFS[] searches = {
+                new DirectionOptimizingBFS(),
+                // bottom-up from the first level on
+                new DirectionOptimizingBFS(Integer.MAX_VALUE, Integer.MAX_VALUE),
+                new DirectionOptimizingBFS(2, 4)
+        };
+        for (DirectionOptimizingBFS search : searches) {
+            int[] hops = search.hops(csr, csr.getNode(0));
+            int reached = 0;
+            for (int v = 0; v < csr.size(); v++) {
+                int expected = context.isVisited(v) ? (int) context.distance(v) : DirectionOptimizingBFS.UNREACHED;
+                Assert.assertEquals(hops[v], expected, "hops to " + v);
+                if (hops[v] >= 0) reached++;
+            }
+            log.info("\nReached {} of {} nodes\n", reached, csr.size());
+            Assert.assertTrue(reached < csr.size());
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void directionOptimizingBFSRejectsForeignNodeTest() {
+        new DirectionOptimizingBFS().hops(socialGraph(10, 1), new Node<Object,Object,Object>("Z", "ZZ"));
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+import BreadthFirstSearch.BreadthFirstSearch;
+import BreadthFirstSearch.MultiSourceBFS;
+import Graph.CompressedGraph;
+import Graph.SearchContext;
+import Node.*;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+public class MultiSourceBFSTest {
+
+    @Test
+    public void multiSourceBFSTest() {
+        CompressedGraph<Object,Object,Object> csr = DirectionOptimizingBFSTest.socialGraph(3000, 23);
+        // more than one batch, with a repeated source
+        List<Node<Object,Object,Object>> sources = new ArrayList<>();
+        for (int i = 0; i < 150; i++) sources.add(csr.getNode((i * 37) % csr.size()));
+        sources.add(csr.getNode(0));
+        sources.add(csr.getNode(csr.size() - 1));
+
+        int[][] hops = new MultiSourceBFS().hops(csr, sources);
+        Assert.assertEquals(hops.length, sources.size());
+
+        BreadthFirstSearch bfs = new BreadthFirstSearch();
+        SearchContext context = SearchContext.of(csr);
+        for (int r = 0; r < sources.size(); r++) {
+            bfs.breadthFirstSearch(csr, sources.get(r), null, context);
+            for (int v = 0; v < csr.size(); v++) {
+                int expected = context.isVisited(v) ? (int) context.distance(v) : MultiSourceBFS.UNREACHED;
+                Assert.assertEquals(hops[r][v], expected, "hops from " + r + " to " + v);
+            }
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void multiSourceBFSRejectsForeignNodeTest() {
+        CompressedGraph<Object,Object,Object> csr = DirectionOptimizingBFSTest.socialGraph(10, 1);
+        new MultiSourceBFS().hops(csr, List.of(csr.getNode(0), new Node<Object,Object,Object>("Z", "ZZ")));
+    }
+}
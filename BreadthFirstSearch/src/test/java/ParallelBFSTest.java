@@ -0,0 +1,74 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+import BreadthFirstSearch.BreadthFirstSearch;
+import BreadthFirstSearch.ParallelBFS;
+import Graph.CompressedGraph;
+import Graph.SearchContext;
+import Node.*;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
+
+@Slf4j
+public class ParallelBFSTest {
+
+    @Test
+    public void parallelBFSTest() {
+        CompressedGraph<Object,Object,Object> csr = DirectionOptimizingBFSTest.socialGraph(20000, 5);
+        SearchContext expected = SearchContext.of(csr);
+        new BreadthFirstSearch().breadthFirstSearch(csr, csr.getNode(0), null, expected);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ParallelBFS bfs = new ParallelBFS(pool);
+            int[] hops = bfs.hops(csr, csr.getNode(0));
+            for (int v = 0; v < csr.size(); v++) {
+                Assert.assertEquals(hops[v], expected.isVisited(v) ? (int) expected.distance(v) : ParallelBFS.UNREACHED);
+            }
+
+            SearchContext actual = SearchContext.of(csr);
+            bfs.breadthFirstSearch(csr, csr.getNode(0), null, actual);
+            for (int v = 1; v < csr.size(); v++) {
+                Assert.assertEquals(actual.isVisited(v), expected.isVisited(v));
+                if (!actual.isVisited(v)) continue;
+                Assert.assertEquals(actual.distance(v), expected.distance(v));
+                // the parent is one level up and has an edge to the node
+                int parent = actual.parent(v);
+                Assert.assertEquals(actual.distance(parent), actual.distance(v) - 1);
+                boolean edge = false;
+                for (int e = csr.firstEdge(parent); e < csr.lastEdge(parent); e++) edge |= csr.target(e) == v;
+                Assert.assertTrue(edge);
+            }
+
+            // the search ends with the level of the destination node
+            Node<Object,Object,Object> destination = csr.getNode(csr.size() / 2);
+            Queue<Node<Object,Object,Object>> processed = bfs.breadthFirstSearch(csr, csr.getNode(0), destination);
+            log.info("\nProcessed {} nodes before {}\n", processed.size(), destination.getName());
+            Assert.assertTrue(processed.size() < csr.size());
+            Assert.assertSame(((ArrayDeque<Node<Object,Object,Object>>) processed).peekLast(), destination);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
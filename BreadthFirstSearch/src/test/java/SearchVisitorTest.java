@@ -0,0 +1,75 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+import BreadthFirstSearch.BreadthFirstSearch;
+import BreadthFirstSearch.DirectionOptimizingBFS;
+import Graph.CompressedGraph;
+import Graph.SearchContext;
+import Graph.SearchVisitor;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Slf4j
+public class SearchVisitorTest {
+
+    @Test
+    public void boundedNeighborhoodTest() {
+        CompressedGraph<Object,Object,Object> csr = DirectionOptimizingBFSTest.socialGraph(5000, 41);
+        int[] hops = new DirectionOptimizingBFS().hops(csr, 0);
+        int expected = 0;
+        for (int h : hops) if (h >= 0 && h <= 2) expected++;
+
+        // count the nodes within two hops, never expanding past them
+        int[] count = new int[1];
+        boolean stopped = new BreadthFirstSearch().traverse(csr, csr.getNode(0), new SearchVisitor() {
+            @Override
+            public Action onDiscover(int node, int parent, double distance) {
+                count[0]++;
+                return distance < 2 ? Action.CONTINUE : Action.PRUNE;
+            }
+        });
+        Assert.assertFalse(stopped);
+        Assert.assertEquals(count[0], expected);
+    }
+
+    @Test
+    public void firstMatchTest() {
+        CompressedGraph<Object,Object,Object> csr = DirectionOptimizingBFSTest.socialGraph(5000, 43);
+        int[] hops = new DirectionOptimizingBFS().hops(csr, 0);
+        // the first node with an index divisible by 97, at the fewest hops
+        int best = Integer.MAX_VALUE;
+        for (int v = 1; v < csr.size(); v++) if (v % 97 == 0 && hops[v] >= 0) best = Math.min(best, hops[v]);
+
+        int[] match = {-1};
+        SearchContext context = SearchContext.of(csr);
+        boolean stopped = new BreadthFirstSearch().traverse(csr, csr.getNode(0), new SearchVisitor() {
+            @Override
+            public Action onDiscover(int node, int parent, double distance) {
+                if (node == 0 || node % 97 != 0) return Action.CONTINUE;
+                match[0] = node;
+                return Action.STOP;
+            }
+        }, context);
+        Assert.assertTrue(stopped);
+        Assert.assertEquals(hops[match[0]], best);
+        Assert.assertEquals((int) context.distance(match[0]), best);
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+import BreadthFirstSearch.BreadthFirstSearch;
+import BreadthFirstSearch.DirectionOptimizingBFS;
+import Graph.CompressedGraph;
+import Graph.SearchContext;
+import Graph.SettledNode;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Slf4j
+public class SettledStreamTest {
+
+    @Test
+    public void settleOrderTest() {
+        CompressedGraph<Object,Object,Object> csr = DirectionOptimizingBFSTest.socialGraph(5000, 47);
+        int[] hops = new DirectionOptimizingBFS().hops(csr, 0);
+        int reachable = 0;
+        for (int h : hops) if (h >= 0) reachable++;
+
+        List<SettledNode<Object,Object,Object>> settled = new BreadthFirstSearch()
+                .stream(csr, csr.getNode(0))
+                .collect(Collectors.toList());
+        Assert.assertEquals(settled.size(), reachable);
+        double previous = 0;
+        for (SettledNode<Object,Object,Object> node : settled) {
+            // nondecreasing hop counts, each matching the level of the node
+            Assert.assertTrue(node.getDistance() >= previous);
+            Assert.assertEquals((int) node.getDistance(), hops[node.index()]);
+            Assert.assertSame(node.getNode(), csr.getNode(node.index()));
+            if (node.index() != 0) Assert.assertEquals(hops[node.parent()], hops[node.index()] - 1);
+            previous = node.getDistance();
+        }
+    }
+
+    @Test
+    public void earlyExitTest() {
+        CompressedGraph<Object,Object,Object> csr = DirectionOptimizingBFSTest.socialGraph(5000, 53);
+        SearchContext context = SearchContext.of(csr);
+        Optional<SettledNode<Object,Object,Object>> first = new BreadthFirstSearch()
+                .stream(csr, csr.getNode(0), context)
+                .filter(node -> node.getDistance() == 2)
+                .findFirst();
+        Assert.assertTrue(first.isPresent());
+        // the search stopped at the second level: nothing beyond three hops was discovered
+        long discovered = 0;
+        for (int v = 0; v < csr.size(); v++) {
+            if (!context.isReached(v)) continue;
+            Assert.assertTrue(context.distance(v) <= 3);
+            discovered++;
+        }
+        Assert.assertTrue(discovered < csr.size());
+
+        // a parallel pipeline downstream of the sequential search
+        long within = new BreadthFirstSearch().stream(csr, csr.getNode(0))
+                .takeWhile(node -> node.getDistance() <= 2)
+                .parallel()
+                .filter(node -> node.index() % 2 == 0)
+                .count();
+        int[] hops = new DirectionOptimizingBFS().hops(csr, 0);
+        long expected = 0;
+        for (int v = 0; v < csr.size(); v += 2) if (hops[v] >= 0 && hops[v] <= 2) expected++;
+        Assert.assertEquals(within, expected);
+    }
+}
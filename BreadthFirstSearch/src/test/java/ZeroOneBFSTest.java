@@ -0,0 +1,109 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+import BreadthFirstSearch.ZeroOneBFS;
+import Graph.CompressedGraph;
+import Graph.Graph;
+import Graph.Path;
+import Node.*;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import java.util.Arrays;
+import java.util.Random;
+
+@Slf4j
+public class ZeroOneBFSTest {
+
+    /**
+     * A grid with 4-way moves that are free or cost one, at random
+     */
+    static Graph<Node<Object,Object,Object>> grid(int side, long seed) {
+        Random random = new Random(seed);
+        Graph<Node<Object,Object,Object>> graph = new Graph<Node<Object,Object,Object>>();
+        @SuppressWarnings("unchecked")
+        Node<Object,Object,Object>[][] cells = new Node[side][side];
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                cells[r][c] = new Node<Object,Object,Object>(r + ":" + c, r * side + c, new Coordinate<Object,Object>(r, c));
+                graph.addNode(cells[r][c]);
+            }
+        }
+        int[][] moves = {{0, 1}, {1, 0}, {0, -1}, {-1, 0}};
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                for (int[] move : moves) {
+                    int rr = r + move[0], cc = c + move[1];
+                    if (rr < 0 || cc < 0 || rr >= side || cc >= side) continue;
+                    cells[r][c].addAdjacentNode(cells[rr][cc], new Distance<Object>(random.nextInt(3) == 0 ? 0 : 1));
+                }
+            }
+        }
+        return graph;
+    }
+
+    @Test
+    public void zeroOneBFSTest() {
+        CompressedGraph<Object,Object,Object> csr = CompressedGraph.ofInt(grid(40, 11));
+        ZeroOneBFS.Tree<Object,Object,Object> tree = new ZeroOneBFS().search(csr, csr.getNode(0), null);
+
+        // Bellman-Ford as the reference
+        int n = csr.size();
+        int[] expected = new int[n];
+        Arrays.fill(expected, Integer.MAX_VALUE);
+        expected[0] = 0;
+        for (boolean changed = true; changed; ) {
+            changed = false;
+            for (int u = 0; u < n; u++) {
+                if (expected[u] == Integer.MAX_VALUE) continue;
+                for (int e = csr.firstEdge(u); e < csr.lastEdge(u); e++) {
+                    int d = expected[u] + (int) csr.weight(e);
+                    if (d < expected[csr.target(e)]) {
+                        expected[csr.target(e)] = d;
+                        changed = true;
+                    }
+                }
+            }
+        }
+        Assert.assertEquals(tree.distances(), expected);
+
+        Node<Object,Object,Object> corner = csr.getNode(n - 1);
+        Path<Object,Object,Object> path = tree.path(corner);
+        log.info("\nPath to {}: {} hops, cost {}\n", corner.getName(), path.size() - 1, path.getCost());
+        Assert.assertSame(path.getDestination(), corner);
+        Assert.assertSame(path.getStart(), csr.getNode(0));
+        Assert.assertEquals(path.getCost(), (double) expected[n - 1]);
+
+        // stopping at the destination settles it with the same distance
+        ZeroOneBFS.Tree<Object,Object,Object> early = new ZeroOneBFS().search(csr, csr.getNode(0), corner);
+        Assert.assertEquals(early.distances()[n - 1], expected[n - 1]);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void zeroOneBFSRejectsOtherWeightsTest() {
+        Node<Object,Object,Object> nodeA = new Node<Object,Object,Object>("A", "AA");
+        Node<Object,Object,Object> nodeB = new Node<Object,Object,Object>("B", "BB");
+        nodeA.addAdjacentNode(nodeB, new Distance<Object>(2));
+        Graph<Node<Object,Object,Object>> graph = new Graph<Node<Object,Object,Object>>();
+        graph.addNode(nodeA);
+        graph.addNode(nodeB);
+        new ZeroOneBFS().search(graph, nodeA);
+    }
+}
@@ -0,0 +1,160 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package Dijkstra;
+/////////////////////////////////////////////////////////////////////
+import Graph.CompressedGraph;
+import Graph.Path;
+import Graph.SearchContext;
+import Node.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+/////////////////////////////////////////////////////////////////////
+/**
+ * <pre>
+ * A* search: Dijkstra's algorithm with the frontier ordered by the cost
+ * so far plus a {@link Heuristic} estimate of the cost remaining.
+ *
+ *   f(v) := L(v) + h(v, z)
+ *
+ * Nodes in the direction of the destination are polled first, so a
+ * point to point query on grid or road data settles a narrow band around
+ * the shortest path instead of a disc around the start node. The search
+ * stops as soon as the destination is settled.
+ *
+ * With {@link Heuristic#zero()} this settles exactly the nodes that
+ * {@link HeapDijkstra} does. A settled node whose distance later drops,
+ * which only an admissible but inconsistent heuristic allows, is queued
+ * again, so the path returned is shortest for any admissible heuristic.
+ * </pre>
+ * @param <Id> a unique identifier or object identifier
+ * @param <Data> the object stored by each node
+ * @param <Metric> the numeric system of measurement of the edge weights
+ */
+public class AStar<Id, Data, Metric> extends HeapDijkstra<Id, Data, Metric> {
+    ///////////////////////////////////////////////////////////////////////
+    private static final Logger log = LoggerFactory.getLogger(AStar.class);
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * The estimate of the remaining cost to the destination; the engine
+     * can be serialized only when its heuristic can
+     */
+    private final Heuristic<Id, Data, Metric> heuristic;
+
+    /**
+     * An A* engine backed by an indexed 4-ary heap
+     * @param heuristic an admissible estimate of the remaining cost
+     */
+    public AStar(Heuristic<Id, Data, Metric> heuristic) { this(heuristic, IndexedHeap.DEFAULT_ARITY); }
+
+    /**
+     * An A* engine backed by an indexed d-ary heap
+     * @param heuristic an admissible estimate of the remaining cost
+     * @param arity the number of children of each heap slot
+     * @throws IllegalArgumentException if the arity is less than 2
+     */
+    public AStar(Heuristic<Id, Data, Metric> heuristic, int arity) {
+        super(arity);
+        if (heuristic == null) {
+            throw new IllegalArgumentException("Heuristic must not be null.");
+        }
+        this.heuristic = heuristic;
+    }
+
+    /**
+     * Get the heuristic
+     * @return the estimate of the remaining cost to the destination
+     */
+    public Heuristic<Id, Data, Metric> getHeuristic() {
+        return this.heuristic;
+    }
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * Calculates the shortest path from the start node to the destination
+     * node of a compressed graph.
+     * <pre>
+     * for v_i in n;
+     *     L(v_i) := +Infinity;  p(v_i) := nil
+     * L(a) := 0;  H := {a} keyed by h(a, z)
+     * while H is not empty;
+     *     u := poll(H)            {vertex with L(u) + h(u, z) minimal}
+     *     if u = z then break
+     *     for all {v} adjacent to u;
+     *         if L(u) + w(u, v) &#60; L(v)
+     *         then L(v) := L(u) + w(u, v);  p(v) := u
+     *              insert v into H or decrease its key to L(v) + h(v, z)
+     * return z, p(z), p(p(z)), ..., a
+     * </pre>
+     * @param graph the compressed graph or digraph
+     * @param startNode the start node
+     * @param destinationNode the destination node
+     * @param context the per query search state, sized for the graph
+     * @return an immutable {@link Path} from the destination node back
+     * to the start node, or the empty path if the destination is unreachable.
+     * @throws IllegalArgumentException if either node is not in the graph
+     *          or a negative edge weight is reached
+     */
+    @Override
+    public Path<Id, Data, Metric> calculateShortestPath(
+            CompressedGraph<Id, Data, Metric> graph,
+            Node<Id, Data, Metric> startNode,
+            Node<Id, Data, Metric> destinationNode,
+            SearchContext context) {
+        int source = graph.indexOf(startNode);
+        int target = graph.indexOf(destinationNode);
+        if (source < 0 || target < 0) {
+            throw new IllegalArgumentException("Start and destination nodes must belong to the graph.");
+        }
+        context.reset();
+        // no path leads from the start node to the destination node
+        if (!graph.mayReach(source, target)) return Path.empty();
+        IndexedHeap frontier = IndexedHeap.local(graph.size(), this.arity);
+
+        context.setDistance(source, 0);
+        frontier.insertOrDecrease(source, this.heuristic.estimate(graph, source, target));
+        int settled = 0;
+        while (!frontier.isEmpty()) {
+            int u = frontier.poll();
+            context.visit(u);
+            settled++;
+            if (u == target) break;
+            double du = context.distance(u);
+            for (int e = graph.firstEdge(u), end = graph.lastEdge(u); e < end; e++) {
+                double w = graph.weight(e);
+                if (w < 0) {
+                    throw new IllegalArgumentException("Negative edge weight from " + graph.getNode(u).getName());
+                }
+                int v = graph.target(e);
+                double d = du + w;
+                if (d < context.distance(v)) {
+                    context.setDistance(v, d);
+                    context.setParent(v, u);
+                    frontier.insertOrDecrease(v, d + this.heuristic.estimate(graph, v, target));
+                }
+            }
+        }
+        log.debug("Shortest distance from {} to {}: {} ({} nodes settled)",
+                startNode.getName(), destinationNode.getName(), context.distance(target), settled);
+
+        // back up from the destination node to the start node
+        return context.path(graph, target);
+    }
+}
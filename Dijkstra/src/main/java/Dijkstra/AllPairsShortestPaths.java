@@ -0,0 +1,404 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package Dijkstra;
+/////////////////////////////////////////////////////////////////////
+import Graph.CompressedGraph;
+import Graph.Graph;
+import Graph.Path;
+import Graph.SearchContext;
+import Node.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+/////////////////////////////////////////////////////////////////////
+/**
+ * <pre>
+ * The shortest distance and path between every ordered pair of nodes of
+ * a {@link CompressedGraph}, held as two dense n x n matrices:
+ *
+ *   D[i][j] := d(i, j)
+ *   P[i][j] := the node before j on a shortest path from i, or -1
+ *
+ * so a path is read back by following P[i][.] from j to i, and the
+ * memory is 12 bytes per pair however long the paths are.
+ *
+ * Two methods fill the matrices:
+ *
+ *   DIJKSTRA        one Dijkstra search per source, the sources in
+ *                   parallel on a {@link ForkJoinPool}:
+ *                   O(|V| (|V| + |E|) log |V|)
+ *   FLOYD_WARSHALL  blocked Floyd-Warshall over tiles of 64 x 64 pairs,
+ *                   so each step works on tiles that stay in cache, with
+ *                   the independent tiles of each step in parallel:
+ *                   O(|V|^3), and negative edges are allowed
+ *
+ * AUTO picks Floyd-Warshall for small dense graphs, where its tight
+ * loops beat the heap, and per source Dijkstra otherwise.
+ *
+ * {@link #populate(Graph)} fills {@link Graph#getMapOfShortestPaths()}
+ * with a read-only view of each row of P, so no list of nodes is built
+ * per pair.
+ * </pre>
+ * @param <Id> a unique identifier or object identifier
+ * @param <Data> the object stored by each node
+ * @param <Metric> the numeric system of measurement of the edge weights
+ */
+public final class AllPairsShortestPaths<Id, Data, Metric> {
+    ///////////////////////////////////////////////////////////////////////
+    private static final Logger log = LoggerFactory.getLogger(AllPairsShortestPaths.class);
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * How the matrices are filled
+     */
+    public enum Method {
+        /**
+         * Floyd-Warshall for small dense graphs, Dijkstra otherwise
+         */
+        AUTO,
+        /**
+         * One Dijkstra search per source
+         */
+        DIJKSTRA,
+        /**
+         * Blocked Floyd-Warshall
+         */
+        FLOYD_WARSHALL
+    }
+
+    /**
+     * The largest graph AUTO considers for Floyd-Warshall
+     */
+    private static final int FLOYD_WARSHALL_NODES = 1024;
+    /**
+     * The side of a Floyd-Warshall tile
+     */
+    private static final int TILE = 64;
+    /**
+     * The graph that was searched
+     */
+    private final CompressedGraph<Id, Data, Metric> graph;
+    /**
+     * D, row by row
+     */
+    private final double[] distances;
+    /**
+     * P, row by row
+     */
+    private final int[] predecessors;
+
+    /**
+     * All pairs shortest paths
+     */
+    private AllPairsShortestPaths(CompressedGraph<Id, Data, Metric> graph, double[] distances, int[] predecessors) {
+        this.graph = graph;
+        this.distances = distances;
+        this.predecessors = predecessors;
+    }
+
+    /**
+     * Compute the shortest paths between all pairs of nodes on the common
+     * pool, choosing the method by the size and density of the graph
+     * @param graph the compressed graph or digraph
+     * @param <Id> a unique identifier or object identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the numeric system of measurement of the edge weights
+     * @return the all pairs shortest paths
+     * @throws IllegalArgumentException if Dijkstra is chosen and an edge
+     *          weight is negative, or Floyd-Warshall finds a negative cycle
+     */
+    public static <Id, Data, Metric> AllPairsShortestPaths<Id, Data, Metric> of(
+            CompressedGraph<Id, Data, Metric> graph) {
+        return of(graph, Method.AUTO, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Compute the shortest paths between all pairs of nodes
+     * @param graph the compressed graph or digraph
+     * @param method how the matrices are filled
+     * @param pool the pool the work runs on
+     * @param <Id> a unique identifier or object identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the numeric system of measurement of the edge weights
+     * @return the all pairs shortest paths
+     * @throws IllegalArgumentException if Dijkstra is used and an edge
+     *          weight is negative, Floyd-Warshall finds a negative cycle,
+     *          or the matrices would not fit an array
+     */
+    public static <Id, Data, Metric> AllPairsShortestPaths<Id, Data, Metric> of(
+            CompressedGraph<Id, Data, Metric> graph, Method method, ForkJoinPool pool) {
+        int n = graph.size();
+        if ((long) n * n > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many nodes for all pairs matrices: " + n);
+        }
+        if (method == Method.AUTO) {
+            boolean dense = (long) graph.edgeCount() * 16 >= (long) n * n;
+            method = n <= FLOYD_WARSHALL_NODES && dense ? Method.FLOYD_WARSHALL : Method.DIJKSTRA;
+        }
+        long start = System.nanoTime();
+        double[] distances = new double[n * n];
+        int[] predecessors = new int[n * n];
+        if (method == Method.FLOYD_WARSHALL) {
+            floydWarshall(graph, distances, predecessors, pool);
+        } else {
+            dijkstra(graph, distances, predecessors, pool);
+        }
+        log.debug("All pairs shortest paths of {} nodes by {} in {} ms", n, method,
+                (System.nanoTime() - start) / 1_000_000);
+        return new AllPairsShortestPaths<>(graph, distances, predecessors);
+    }
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * Get the graph that was searched
+     * @return the compressed graph
+     */
+    public CompressedGraph<Id, Data, Metric> getGraph() { return this.graph; }
+
+    /**
+     * The shortest distance between two nodes
+     * @param source the index of the start node
+     * @param target the index of the destination node
+     * @return the distance, or +Infinity if the destination is unreachable
+     */
+    public double distance(int source, int target) {
+        return this.distances[index(source, target)];
+    }
+
+    /**
+     * The node before the destination on a shortest path
+     * @param source the index of the start node
+     * @param target the index of the destination node
+     * @return the index of the predecessor, or -1 if the destination is
+     *          the start node or unreachable
+     */
+    public int predecessor(int source, int target) {
+        return this.predecessors[index(source, target)];
+    }
+
+    /**
+     * The predecessor of every node on a shortest path from one start
+     * node, as a read-only view of a row of P
+     * @param source the index of the start node
+     * @return a {@link List} whose element v is the {@link Node} before v,
+     *          or null if v is the start node or unreachable
+     */
+    public List<Node<Id, Data, Metric>> predecessors(int source) {
+        int n = this.graph.size();
+        if (source < 0 || source >= n) throw new IndexOutOfBoundsException(source);
+        int row = source * n;
+        return new AbstractList<Node<Id, Data, Metric>>() {
+            @Override
+            public Node<Id, Data, Metric> get(int v) {
+                if (v < 0 || v >= n) throw new IndexOutOfBoundsException(v);
+                int p = AllPairsShortestPaths.this.predecessors[row + v];
+                return p < 0 ? null : AllPairsShortestPaths.this.graph.getNode(p);
+            }
+
+            @Override
+            public int size() { return n; }
+        };
+    }
+
+    /**
+     * Back up from the destination node to the start node through P.
+     * @param startNode the start node
+     * @param destinationNode the destination node
+     * @return an immutable {@link Path} from the destination node back
+     * to the start node, or the empty path if the destination is unreachable.
+     * @throws IllegalArgumentException if either node is not in the graph
+     */
+    public Path<Id, Data, Metric> path(Node<Id, Data, Metric> startNode, Node<Id, Data, Metric> destinationNode) {
+        int source = this.graph.indexOf(startNode);
+        int target = this.graph.indexOf(destinationNode);
+        if (source < 0 || target < 0) {
+            throw new IllegalArgumentException("Start and destination nodes must belong to the graph.");
+        }
+        double cost = distance(source, target);
+        if (cost == Double.POSITIVE_INFINITY) return Path.empty();
+        return Path.of(this.graph, target, v -> predecessor(source, v), cost);
+    }
+
+    /**
+     * Fill the map of shortest paths of a graph with the predecessor row
+     * of each node, see {@link #predecessors(int)}. The rows are views, so
+     * the map costs one small object per node.
+     * @param graph the graph the snapshot was taken from
+     */
+    public void populate(Graph<Node<Id, Data, Metric>> graph) {
+        Map<Node<Id, Data, Metric>, List<Node<Id, Data, Metric>>> map = new HashMap<>(this.graph.size() * 2);
+        for (int source = 0; source < this.graph.size(); source++) {
+            map.put(this.graph.getNode(source), predecessors(source));
+        }
+        graph.setMapOfShortestPaths(map);
+    }
+
+    private int index(int source, int target) {
+        int n = this.graph.size();
+        if (source < 0 || source >= n) throw new IndexOutOfBoundsException(source);
+        if (target < 0 || target >= n) throw new IndexOutOfBoundsException(target);
+        return source * n + target;
+    }
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * One full Dijkstra search per source, in parallel
+     */
+    private static void dijkstra(CompressedGraph<?, ?, ?> graph, double[] distances, int[] predecessors,
+                                 ForkJoinPool pool) {
+        int n = graph.size();
+        List<Callable<Void>> tasks = new ArrayList<>(n);
+        for (int s = 0; s < n; s++) {
+            final int source = s;
+            tasks.add(() -> {
+                SearchContext context = SearchContext.local(graph);
+                IndexedHeap frontier = IndexedHeap.local(n, IndexedHeap.DEFAULT_ARITY);
+                context.setDistance(source, 0);
+                frontier.insertOrDecrease(source, 0);
+                while (!frontier.isEmpty()) {
+                    int u = frontier.poll();
+                    context.visit(u);
+                    double du = context.distance(u);
+                    for (int e = graph.firstEdge(u), end = graph.lastEdge(u); e < end; e++) {
+                        double w = graph.weight(e);
+                        if (w < 0) {
+                            throw new IllegalArgumentException("Negative edge weight from " + graph.getNode(u).getName());
+                        }
+                        int v = graph.target(e);
+                        double d = du + w;
+                        if (d < context.distance(v)) {
+                            context.setDistance(v, d);
+                            context.setParent(v, u);
+                            frontier.insertOrDecrease(v, d);
+                        }
+                    }
+                }
+                int row = source * n;
+                for (int v = 0; v < n; v++) {
+                    distances[row + v] = context.distance(v);
+                    predecessors[row + v] = context.parent(v);
+                }
+                return null;
+            });
+        }
+        invokeAll(pool, tasks);
+    }
+
+    /**
+     * Blocked Floyd-Warshall. For each diagonal tile k, the tile itself is
+     * closed first, then the tiles of row k and column k, which depend
+     * only on it, and then every other tile, which depends only on those.
+     */
+    private static void floydWarshall(CompressedGraph<?, ?, ?> graph, double[] distances, int[] predecessors,
+                                      ForkJoinPool pool) {
+        int n = graph.size();
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        Arrays.fill(predecessors, -1);
+        for (int u = 0; u < n; u++) {
+            distances[u * n + u] = 0;
+            for (int e = graph.firstEdge(u), end = graph.lastEdge(u); e < end; e++) {
+                int v = graph.target(e);
+                double w = graph.weight(e);
+                if (w < distances[u * n + v]) {
+                    distances[u * n + v] = w;
+                    predecessors[u * n + v] = u;
+                }
+            }
+        }
+        int tiles = (n + TILE - 1) / TILE;
+        for (int k = 0; k < tiles; k++) {
+            final int kk = k;
+            relaxTile(distances, predecessors, n, k, k, k);
+            List<Callable<Void>> line = new ArrayList<>();
+            for (int t = 0; t < tiles; t++) {
+                if (t == k) continue;
+                final int tt = t;
+                line.add(() -> { relaxTile(distances, predecessors, n, kk, tt, kk); return null; });
+                line.add(() -> { relaxTile(distances, predecessors, n, tt, kk, kk); return null; });
+            }
+            invokeAll(pool, line);
+            List<Callable<Void>> rest = new ArrayList<>();
+            for (int i = 0; i < tiles; i++) {
+                if (i == k) continue;
+                final int ii = i;
+                rest.add(() -> {
+                    for (int j = 0; j < tiles; j++) {
+                        if (j != kk) relaxTile(distances, predecessors, n, ii, j, kk);
+                    }
+                    return null;
+                });
+            }
+            invokeAll(pool, rest);
+        }
+        for (int u = 0; u < n; u++) {
+            if (distances[u * n + u] < 0) {
+                throw new IllegalArgumentException("Negative cycle through " + graph.getNode(u).getName());
+            }
+        }
+    }
+
+    /**
+     * Relax the pairs of tile (ti, tj) through the intermediate nodes of tile tk
+     */
+    private static void relaxTile(double[] distances, int[] predecessors, int n, int ti, int tj, int tk) {
+        int iEnd = Math.min(n, (ti + 1) * TILE);
+        int jStart = tj * TILE;
+        int jEnd = Math.min(n, jStart + TILE);
+        int kEnd = Math.min(n, (tk + 1) * TILE);
+        for (int k = tk * TILE; k < kEnd; k++) {
+            int kRow = k * n;
+            for (int i = ti * TILE; i < iEnd; i++) {
+                int iRow = i * n;
+                double ik = distances[iRow + k];
+                if (ik == Double.POSITIVE_INFINITY) continue;
+                for (int j = jStart; j < jEnd; j++) {
+                    double d = ik + distances[kRow + j];
+                    if (d < distances[iRow + j]) {
+                        distances[iRow + j] = d;
+                        predecessors[iRow + j] = predecessors[kRow + j];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Run tasks on a pool and wait for all of them
+     */
+    private static void invokeAll(ForkJoinPool pool, List<Callable<Void>> tasks) {
+        try {
+            for (Future<Void> future : pool.invokeAll(tasks)) future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while computing shortest paths.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IllegalArgumentException) throw (IllegalArgumentException) e.getCause();
+            throw new IllegalStateException("Failed to compute shortest paths.", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package Dijkstra;
+/////////////////////////////////////////////////////////////////////
+import Graph.CompressedGraph;
+import Graph.Path;
+import Graph.ReverseIndex;
+import Graph.SearchContext;
+import Node.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+/////////////////////////////////////////////////////////////////////
+/**
+ * <pre>
+ * Bidirectional Dijkstra's algorithm: one search grows forward from the
+ * start node over the outgoing edges and another grows backward from the
+ * destination over the {@link ReverseIndex} of incoming edges.
+ *
+ * Each step expands the side with the smaller frontier. Every edge
+ * relaxed between a node reached by one side and a node reached by the
+ * other offers a path of length
+ *
+ *   mu := min(mu, Lf(u) + w(u, v) + Lb(v))
+ *
+ * and the search stops once the two frontier minimums together reach mu,
+ * since no path through an unsettled node can then be shorter. Two balls
+ * of radius about d/2 are searched instead of one of radius d, which on
+ * road like graphs settles roughly half the nodes.
+ *
+ * The forward state is kept in the {@link SearchContext} of the query;
+ * on return it holds the complete path, so distance(z) is the shortest
+ * distance. The backward state is borrowed from the calling thread.
+ * </pre>
+ * @param <Id> a unique identifier or object identifier
+ * @param <Data> the object stored by each node
+ * @param <Metric> the numeric system of measurement of the edge weights
+ */
+public class BidirectionalDijkstra<Id, Data, Metric> extends HeapDijkstra<Id, Data, Metric> {
+    ///////////////////////////////////////////////////////////////////////
+    private static final Logger log = LoggerFactory.getLogger(BidirectionalDijkstra.class);
+    /**
+     * The backward search state reused by the searches of each thread
+     */
+    private static final ThreadLocal<SearchContext> BACKWARD = new ThreadLocal<>();
+    /**
+     * The backward frontier reused by the searches of each thread
+     */
+    private static final ThreadLocal<IndexedHeap> BACKWARD_FRONTIER = new ThreadLocal<>();
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * A bidirectional Dijkstra engine backed by indexed 4-ary heaps
+     */
+    public BidirectionalDijkstra() { super(); }
+
+    /**
+     * A bidirectional Dijkstra engine backed by indexed d-ary heaps
+     * @param arity the number of children of each heap slot
+     * @throws IllegalArgumentException if the arity is less than 2
+     */
+    public BidirectionalDijkstra(int arity) { super(arity); }
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * Calculates the shortest path from the start node to the destination
+     * node of a compressed graph.
+     * <pre>
+     * Lf(a) := 0;  Hf := {a};  Lb(z) := 0;  Hb := {z};  mu := +Infinity
+     * while Hf and Hb are not empty and min(Hf) + min(Hb) &#60; mu;
+     *     expand the smaller of Hf and Hb:
+     *     u := poll(H)
+     *     for all {v} adjacent to u in the direction of the search;
+     *         relax L(v) through u
+     *         mu := min(mu, L(u) + w(u, v) + L'(v))
+     * return z, ..., m, ..., a   {through the node m that gave mu}
+     * </pre>
+     * @param graph the compressed graph or digraph
+     * @param startNode the start node
+     * @param destinationNode the destination node
+     * @param context the per query search state, sized for the graph
+     * @return an immutable {@link Path} from the destination node back
+     * to the start node, or the empty path if the destination is unreachable.
+     * @throws IllegalArgumentException if either node is not in the graph
+     *          or a negative edge weight is reached
+     */
+    @Override
+    public Path<Id, Data, Metric> calculateShortestPath(
+            CompressedGraph<Id, Data, Metric> graph,
+            Node<Id, Data, Metric> startNode,
+            Node<Id, Data, Metric> destinationNode,
+            SearchContext context) {
+        int source = graph.indexOf(startNode);
+        int target = graph.indexOf(destinationNode);
+        if (source < 0 || target < 0) {
+            throw new IllegalArgumentException("Start and destination nodes must belong to the graph.");
+        }
+        ReverseIndex reverse = graph.reverse();
+        context.reset();
+        // no path leads from the start node to the destination node
+        if (!graph.mayReach(source, target)) return Path.empty();
+        SearchContext backward = backward(graph);
+        IndexedHeap forwardFrontier = IndexedHeap.local(graph.size(), this.arity);
+        IndexedHeap backwardFrontier = backwardFrontier(graph.size(), this.arity);
+
+        context.setDistance(source, 0);
+        forwardFrontier.insertOrDecrease(source, 0);
+        backward.setDistance(target, 0);
+        backwardFrontier.insertOrDecrease(target, 0);
+        double mu = source == target ? 0 : Double.POSITIVE_INFINITY;
+        int meet = source == target ? source : -1;
+        int settled = 0;
+        while (!forwardFrontier.isEmpty() && !backwardFrontier.isEmpty()
+                && forwardFrontier.peekKey() + backwardFrontier.peekKey() < mu) {
+            settled++;
+            if (forwardFrontier.size() <= backwardFrontier.size()) {
+                int u = forwardFrontier.poll();
+                context.visit(u);
+                double du = context.distance(u);
+                for (int e = graph.firstEdge(u), end = graph.lastEdge(u); e < end; e++) {
+                    int v = graph.target(e);
+                    double d = du + weight(graph, e, u);
+                    if (d < context.distance(v)) {
+                        context.setDistance(v, d);
+                        context.setParent(v, u);
+                        forwardFrontier.insertOrDecrease(v, d);
+                    }
+                    if (d + backward.distance(v) < mu) {
+                        mu = d + backward.distance(v);
+                        meet = v;
+                    }
+                }
+            } else {
+                int u = backwardFrontier.poll();
+                backward.visit(u);
+                double du = backward.distance(u);
+                for (int e = reverse.firstEdge(u), end = reverse.lastEdge(u); e < end; e++) {
+                    int v = reverse.source(e);
+                    double d = du + weight(graph, reverse.edge(e), v);
+                    if (d < backward.distance(v)) {
+                        backward.setDistance(v, d);
+                        backward.setParent(v, u);
+                        backwardFrontier.insertOrDecrease(v, d);
+                    }
+                    if (d + context.distance(v) < mu) {
+                        mu = d + context.distance(v);
+                        meet = v;
+                    }
+                }
+            }
+        }
+        log.debug("Shortest distance from {} to {}: {} ({} nodes settled)",
+                startNode.getName(), destinationNode.getName(), mu, settled);
+        if (meet < 0) return context.path(graph, target);
+
+        // splice the backward half onto the forward search tree
+        for (int v = meet, next = backward.parent(v); next >= 0; v = next, next = backward.parent(v)) {
+            context.setDistance(next, mu - backward.distance(next));
+            context.setParent(next, v);
+        }
+        // back up from the destination node to the start node
+        return context.path(graph, target);
+    }
+
+    /**
+     * The weight of an edge, which must not be negative
+     * @param graph the compressed graph
+     * @param edge the forward edge slot
+     * @param tail the node the edge leaves
+     * @return the weight of the edge
+     * @throws IllegalArgumentException if the weight is negative
+     */
+    private static double weight(CompressedGraph<?, ?, ?> graph, int edge, int tail) {
+        double w = graph.weight(edge);
+        if (w < 0) {
+            throw new IllegalArgumentException("Negative edge weight from " + graph.getNode(tail).getName());
+        }
+        return w;
+    }
+
+    /**
+     * Borrow the backward search state of the calling thread, reset and
+     * sized for the graph
+     * @param graph the compressed graph
+     * @return the backward search state of the calling thread
+     */
+    static SearchContext backward(CompressedGraph<?, ?, ?> graph) {
+        SearchContext context = BACKWARD.get();
+        if (context == null || context.size() < graph.size()) {
+            context = SearchContext.of(graph);
+            BACKWARD.set(context);
+        } else {
+            context.reset();
+        }
+        return context;
+    }
+
+    /**
+     * Borrow the backward frontier of the calling thread, emptied and
+     * able to hold the given capacity
+     * @param capacity the number of node indices the heap can hold
+     * @param arity the number of children of each heap slot
+     * @return the empty backward frontier of the calling thread
+     */
+    static IndexedHeap backwardFrontier(int capacity, int arity) {
+        IndexedHeap heap = BACKWARD_FRONTIER.get();
+        if (heap == null || heap.capacity() < capacity || heap.arity() != arity) {
+            heap = new IndexedHeap(capacity, arity);
+            BACKWARD_FRONTIER.set(heap);
+        } else {
+            heap.clear();
+        }
+        return heap;
+    }
+}
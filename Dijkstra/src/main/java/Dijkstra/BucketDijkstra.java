@@ -0,0 +1,195 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package Dijkstra;
+/////////////////////////////////////////////////////////////////////
+import Graph.CompressedGraph;
+import Graph.Graph;
+import Graph.IntCompressedGraph;
+import Graph.Path;
+import Graph.SearchContext;
+import Node.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+/////////////////////////////////////////////////////////////////////
+/**
+ * <pre>
+ * Dijkstra's algorithm over a monotone bucket queue, for graphs with
+ * small non-negative integer edge weights.
+ *
+ * Dijkstra only ever polls distances in increasing order, so the
+ * frontier need not be a general heap:
+ *
+ *   max weight &#60;= 1024   {@link DialQueue}, O(|E| + D) for the
+ *                        largest distance D
+ *   otherwise            {@link RadixHeap}, O(|E| + |V| log C)
+ *
+ * The structure is chosen per query from the largest weight of an
+ * {@link IntCompressedGraph}. Any other snapshot, or an int snapshot
+ * with negative weights, is searched with the {@link IndexedHeap} of
+ * {@link HeapDijkstra}.
+ * </pre>
+ * @param <Id> a unique identifier or object identifier
+ * @param <Data> the object stored by each node
+ * @param <Metric> the numeric system of measurement of the edge weights
+ */
+public class BucketDijkstra<Id, Data, Metric> extends HeapDijkstra<Id, Data, Metric> {
+    ///////////////////////////////////////////////////////////////////////
+    private static final Logger log = LoggerFactory.getLogger(BucketDijkstra.class);
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * The largest edge weight searched with a {@link DialQueue}
+     */
+    public static final int DIAL_LIMIT = 1024;
+
+    /**
+     * A bucket queue Dijkstra engine
+     */
+    public BucketDijkstra() { super(); }
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * Calculates the shortest path from the start node to the destination
+     * node. A graph whose edge weights are all ints is frozen into an
+     * {@link IntCompressedGraph}; any other is frozen with double weights.
+     * The graph is frozen on every call, which costs O(V + E) however close
+     * the destination is; freeze it once and use
+     * {@link #calculateShortestPath(CompressedGraph, Node, Node)} instead.
+     * @param graph the graph or digraph
+     * @param distance unused; the start node is always at distance 0
+     * @param startNode the start node
+     * @param destinationNode the destination node
+     * @return an immutable {@link Path} from the destination node back
+     * to the start node, or the empty path if the destination is unreachable.
+     * @see Node
+     * @deprecated freezes the whole graph per query; use
+     *          {@link #calculateShortestPath(CompressedGraph, Node, Node)} on a
+     *          snapshot taken once with {@link CompressedGraph#ofNarrowest(Graph)}
+     */
+    @Deprecated
+    @Override
+    public Path<Id, Data, Metric> calculateShortestPath(
+            Graph<Node<Id, Data, Metric>> graph,
+            Distance<Metric> distance,
+            Node<Id, Data, Metric> startNode,
+            Node<Id, Data, Metric> destinationNode) {
+        return calculateShortestPath(CompressedGraph.ofNarrowest(graph), startNode, destinationNode);
+    }
+
+    /**
+     * Calculates the shortest path from the start node to the destination
+     * node of a compressed graph, over a bucket queue when the graph has
+     * non-negative int weights.
+     * @param graph the compressed graph or digraph
+     * @param startNode the start node
+     * @param destinationNode the destination node
+     * @param context the per query search state, sized for the graph
+     * @return an immutable {@link Path} from the destination node back
+     * to the start node, or the empty path if the destination is unreachable.
+     * @throws IllegalArgumentException if either node is not in the graph
+     *          or a negative edge weight is reached
+     */
+    @Override
+    public Path<Id, Data, Metric> calculateShortestPath(
+            CompressedGraph<Id, Data, Metric> graph,
+            Node<Id, Data, Metric> startNode,
+            Node<Id, Data, Metric> destinationNode,
+            SearchContext context) {
+        if (!(graph instanceof IntCompressedGraph) || ((IntCompressedGraph<?, ?, ?>) graph).minWeight() < 0) {
+            return super.calculateShortestPath(graph, startNode, destinationNode, context);
+        }
+        IntCompressedGraph<Id, Data, Metric> ints = (IntCompressedGraph<Id, Data, Metric>) graph;
+        int source = graph.indexOf(startNode);
+        int target = graph.indexOf(destinationNode);
+        if (source < 0 || target < 0) {
+            throw new IllegalArgumentException("Start and destination nodes must belong to the graph.");
+        }
+        context.reset();
+        // no path leads from the start node to the destination node
+        if (!graph.mayReach(source, target)) return Path.empty();
+        context.setDistance(source, 0);
+        int settled = ints.maxWeight() <= DIAL_LIMIT
+                ? dial(ints, source, target, context)
+                : radix(ints, source, target, context);
+        log.debug("Shortest distance from {} to {}: {} ({} nodes settled)",
+                startNode.getName(), destinationNode.getName(), context.distance(target), settled);
+
+        // back up from the destination node to the start node
+        return context.path(graph, target);
+    }
+
+    /**
+     * Dijkstra's algorithm over a {@link DialQueue}
+     * @return the number of nodes settled
+     */
+    private static int dial(IntCompressedGraph<?, ?, ?> graph, int source, int target, SearchContext context) {
+        DialQueue frontier = DialQueue.local(graph.maxWeight());
+        frontier.add(source, 0);
+        int settled = 0;
+        while (!frontier.isEmpty()) {
+            int u = frontier.poll();
+            long du = frontier.cursor();
+            // skip the entries left behind by a lowered distance
+            if (context.isVisited(u) || context.distance(u) != du) continue;
+            context.visit(u);
+            settled++;
+            if (u == target) break;
+            for (int e = graph.firstEdge(u), end = graph.lastEdge(u); e < end; e++) {
+                int v = graph.target(e);
+                long d = du + graph.intWeight(e);
+                if (d < context.distance(v)) {
+                    context.setDistance(v, d);
+                    context.setParent(v, u);
+                    frontier.add(v, d);
+                }
+            }
+        }
+        return settled;
+    }
+
+    /**
+     * Dijkstra's algorithm over a {@link RadixHeap}
+     * @return the number of nodes settled
+     */
+    private static int radix(IntCompressedGraph<?, ?, ?> graph, int source, int target, SearchContext context) {
+        RadixHeap frontier = RadixHeap.local();
+        frontier.add(source, 0);
+        int settled = 0;
+        while (!frontier.isEmpty()) {
+            int u = frontier.poll();
+            long du = frontier.last();
+            // skip the entries left behind by a lowered distance
+            if (context.isVisited(u) || context.distance(u) != du) continue;
+            context.visit(u);
+            settled++;
+            if (u == target) break;
+            for (int e = graph.firstEdge(u), end = graph.lastEdge(u); e < end; e++) {
+                int v = graph.target(e);
+                long d = du + graph.intWeight(e);
+                if (d < context.distance(v)) {
+                    context.setDistance(v, d);
+                    context.setParent(v, u);
+                    frontier.add(v, d);
+                }
+            }
+        }
+        return settled;
+    }
+}
@@ -0,0 +1,639 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package Dijkstra;
+/////////////////////////////////////////////////////////////////////
+import Graph.CompressedGraph;
+import Graph.Graph;
+import Graph.SearchContext;
+import Node.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.Arrays;
+/////////////////////////////////////////////////////////////////////
+/**
+ * <pre>
+ * The contraction hierarchy of a {@link CompressedGraph}: a ranking of
+ * its nodes together with the shortcut edges that preserve every
+ * shortest distance once the lower ranked nodes are taken away.
+ *
+ * Nodes are contracted one at a time, least important first. Contracting
+ * u removes it from the remaining graph, and for each pair of remaining
+ * neighbours v -&#62; u -&#62; w whose only shortest path runs through u, a
+ * shortcut v -&#62; w of weight w(v, u) + w(u, w) is added. A bounded
+ * witness search from v decides whether a path avoiding u is as short.
+ * The importance of a node is its edge difference, i.e. the shortcuts
+ * its contraction would add less the edges it would remove, plus the
+ * number of its neighbours already contracted. The importance of the
+ * neighbours of a contracted node is recomputed at once, and a polled
+ * node whose importance has otherwise grown past the next one is queued
+ * again.
+ *
+ * Every original edge and shortcut is kept exactly once, with the end
+ * of lower rank:
+ *
+ *   upward(u)   := edges u -&#62; w with rank(w) &#62; rank(u)
+ *   downward(u) := edges v -&#62; u with rank(v) &#62; rank(u)
+ *
+ * so a search that only climbs in rank, forward from the start node over
+ * upward edges and backward from the destination over downward edges,
+ * meets at the highest ranked node of a shortest path. A shortcut
+ * records the node it bypasses and is unpacked back into original edges
+ * when the path is reported.
+ *
+ * Preprocessing takes time roughly proportional to the number of
+ * shortcuts times the witness search limit, and the hierarchy is
+ * read-only once built, so one hierarchy may serve any number of
+ * concurrent {@link ContractionHierarchyDijkstra} queries.
+ * </pre>
+ * @param <Id> a unique identifier or object identifier
+ * @param <Data> the object stored by each node
+ * @param <Metric> the numeric system of measurement of the edge weights
+ */
+public final class ContractionHierarchy<Id, Data, Metric> {
+    ///////////////////////////////////////////////////////////////////////
+    private static final Logger log = LoggerFactory.getLogger(ContractionHierarchy.class);
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * The number of nodes a witness search may settle by default
+     */
+    public static final int DEFAULT_WITNESS_LIMIT = 500;
+    /**
+     * The graph the hierarchy was built from
+     */
+    private final CompressedGraph<Id, Data, Metric> graph;
+    /**
+     * The contraction order of each node
+     */
+    private final int[] rank;
+    /**
+     * The edges leaving each node towards higher ranks
+     */
+    private final Arcs upward;
+    /**
+     * The edges entering each node from higher ranks
+     */
+    private final Arcs downward;
+
+    /**
+     * A contraction hierarchy
+     * @param graph the graph the hierarchy was built from
+     * @param rank the contraction order of each node
+     * @param upward the edges leaving each node towards higher ranks
+     * @param downward the edges entering each node from higher ranks
+     */
+    private ContractionHierarchy(CompressedGraph<Id, Data, Metric> graph, int[] rank, Arcs upward, Arcs downward) {
+        this.graph = graph;
+        this.rank = rank;
+        this.upward = upward;
+        this.downward = downward;
+    }
+
+    /**
+     * Freeze a graph and contract it
+     * @param graph the graph whose edge weights are {@link Number}s
+     * @param <Id> a unique identifier or object identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the numeric system of measurement of the edge weights
+     * @return the contraction hierarchy of the graph
+     * @throws IllegalArgumentException if an edge weight is negative or not a number
+     */
+    public static <Id, Data, Metric> ContractionHierarchy<Id, Data, Metric> of(
+            Graph<Node<Id, Data, Metric>> graph) {
+        return of(CompressedGraph.of(graph));
+    }
+
+    /**
+     * Contract a compressed graph
+     * @param graph the compressed graph
+     * @param <Id> a unique identifier or object identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the numeric system of measurement of the edge weights
+     * @return the contraction hierarchy of the graph
+     * @throws IllegalArgumentException if an edge weight is negative
+     */
+    public static <Id, Data, Metric> ContractionHierarchy<Id, Data, Metric> of(
+            CompressedGraph<Id, Data, Metric> graph) {
+        return of(graph, DEFAULT_WITNESS_LIMIT);
+    }
+
+    /**
+     * Contract a compressed graph
+     * @param graph the compressed graph
+     * @param witnessLimit the number of nodes each witness search may
+     *          settle; a lower limit contracts faster but adds shortcuts
+     *          that a longer search would have found unnecessary
+     * @param <Id> a unique identifier or object identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the numeric system of measurement of the edge weights
+     * @return the contraction hierarchy of the graph
+     * @throws IllegalArgumentException if an edge weight is negative or the
+     *          witness limit is less than 1
+     */
+    public static <Id, Data, Metric> ContractionHierarchy<Id, Data, Metric> of(
+            CompressedGraph<Id, Data, Metric> graph, int witnessLimit) {
+        if (witnessLimit < 1) {
+            throw new IllegalArgumentException("Witness limit must be at least 1: " + witnessLimit);
+        }
+        long start = System.nanoTime();
+        Contraction contraction = new Contraction(graph, witnessLimit);
+        contraction.run();
+        ContractionHierarchy<Id, Data, Metric> hierarchy = new ContractionHierarchy<>(graph,
+                contraction.rank, contraction.upward.freeze(), contraction.downward.freeze());
+        log.debug("Contracted {} nodes and {} edges into {} edges in {} ms", graph.size(), graph.edgeCount(),
+                hierarchy.upward.size() + hierarchy.downward.size(), (System.nanoTime() - start) / 1_000_000);
+        return hierarchy;
+    }
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * Get the graph the hierarchy was built from
+     * @return the compressed graph
+     */
+    public CompressedGraph<Id, Data, Metric> getGraph() { return this.graph; }
+
+    /**
+     * The position of a node in the contraction order
+     * @param node the node index
+     * @return the rank of the node, from 0 for the first contracted
+     */
+    public int rank(int node) { return this.rank[node]; }
+
+    /**
+     * The edges and shortcuts leaving each node towards higher ranks
+     * @return the upward edges
+     */
+    public Arcs upward() { return this.upward; }
+
+    /**
+     * The edges and shortcuts entering each node from higher ranks,
+     * listed at the lower ranked head
+     * @return the downward edges
+     */
+    public Arcs downward() { return this.downward; }
+
+    /**
+     * The number of shortcuts added by the contraction
+     * @return the number of shortcut edges
+     */
+    public int shortcutCount() { return this.upward.shortcuts() + this.downward.shortcuts(); }
+
+    /**
+     * Append the original edges of a hierarchy edge to a path, expanding
+     * shortcuts in order without recursion.
+     * @param tail the node the edge leaves
+     * @param head the node the edge enters
+     * @param path the node indices of the path so far, ending with tail,
+     *          with room for {@link #unpackedLength(int, int)} more
+     * @param costs the cost of reaching each node of the path so far
+     * @param size the number of nodes of the path so far
+     * @return the number of nodes of the path
+     */
+    int unpack(int tail, int head, int[] path, double[] costs, int size) {
+        int[] stack = new int[16];
+        int top = 0;
+        stack[top++] = tail;
+        stack[top++] = head;
+        while (top > 0) {
+            int b = stack[--top];
+            int a = stack[--top];
+            int e = this.upward.find(a, b);
+            Arcs arcs = this.upward;
+            if (e < 0) {
+                e = this.downward.find(b, a);
+                arcs = this.downward;
+            }
+            int middle = arcs.middle(e);
+            if (middle < 0) {
+                path[size] = b;
+                costs[size] = costs[size - 1] + arcs.weight(e);
+                size++;
+            } else {
+                if (top + 4 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+                // the second half is popped after the first
+                stack[top++] = middle;
+                stack[top++] = b;
+                stack[top++] = a;
+                stack[top++] = middle;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * The number of original edges a hierarchy edge stands for
+     * @param tail the node the edge leaves
+     * @param head the node the edge enters
+     * @return the number of original edges
+     */
+    int unpackedLength(int tail, int head) {
+        int e = this.upward.find(tail, head);
+        Arcs arcs = this.upward;
+        if (e < 0) {
+            e = this.downward.find(head, tail);
+            arcs = this.downward;
+        }
+        return arcs.length(e);
+    }
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * <pre>
+     * One direction of the hierarchy edges in compressed sparse row form.
+     * The edges listed at node u occupy the slots [first(u), last(u)),
+     * each with the node at the other end, its weight, the node a
+     * shortcut bypasses, or -1 for an original edge, and the number of
+     * original edges it stands for.
+     * </pre>
+     */
+    public static final class Arcs {
+        /**
+         * Edge offsets of each node, of length n + 1
+         */
+        private final int[] offsets;
+        /**
+         * The node at the other end of each edge
+         */
+        private final int[] heads;
+        /**
+         * The weight of each edge
+         */
+        private final double[] weights;
+        /**
+         * The node each shortcut bypasses, or -1
+         */
+        private final int[] middles;
+        /**
+         * The number of original edges each edge stands for
+         */
+        private final int[] lengths;
+
+        /**
+         * Hierarchy edges in compressed sparse row form
+         */
+        private Arcs(int[] offsets, int[] heads, double[] weights, int[] middles, int[] lengths) {
+            this.offsets = offsets;
+            this.heads = heads;
+            this.weights = weights;
+            this.middles = middles;
+            this.lengths = lengths;
+        }
+
+        /**
+         * The first edge slot of a node
+         * @param node the node index
+         * @return the first edge slot of the node
+         */
+        public int first(int node) { return this.offsets[node]; }
+
+        /**
+         * The edge slot past the last one of a node
+         * @param node the node index
+         * @return the exclusive end of the edge slots of the node
+         */
+        public int last(int node) { return this.offsets[node + 1]; }
+
+        /**
+         * The node at the other end of an edge
+         * @param edge the edge slot
+         * @return the index of the higher ranked node of the edge
+         */
+        public int head(int edge) { return this.heads[edge]; }
+
+        /**
+         * The weight of an edge
+         * @param edge the edge slot
+         * @return the weight of the edge
+         */
+        public double weight(int edge) { return this.weights[edge]; }
+
+        /**
+         * The node a shortcut bypasses
+         * @param edge the edge slot
+         * @return the index of the bypassed node, or -1 for an original edge
+         */
+        public int middle(int edge) { return this.middles[edge]; }
+
+        /**
+         * The number of original edges an edge stands for
+         * @param edge the edge slot
+         * @return 1 for an original edge, more for a shortcut
+         */
+        public int length(int edge) { return this.lengths[edge]; }
+
+        /**
+         * The number of edges
+         * @return the number of edge slots
+         */
+        public int size() { return this.heads.length; }
+
+        /**
+         * Find the edge between two nodes
+         * @param node the node the edge is listed at
+         * @param head the node at the other end
+         * @return the edge slot, or -1 if there is none
+         */
+        public int find(int node, int head) {
+            for (int e = this.offsets[node], end = this.offsets[node + 1]; e < end; e++) {
+                if (this.heads[e] == head) return e;
+            }
+            return -1;
+        }
+
+        /**
+         * The number of shortcuts
+         * @return the number of edges that bypass a node
+         */
+        int shortcuts() {
+            int shortcuts = 0;
+            for (int middle : this.middles) if (middle >= 0) shortcuts++;
+            return shortcuts;
+        }
+    }
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * The adjacency of one node in the shrinking graph, as parallel
+     * growable arrays
+     */
+    private static final class Adjacency {
+        private int[] nodes = new int[4];
+        private double[] weights = new double[4];
+        private int[] middles = new int[4];
+        private int[] lengths = new int[4];
+        private int size;
+
+        /**
+         * Add an edge, or lower the weight of the edge to the same node
+         * @return true if an edge was added or lowered
+         */
+        boolean put(int node, double weight, int middle, int length) {
+            for (int i = 0; i < this.size; i++) {
+                if (this.nodes[i] == node) {
+                    if (weight >= this.weights[i]) return false;
+                    this.weights[i] = weight;
+                    this.middles[i] = middle;
+                    this.lengths[i] = length;
+                    return true;
+                }
+            }
+            if (this.size == this.nodes.length) {
+                int capacity = this.size * 2;
+                this.nodes = Arrays.copyOf(this.nodes, capacity);
+                this.weights = Arrays.copyOf(this.weights, capacity);
+                this.middles = Arrays.copyOf(this.middles, capacity);
+                this.lengths = Arrays.copyOf(this.lengths, capacity);
+            }
+            this.nodes[this.size] = node;
+            this.weights[this.size] = weight;
+            this.middles[this.size] = middle;
+            this.lengths[this.size] = length;
+            this.size++;
+            return true;
+        }
+
+        /**
+         * Remove the edge to a node, if any
+         */
+        void remove(int node) {
+            for (int i = 0; i < this.size; i++) {
+                if (this.nodes[i] == node) {
+                    this.size--;
+                    this.nodes[i] = this.nodes[this.size];
+                    this.weights[i] = this.weights[this.size];
+                    this.middles[i] = this.middles[this.size];
+                    this.lengths[i] = this.lengths[this.size];
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the hierarchy edges of one direction as nodes are contracted
+     */
+    private static final class ArcsBuilder {
+        private final int[] offsets;
+        private int[] heads = new int[16];
+        private double[] weights = new double[16];
+        private int[] middles = new int[16];
+        private int[] lengths = new int[16];
+        private int size;
+        private final int[] order;
+        private int contracted;
+
+        ArcsBuilder(int n) {
+            this.offsets = new int[n + 1];
+            this.order = new int[n];
+        }
+
+        /**
+         * Record the remaining edges of a node as it is contracted
+         */
+        void add(int node, Adjacency adjacency) {
+            this.order[this.contracted++] = node;
+            this.offsets[node + 1] = adjacency.size;
+            if (this.size + adjacency.size > this.heads.length) {
+                int capacity = Math.max(this.heads.length * 2, this.size + adjacency.size);
+                this.heads = Arrays.copyOf(this.heads, capacity);
+                this.weights = Arrays.copyOf(this.weights, capacity);
+                this.middles = Arrays.copyOf(this.middles, capacity);
+                this.lengths = Arrays.copyOf(this.lengths, capacity);
+            }
+            System.arraycopy(adjacency.nodes, 0, this.heads, this.size, adjacency.size);
+            System.arraycopy(adjacency.weights, 0, this.weights, this.size, adjacency.size);
+            System.arraycopy(adjacency.middles, 0, this.middles, this.size, adjacency.size);
+            System.arraycopy(adjacency.lengths, 0, this.lengths, this.size, adjacency.size);
+            this.size += adjacency.size;
+        }
+
+        /**
+         * Lay the recorded edges out by node index rather than contraction order
+         */
+        Arcs freeze() {
+            int n = this.order.length;
+            int[] offsets = new int[n + 1];
+            for (int u = 0; u < n; u++) offsets[u + 1] = offsets[u] + this.offsets[u + 1];
+            int[] heads = new int[this.size];
+            double[] weights = new double[this.size];
+            int[] middles = new int[this.size];
+            int[] lengths = new int[this.size];
+            for (int i = 0, from = 0; i < n; i++) {
+                int u = this.order[i];
+                int degree = this.offsets[u + 1];
+                System.arraycopy(this.heads, from, heads, offsets[u], degree);
+                System.arraycopy(this.weights, from, weights, offsets[u], degree);
+                System.arraycopy(this.middles, from, middles, offsets[u], degree);
+                System.arraycopy(this.lengths, from, lengths, offsets[u], degree);
+                from += degree;
+            }
+            return new Arcs(offsets, heads, weights, middles, lengths);
+        }
+    }
+
+    /**
+     * The state of one contraction run
+     */
+    private static final class Contraction {
+        private final int n;
+        private final int witnessLimit;
+        private final Adjacency[] out;
+        private final Adjacency[] in;
+        private final int[] deletedNeighbours;
+        private final int[] rank;
+        private final ArcsBuilder upward;
+        private final ArcsBuilder downward;
+        private final SearchContext witness;
+        private final IndexedHeap witnessFrontier;
+
+        Contraction(CompressedGraph<?, ?, ?> graph, int witnessLimit) {
+            this.n = graph.size();
+            this.witnessLimit = witnessLimit;
+            this.out = new Adjacency[this.n];
+            this.in = new Adjacency[this.n];
+            for (int u = 0; u < this.n; u++) {
+                this.out[u] = new Adjacency();
+                this.in[u] = new Adjacency();
+            }
+            for (int u = 0; u < this.n; u++) {
+                for (int e = graph.firstEdge(u), end = graph.lastEdge(u); e < end; e++) {
+                    double w = graph.weight(e);
+                    if (w < 0) {
+                        throw new IllegalArgumentException("Negative edge weight from " + graph.getNode(u).getName());
+                    }
+                    int v = graph.target(e);
+                    // parallel edges collapse to the cheapest, loops never lie on a shortest path
+                    if (v != u && this.out[u].put(v, w, -1, 1)) this.in[v].put(u, w, -1, 1);
+                }
+            }
+            this.deletedNeighbours = new int[this.n];
+            this.rank = new int[this.n];
+            this.upward = new ArcsBuilder(this.n);
+            this.downward = new ArcsBuilder(this.n);
+            this.witness = new SearchContext(this.n);
+            this.witnessFrontier = new IndexedHeap(this.n);
+        }
+
+        void run() {
+            IndexedHeap order = new IndexedHeap(this.n);
+            for (int u = 0; u < this.n; u++) order.insertOrDecrease(u, importance(u));
+            int next = 0;
+            while (!order.isEmpty()) {
+                int u = order.poll();
+                double importance = importance(u);
+                if (!order.isEmpty() && importance > order.peekKey()) {
+                    // its importance grew since it was queued
+                    order.insertOrDecrease(u, importance);
+                    continue;
+                }
+                this.rank[u] = next++;
+                contract(u);
+                // the neighbours lost an edge and may need new shortcuts
+                for (int i = 0; i < this.out[u].size; i++) {
+                    int w = this.out[u].nodes[i];
+                    order.update(w, importance(w));
+                }
+                for (int i = 0; i < this.in[u].size; i++) {
+                    int v = this.in[u].nodes[i];
+                    order.update(v, importance(v));
+                }
+            }
+        }
+
+        /**
+         * The edge difference of contracting a node plus its contracted neighbours
+         */
+        double importance(int u) {
+            return shortcuts(u, false) - this.in[u].size - this.out[u].size + this.deletedNeighbours[u];
+        }
+
+        void contract(int u) {
+            shortcuts(u, true);
+            this.upward.add(u, this.out[u]);
+            this.downward.add(u, this.in[u]);
+            for (int i = 0; i < this.out[u].size; i++) {
+                int w = this.out[u].nodes[i];
+                this.in[w].remove(u);
+                this.deletedNeighbours[w]++;
+            }
+            for (int i = 0; i < this.in[u].size; i++) {
+                int v = this.in[u].nodes[i];
+                this.out[v].remove(u);
+                this.deletedNeighbours[v]++;
+            }
+        }
+
+        /**
+         * Count, and optionally add, the shortcuts that contracting a node needs
+         */
+        int shortcuts(int u, boolean add) {
+            Adjacency in = this.in[u];
+            Adjacency out = this.out[u];
+            if (in.size == 0 || out.size == 0) return 0;
+            double maxOut = 0;
+            for (int j = 0; j < out.size; j++) maxOut = Math.max(maxOut, out.weights[j]);
+            int shortcuts = 0;
+            for (int i = 0; i < in.size; i++) {
+                int v = in.nodes[i];
+                double vu = in.weights[i];
+                witnessSearch(v, u, vu + maxOut);
+                for (int j = 0; j < out.size; j++) {
+                    int w = out.nodes[j];
+                    if (w == v) continue;
+                    double via = vu + out.weights[j];
+                    if (this.witness.distance(w) <= via) continue;
+                    shortcuts++;
+                    if (add) {
+                        int length = in.lengths[i] + out.lengths[j];
+                        if (this.out[v].put(w, via, u, length)) this.in[w].put(v, via, u, length);
+                    }
+                }
+            }
+            return shortcuts;
+        }
+
+        /**
+         * A Dijkstra search from a node that avoids another, bounded in
+         * distance and in the number of nodes settled
+         */
+        void witnessSearch(int source, int avoid, double limit) {
+            SearchContext context = this.witness;
+            IndexedHeap frontier = this.witnessFrontier;
+            context.reset();
+            frontier.clear();
+            context.setDistance(source, 0);
+            frontier.insertOrDecrease(source, 0);
+            int settled = 0;
+            while (!frontier.isEmpty() && settled++ < this.witnessLimit) {
+                int x = frontier.poll();
+                double dx = context.distance(x);
+                if (dx > limit) break;
+                Adjacency adjacency = this.out[x];
+                for (int i = 0; i < adjacency.size; i++) {
+                    int y = adjacency.nodes[i];
+                    if (y == avoid) continue;
+                    double d = dx + adjacency.weights[i];
+                    if (d < context.distance(y)) {
+                        context.setDistance(y, d);
+                        frontier.insertOrDecrease(y, d);
+                    }
+                }
+            }
+        }
+    }
+}
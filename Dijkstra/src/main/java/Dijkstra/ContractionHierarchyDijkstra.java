@@ -0,0 +1,261 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package Dijkstra;
+/////////////////////////////////////////////////////////////////////
+import Graph.CompressedGraph;
+import Graph.Graph;
+import Graph.Path;
+import Graph.SearchContext;
+import Node.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+/////////////////////////////////////////////////////////////////////
+/**
+ * <pre>
+ * Shortest path queries on a {@link ContractionHierarchy}.
+ *
+ * A forward search from the start node follows only upward edges and a
+ * backward search from the destination only downward edges, so each
+ * climbs the hierarchy and settles a few hundred nodes even on
+ * continental road networks. Each search runs until its frontier
+ * minimum reaches the best meeting distance mu; the shortest path runs
+ * through the meeting node with the least Lf(m) + Lb(m).
+ *
+ * The shortcuts along the route are then unpacked into the original
+ * edges, and the query's {@link SearchContext} is left holding that
+ * path, so distance(z) is the shortest distance.
+ * </pre>
+ * @param <Id> a unique identifier or object identifier
+ * @param <Data> the object stored by each node
+ * @param <Metric> the numeric system of measurement of the edge weights
+ */
+public class ContractionHierarchyDijkstra<Id, Data, Metric> extends BidirectionalDijkstra<Id, Data, Metric> {
+    ///////////////////////////////////////////////////////////////////////
+    private static final Logger log = LoggerFactory.getLogger(ContractionHierarchyDijkstra.class);
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * The preprocessed graph
+     */
+    private final ContractionHierarchy<Id, Data, Metric> hierarchy;
+
+    /**
+     * A query engine over a contraction hierarchy
+     * @param hierarchy the preprocessed graph
+     */
+    public ContractionHierarchyDijkstra(ContractionHierarchy<Id, Data, Metric> hierarchy) {
+        this(hierarchy, IndexedHeap.DEFAULT_ARITY);
+    }
+
+    /**
+     * A query engine over a contraction hierarchy
+     * @param hierarchy the preprocessed graph
+     * @param arity the number of children of each heap slot
+     * @throws IllegalArgumentException if the arity is less than 2
+     */
+    public ContractionHierarchyDijkstra(ContractionHierarchy<Id, Data, Metric> hierarchy, int arity) {
+        super(arity);
+        if (hierarchy == null) {
+            throw new IllegalArgumentException("Contraction hierarchy must not be null.");
+        }
+        this.hierarchy = hierarchy;
+    }
+
+    /**
+     * Get the hierarchy
+     * @return the preprocessed graph
+     */
+    public ContractionHierarchy<Id, Data, Metric> getHierarchy() {
+        return this.hierarchy;
+    }
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * Calculates the shortest path from the start node to the destination
+     * node on the hierarchy. The graph is not frozen again; its nodes
+     * are looked up in the graph the hierarchy was built from.
+     * @param graph the graph the hierarchy was built from
+     * @param distance unused; the start node is always at distance 0
+     * @param startNode the start node
+     * @param destinationNode the destination node
+     * @return an immutable {@link Path} from the destination node back
+     * to the start node, or the empty path if the destination is unreachable.
+     * @throws IllegalArgumentException if either node is not in the hierarchy
+     */
+    @Override
+    @SuppressWarnings("deprecation")
+    public Path<Id, Data, Metric> calculateShortestPath(
+            Graph<Node<Id, Data, Metric>> graph,
+            Distance<Metric> distance,
+            Node<Id, Data, Metric> startNode,
+            Node<Id, Data, Metric> destinationNode) {
+        return calculateShortestPath(this.hierarchy.getGraph(), startNode, destinationNode);
+    }
+
+    /**
+     * Calculates the shortest path from the start node to the destination
+     * node on the hierarchy.
+     * <pre>
+     * Lf(a) := 0;  Hf := {a};  Lb(z) := 0;  Hb := {z};  mu := +Infinity
+     * while min(Hf) &#60; mu or min(Hb) &#60; mu;
+     *     u := poll(H)            {from the smaller live frontier}
+     *     for all {v} with rank(v) &#62; rank(u) adjacent in the direction of H;
+     *         relax L(v) through u
+     *         mu := min(mu, L(u) + w(u, v) + L'(v))
+     * unpack a ~&#62; m ~&#62; z  {through the node m that gave mu}
+     * </pre>
+     * @param graph the graph the hierarchy was built from
+     * @param startNode the start node
+     * @param destinationNode the destination node
+     * @param context the per query search state, sized for the graph
+     * @return an immutable {@link Path} from the destination node back
+     * to the start node, or the empty path if the destination is unreachable.
+     * @throws IllegalArgumentException if the graph is not the one the
+     *          hierarchy was built from, or either node is not in it
+     */
+    @Override
+    public Path<Id, Data, Metric> calculateShortestPath(
+            CompressedGraph<Id, Data, Metric> graph,
+            Node<Id, Data, Metric> startNode,
+            Node<Id, Data, Metric> destinationNode,
+            SearchContext context) {
+        if (graph != this.hierarchy.getGraph()) {
+            throw new IllegalArgumentException("The graph is not the one the hierarchy was built from.");
+        }
+        int source = graph.indexOf(startNode);
+        int target = graph.indexOf(destinationNode);
+        if (source < 0 || target < 0) {
+            throw new IllegalArgumentException("Start and destination nodes must belong to the graph.");
+        }
+        ContractionHierarchy.Arcs upward = this.hierarchy.upward();
+        ContractionHierarchy.Arcs downward = this.hierarchy.downward();
+        context.reset();
+        // no path leads from the start node to the destination node
+        if (!graph.mayReach(source, target)) return Path.empty();
+        SearchContext backward = backward(graph);
+        IndexedHeap forwardFrontier = IndexedHeap.local(graph.size(), this.arity);
+        IndexedHeap backwardFrontier = backwardFrontier(graph.size(), this.arity);
+
+        context.setDistance(source, 0);
+        forwardFrontier.insertOrDecrease(source, 0);
+        backward.setDistance(target, 0);
+        backwardFrontier.insertOrDecrease(target, 0);
+        double mu = source == target ? 0 : Double.POSITIVE_INFINITY;
+        int meet = source == target ? source : -1;
+        int settled = 0;
+        while (true) {
+            boolean forward = forwardFrontier.peekKey() < mu;
+            boolean reverse = backwardFrontier.peekKey() < mu;
+            if (!forward && !reverse) break;
+            settled++;
+            if (forward && (!reverse || forwardFrontier.size() <= backwardFrontier.size())) {
+                int u = forwardFrontier.poll();
+                context.visit(u);
+                double du = context.distance(u);
+                for (int e = upward.first(u), end = upward.last(u); e < end; e++) {
+                    int v = upward.head(e);
+                    double d = du + upward.weight(e);
+                    if (d < context.distance(v)) {
+                        context.setDistance(v, d);
+                        context.setParent(v, u);
+                        forwardFrontier.insertOrDecrease(v, d);
+                    }
+                    if (d + backward.distance(v) < mu) {
+                        mu = d + backward.distance(v);
+                        meet = v;
+                    }
+                }
+            } else {
+                int u = backwardFrontier.poll();
+                backward.visit(u);
+                double du = backward.distance(u);
+                for (int e = downward.first(u), end = downward.last(u); e < end; e++) {
+                    int v = downward.head(e);
+                    double d = du + downward.weight(e);
+                    if (d < backward.distance(v)) {
+                        backward.setDistance(v, d);
+                        backward.setParent(v, u);
+                        backwardFrontier.insertOrDecrease(v, d);
+                    }
+                    if (d + context.distance(v) < mu) {
+                        mu = d + context.distance(v);
+                        meet = v;
+                    }
+                }
+            }
+        }
+        log.debug("Shortest distance from {} to {}: {} ({} nodes settled)",
+                startNode.getName(), destinationNode.getName(), mu, settled);
+        if (meet < 0) {
+            context.reset();
+            return context.path(graph, target);
+        }
+
+        // the route through the hierarchy, from the start node up to the meeting node and down to the destination
+        int up = 0;
+        for (int v = meet; v != source; v = context.parent(v)) up++;
+        int down = 0;
+        for (int v = meet; v != target; v = backward.parent(v)) down++;
+        int hops = up + down;
+        int[] route = new int[hops + 1];
+        route[up] = meet;
+        for (int k = up, v = meet; k > 0; k--) route[k - 1] = v = context.parent(v);
+        for (int k = up, v = meet; k < hops; k++) route[k + 1] = v = backward.parent(v);
+
+        // unpack the shortcuts along the route into the original edges
+        int length = 1;
+        for (int k = 0; k < hops; k++) length += this.hierarchy.unpackedLength(route[k], route[k + 1]);
+        int[] path = new int[length];
+        double[] costs = new double[length];
+        path[0] = source;
+        int size = 1;
+        for (int k = 0; k < hops; k++) size = this.hierarchy.unpack(route[k], route[k + 1], path, costs, size);
+
+        // a zero weight cycle can unpack into a walk that passes a node twice;
+        // cut each such loop, which costs nothing, using the backward parents
+        // as the position of each node on the path kept so far
+        backward.reset();
+        int kept = 0;
+        for (int k = 0; k < size; k++) {
+            int v = path[k];
+            int at = backward.parent(v);
+            if (at >= 0 && at < kept && path[at] == v) {
+                kept = at;
+            } else {
+                backward.setParent(v, kept);
+            }
+            path[kept] = v;
+            costs[kept++] = costs[k];
+        }
+        size = kept;
+
+        // leave the query context holding the unpacked path
+        context.reset();
+        context.setDistance(source, 0);
+        context.visit(source);
+        for (int k = 1; k < size; k++) {
+            context.setDistance(path[k], costs[k]);
+            context.setParent(path[k], path[k - 1]);
+            context.visit(path[k]);
+        }
+        // back up from the destination node to the start node
+        return context.path(graph, target);
+    }
+}
@@ -0,0 +1,401 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package Dijkstra;
+/////////////////////////////////////////////////////////////////////
+import Graph.CompressedGraph;
+import Graph.Path;
+import Graph.SearchContext;
+import Node.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+/////////////////////////////////////////////////////////////////////
+/**
+ * <pre>
+ * Parallel single source shortest paths by delta-stepping.
+ *
+ * Tentative distances are grouped into buckets of width delta, and the
+ * nodes of the lowest non-empty bucket are relaxed together, in parallel
+ * on a {@link ForkJoinPool}:
+ *
+ *   B[i] := { v : i * delta &#60;= L(v) &#60; (i + 1) * delta }
+ *   while B[i] is not empty;
+ *       relax the light edges, w &#60;= delta, of B[i] in parallel;
+ *       nodes they improve into B[i] are relaxed again
+ *   relax the heavy edges, w &#62; delta, of every node settled in B[i]
+ *
+ * A heavy edge always leads past the current bucket, so it is relaxed
+ * once per node. A small delta approaches Dijkstra's algorithm, with
+ * little parallelism; a large one approaches Bellman-Ford, with wasted
+ * relaxations. The default is the mean edge weight.
+ *
+ * Distances are the double bits of an {@link AtomicLongArray} lowered by
+ * compare and set, so the distances are exactly those of the sequential
+ * engines. The parent of a node is taken, after each phase, from a
+ * relaxation that set its final distance in that phase.
+ * </pre>
+ * @param <Id> a unique identifier or object identifier
+ * @param <Data> the object stored by each node
+ * @param <Metric> the numeric system of measurement of the edge weights
+ */
+public class DeltaStepping<Id, Data, Metric> extends HeapDijkstra<Id, Data, Metric> {
+    ///////////////////////////////////////////////////////////////////////
+    private static final Logger log = LoggerFactory.getLogger(DeltaStepping.class);
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * The number of frontier nodes relaxed by one task
+     */
+    private static final int GRAIN = 256;
+    /**
+     * The bit pattern of +Infinity
+     */
+    private static final long UNREACHED = Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+    /**
+     * The bucket width, or NaN to use the mean edge weight
+     */
+    private final double delta;
+    /**
+     * The pool the relaxations run on; a pool cannot be serialized, so a
+     * deserialized engine runs on the common pool
+     */
+    private transient ForkJoinPool pool;
+
+    /**
+     * A delta-stepping engine on the common pool, with the mean edge
+     * weight as bucket width
+     */
+    public DeltaStepping() { this(Double.NaN, ForkJoinPool.commonPool()); }
+
+    /**
+     * A delta-stepping engine on the common pool
+     * @param delta the bucket width
+     * @throws IllegalArgumentException if delta is not positive
+     */
+    public DeltaStepping(double delta) { this(delta, ForkJoinPool.commonPool()); }
+
+    /**
+     * A delta-stepping engine
+     * @param delta the bucket width, or NaN to use the mean edge weight
+     * @param pool the pool the relaxations run on
+     * @throws IllegalArgumentException if delta is not positive
+     */
+    public DeltaStepping(double delta, ForkJoinPool pool) {
+        if (delta <= 0 || delta == Double.POSITIVE_INFINITY) {
+            throw new IllegalArgumentException("Delta must be positive and finite: " + delta);
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool must not be null.");
+        }
+        this.delta = delta;
+        this.pool = pool;
+    }
+
+    /**
+     * Restore the engine on the common pool
+     * @param in the stream the engine is read from
+     * @throws IOException if the stream cannot be read
+     * @throws ClassNotFoundException if a class of the engine cannot be found
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.pool = ForkJoinPool.commonPool();
+    }
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * Calculates the shortest path from the start node to the destination
+     * node of a compressed graph. The whole shortest path tree is built;
+     * use {@link #shortestPathTree(CompressedGraph, Node)} to keep it.
+     * @param graph the compressed graph or digraph
+     * @param startNode the start node
+     * @param destinationNode the destination node
+     * @param context the per query search state, sized for the graph
+     * @return an immutable {@link Path} from the destination node back
+     * to the start node, or the empty path if the destination is unreachable.
+     * @throws IllegalArgumentException if either node is not in the graph
+     *          or an edge weight is negative
+     */
+    @Override
+    public Path<Id, Data, Metric> calculateShortestPath(
+            CompressedGraph<Id, Data, Metric> graph,
+            Node<Id, Data, Metric> startNode,
+            Node<Id, Data, Metric> destinationNode,
+            SearchContext context) {
+        int target = graph.indexOf(destinationNode);
+        if (target < 0) {
+            throw new IllegalArgumentException("Start and destination nodes must belong to the graph.");
+        }
+        ShortestPathTree<Id, Data, Metric> tree = shortestPathTree(graph, startNode);
+        context.reset();
+        for (int v = 0; v < graph.size(); v++) {
+            if (!tree.isReached(v)) continue;
+            context.setDistance(v, tree.distance(v));
+            context.setParent(v, tree.parent(v));
+            context.visit(v);
+        }
+        // back up from the destination node to the start node
+        return context.path(graph, target);
+    }
+
+    /**
+     * Calculates the shortest distance from the start node to every node
+     * of a compressed graph.
+     * @param graph the compressed graph or digraph
+     * @param startNode the start node
+     * @return the shortest path tree rooted at the start node
+     * @throws IllegalArgumentException if the start node is not in the graph
+     *          or an edge weight is negative
+     */
+    public ShortestPathTree<Id, Data, Metric> shortestPathTree(
+            CompressedGraph<Id, Data, Metric> graph,
+            Node<Id, Data, Metric> startNode) {
+        int source = graph.indexOf(startNode);
+        if (source < 0) {
+            throw new IllegalArgumentException("Start node must belong to the graph.");
+        }
+        long start = System.nanoTime();
+        Run run = new Run(graph, Double.isNaN(this.delta) ? meanWeight(graph) : this.delta);
+        run.solve(source);
+        double[] distances = new double[graph.size()];
+        for (int v = 0; v < distances.length; v++) {
+            distances[v] = Double.longBitsToDouble(run.distances.get(v));
+        }
+        log.debug("Delta-stepping from {} with delta {}: {} phases in {} ms", startNode.getName(),
+                run.delta, run.phases, (System.nanoTime() - start) / 1_000_000);
+        return new ShortestPathTree<>(graph, source, distances, run.parents);
+    }
+
+    /**
+     * The mean edge weight of a graph, or 1 if it has no positive weight
+     * @param graph the compressed graph
+     * @return the default bucket width
+     */
+    private static double meanWeight(CompressedGraph<?, ?, ?> graph) {
+        double sum = 0;
+        for (int e = 0; e < graph.edgeCount(); e++) sum += Math.max(0, graph.weight(e));
+        return sum > 0 ? sum / graph.edgeCount() : 1;
+    }
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * A growable list of relaxations that lowered a distance: the node,
+     * its new distance bits and the node it was reached from
+     */
+    private static final class Relaxations {
+        private int[] nodes = new int[64];
+        private long[] distances = new long[64];
+        private int[] parents = new int[64];
+        private int size;
+
+        void add(int node, long distance, int parent) {
+            if (this.size == this.nodes.length) {
+                this.nodes = Arrays.copyOf(this.nodes, this.size * 2);
+                this.distances = Arrays.copyOf(this.distances, this.size * 2);
+                this.parents = Arrays.copyOf(this.parents, this.size * 2);
+            }
+            this.nodes[this.size] = node;
+            this.distances[this.size] = distance;
+            this.parents[this.size] = parent;
+            this.size++;
+        }
+    }
+
+    /**
+     * A growable list of node indices
+     */
+    private static final class Nodes {
+        private int[] nodes = new int[16];
+        private int size;
+
+        void add(int node) {
+            if (this.size == this.nodes.length) this.nodes = Arrays.copyOf(this.nodes, this.size * 2);
+            this.nodes[this.size++] = node;
+        }
+    }
+
+    /**
+     * The state of one delta-stepping run
+     */
+    private final class Run {
+        private final CompressedGraph<?, ?, ?> graph;
+        private final double delta;
+        private final AtomicLongArray distances;
+        private final int[] parents;
+        /**
+         * The edges of each node reordered light first: edges[first(u),
+         * split[u]) are light and edges[split[u], last(u)) heavy
+         */
+        private final int[] edges;
+        private final int[] split;
+        /**
+         * The phase each node was last queued for, to drop duplicates
+         */
+        private final int[] queued;
+        /**
+         * The bucket round each node was last settled in
+         */
+        private final int[] settledIn;
+        private final TreeMap<Long, Nodes> buckets = new TreeMap<>();
+        private int phases;
+
+        Run(CompressedGraph<?, ?, ?> graph, double delta) {
+            int n = graph.size();
+            this.graph = graph;
+            this.delta = delta;
+            this.distances = new AtomicLongArray(n);
+            for (int v = 0; v < n; v++) this.distances.set(v, UNREACHED);
+            this.parents = new int[n];
+            Arrays.fill(this.parents, -1);
+            this.edges = new int[graph.edgeCount()];
+            this.split = new int[n];
+            for (int u = 0; u < n; u++) {
+                int light = graph.firstEdge(u);
+                int heavy = graph.lastEdge(u);
+                for (int e = graph.firstEdge(u); e < graph.lastEdge(u); e++) {
+                    double w = graph.weight(e);
+                    if (w < 0) {
+                        throw new IllegalArgumentException("Negative edge weight from " + graph.getNode(u).getName());
+                    }
+                    if (w <= delta) this.edges[light++] = e;
+                    else this.edges[--heavy] = e;
+                }
+                this.split[u] = light;
+            }
+            this.queued = new int[n];
+            this.settledIn = new int[n];
+        }
+
+        void solve(int source) {
+            this.distances.set(source, Double.doubleToRawLongBits(0));
+            bucket(0).add(source);
+            int round = 0;
+            while (!this.buckets.isEmpty()) {
+                Map.Entry<Long, Nodes> entry = this.buckets.pollFirstEntry();
+                long index = entry.getKey();
+                round++;
+                Nodes settled = new Nodes();
+                Nodes pending = entry.getValue();
+                while (pending != null) {
+                    // the live members of the bucket, each once
+                    int phase = ++this.phases;
+                    Nodes frontier = new Nodes();
+                    for (int i = 0; i < pending.size; i++) {
+                        int v = pending.nodes[i];
+                        if (this.queued[v] == phase || bucketOf(v) != index) continue;
+                        this.queued[v] = phase;
+                        frontier.add(v);
+                        if (this.settledIn[v] != round) {
+                            this.settledIn[v] = round;
+                            settled.add(v);
+                        }
+                    }
+                    relax(frontier, true);
+                    // light edges may refill the current bucket
+                    pending = this.buckets.remove(index);
+                }
+                relax(settled, false);
+            }
+        }
+
+        /**
+         * Relax the light or heavy edges of a set of nodes in parallel and
+         * queue every node whose distance dropped
+         */
+        void relax(Nodes frontier, boolean light) {
+            List<Relaxations> results = new ArrayList<>();
+            if (frontier.size <= GRAIN) {
+                results.add(relax(frontier, 0, frontier.size, light));
+            } else {
+                List<Callable<Relaxations>> tasks = new ArrayList<>();
+                for (int from = 0; from < frontier.size; from += GRAIN) {
+                    final int start = from;
+                    final int end = Math.min(from + GRAIN, frontier.size);
+                    tasks.add(() -> relax(frontier, start, end, light));
+                }
+                try {
+                    for (Future<Relaxations> future : DeltaStepping.this.pool.invokeAll(tasks)) {
+                        results.add(future.get());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while relaxing edges.", e);
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Failed to relax edges.", e.getCause());
+                }
+            }
+            // a relaxation that still holds the distance of its node names the parent
+            for (Relaxations relaxations : results) {
+                for (int i = 0; i < relaxations.size; i++) {
+                    int v = relaxations.nodes[i];
+                    if (this.distances.get(v) != relaxations.distances[i]) continue;
+                    this.parents[v] = relaxations.parents[i];
+                    bucket(bucketOf(v)).add(v);
+                }
+            }
+        }
+
+        /**
+         * Relax the light or heavy edges of a slice of the frontier
+         */
+        Relaxations relax(Nodes frontier, int from, int to, boolean light) {
+            Relaxations relaxations = new Relaxations();
+            for (int i = from; i < to; i++) {
+                int u = frontier.nodes[i];
+                double du = Double.longBitsToDouble(this.distances.get(u));
+                int first = light ? this.graph.firstEdge(u) : this.split[u];
+                int last = light ? this.split[u] : this.graph.lastEdge(u);
+                for (int j = first; j < last; j++) {
+                    int e = this.edges[j];
+                    int v = this.graph.target(e);
+                    long d = Double.doubleToRawLongBits(du + this.graph.weight(e));
+                    // non-negative doubles order the same as their bits
+                    long current = this.distances.get(v);
+                    while (d < current) {
+                        if (this.distances.compareAndSet(v, current, d)) {
+                            relaxations.add(v, d, u);
+                            break;
+                        }
+                        current = this.distances.get(v);
+                    }
+                }
+            }
+            return relaxations;
+        }
+
+        long bucketOf(int node) {
+            return (long) (Double.longBitsToDouble(this.distances.get(node)) / this.delta);
+        }
+
+        Nodes bucket(long index) {
+            return this.buckets.computeIfAbsent(index, i -> new Nodes());
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package Dijkstra;
+/////////////////////////////////////////////////////////////////////
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+/////////////////////////////////////////////////////////////////////
+/**
+ * <pre>
+ * Dial's monotone bucket queue for integer priorities.
+ *
+ * When every edge weighs at most C, the tentative distances queued
+ * during Dijkstra's algorithm all lie in [L, L + C], where L is the last
+ * distance polled. C + 1 buckets used cyclically therefore hold each
+ * distance in its own bucket, and both queueing and polling take
+ * constant time, plus the empty buckets skipped:
+ *
+ *   bucket(d) := d mod (C + 1)
+ *
+ * Lowering a distance queues the node again; the stale entry is left in
+ * its bucket and the caller skips it when it is polled.
+ * </pre>
+ */
+public final class DialQueue {
+    /**
+     * The queue reused by the searches of each thread
+     */
+    private static final ThreadLocal<DialQueue> LOCAL = new ThreadLocal<>();
+    /**
+     * The nodes of each bucket
+     */
+    private final int[][] buckets;
+    /**
+     * The number of entries of each bucket
+     */
+    private final int[] sizes;
+    /**
+     * The priority of the bucket under the cursor
+     */
+    private long cursor;
+    /**
+     * The number of entries, stale ones included
+     */
+    private int size;
+
+    /**
+     * A bucket queue for priorities that never exceed the last polled one
+     * by more than the given spread
+     * @param spread the largest edge weight C
+     * @throws IllegalArgumentException if the spread is negative
+     */
+    public DialQueue(int spread) {
+        if (spread < 0) {
+            throw new IllegalArgumentException("Spread must not be negative: " + spread);
+        }
+        this.buckets = new int[spread + 1][];
+        this.sizes = new int[spread + 1];
+    }
+
+    /**
+     * Borrow the queue of the calling thread, emptied and able to hold the
+     * given spread
+     * @param spread the largest edge weight C
+     * @return the empty queue of the calling thread
+     */
+    public static DialQueue local(int spread) {
+        DialQueue queue = LOCAL.get();
+        if (queue == null || queue.buckets.length != spread + 1) {
+            queue = new DialQueue(spread);
+            LOCAL.set(queue);
+        } else {
+            queue.clear();
+        }
+        return queue;
+    }
+
+    /**
+     * Is the queue empty
+     * @return true if no entry is queued, false otherwise
+     */
+    public boolean isEmpty() { return this.size == 0; }
+
+    /**
+     * Queue a node
+     * @param node the node index
+     * @param key the priority, in [cursor(), cursor() + spread]
+     */
+    public void add(int node, long key) {
+        int b = (int) (key % this.buckets.length);
+        int[] bucket = this.buckets[b];
+        if (bucket == null) {
+            bucket = this.buckets[b] = new int[4];
+        } else if (this.sizes[b] == bucket.length) {
+            bucket = this.buckets[b] = Arrays.copyOf(bucket, bucket.length * 2);
+        }
+        bucket[this.sizes[b]++] = node;
+        this.size++;
+    }
+
+    /**
+     * Remove an entry with the smallest priority
+     * @return the node index of the entry
+     * @throws NoSuchElementException if the queue is empty
+     */
+    public int poll() {
+        if (this.size == 0) throw new NoSuchElementException();
+        int b = (int) (this.cursor % this.buckets.length);
+        while (this.sizes[b] == 0) {
+            this.cursor++;
+            if (++b == this.buckets.length) b = 0;
+        }
+        this.size--;
+        return this.buckets[b][--this.sizes[b]];
+    }
+
+    /**
+     * The priority of the entry last polled
+     * @return the priority under the cursor
+     */
+    public long cursor() { return this.cursor; }
+
+    /**
+     * Remove every entry and move the cursor back to 0
+     */
+    public void clear() {
+        Arrays.fill(this.sizes, 0);
+        this.cursor = 0;
+        this.size = 0;
+    }
+}
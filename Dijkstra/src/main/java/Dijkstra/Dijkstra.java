@@ -52,12 +52,22 @@ import java.util.*;
  * shortest path (sequence of visited nodes) from the start node to
  * each node and the cost of each path. This can be seen in the
  * worked example that follows.
+ *
+ * The {@link Graph} based search records tentative distances and paths
+ * on the {@link Node} objects themselves, so it must not run while
+ * another search uses the same graph. The {@link Graph.CompressedGraph} based
+ * search keeps that state in a {@link Graph.SearchContext} instead and may run
+ * on any number of threads at once.
  * @since 2022-08-6
  * </pre>
  */
 public class Dijkstra extends DijkstraAbstract<Object,Object,Object> {
     ///////////////////////////////////////////////////////////////////////
     private static final Logger log = LoggerFactory.getLogger(Dijkstra.class);
+    /**
+     * The metrics of this search are int distances
+     */
+    private static final WeightAlgebra.IntWeights INTS = WeightAlgebra.ints();
     ///////////////////////////////////////////////////////////////////////
     /**
      * Initialize each node metric parameter to fit the problem domain. The
@@ -73,13 +83,13 @@ public class Dijkstra extends DijkstraAbstract<Object,Object,Object> {
             Node<Object,Object,Object> startNode,
             Distance<Object> distance
     ) {
-        if ((Integer) distance.getValue() ==  0)
+        if (INTS.compare(intValue(distance), 0) == 0)
         {
             startNode.setDistance(new Distance<>( (Object) 0));
             for (Node<Object,Object,Object> node : graph.getNodes())
             {
                 if (!node.equals(startNode)) {
-                    node.setDistance(new Distance<>( (Object) Integer.MAX_VALUE));
+                    node.setDistance(new Distance<>( (Object) WeightAlgebra.IntWeights.INFINITY));
                 }
             }
         }
@@ -99,13 +109,15 @@ public class Dijkstra extends DijkstraAbstract<Object,Object,Object> {
     ){
         //////////////////////////////////////////////////////////////////
         Node<Object,Object,Object> minimumDistanceNode = null;
-        Distance<Object> minimumDistance = new Distance<>( (Object) Integer.MAX_VALUE);
+        Distance<Object> minimumDistance = new Distance<>( (Object) WeightAlgebra.IntWeights.INFINITY);
+        int minimum = WeightAlgebra.IntWeights.INFINITY;
         // get the minimal distance node
         for (Edge<Distance<Object>, Node<Object,Object,Object>> n : nodes)
         {
-            Integer nodeDistance = (Integer) n.getDistance().getValue();
-            if( nodeDistance < (Integer) minimumDistance.getValue() )
+            int nodeDistance = intValue(n.getDistance());
+            if (INTS.compare(nodeDistance, minimum) < 0)
             {
+                minimum = nodeDistance;
                 minimumDistance = n.getDistance();
                 minimumDistanceNode = n.getNode();
             }
@@ -133,13 +145,13 @@ public class Dijkstra extends DijkstraAbstract<Object,Object,Object> {
         // node adjacent to start node
         Node<Object,Object,Object> adjacentNode = childNodeEdge.getNode();
         // edge distance = dist[minimum dist node] + dist_between([minimum dist node] , [evaluation node])
-        Integer edgeWeight = (Integer) parentNodeEdge.getDistance().getValue() + (Integer) childNodeEdge.getDistance().getValue();
+        int edgeWeight = INTS.combine(intValue(parentNodeEdge.getDistance()), intValue(childNodeEdge.getDistance()));
         log.info("{\n\tParent Node: {} \n\n\tChild Node: {}" +
                         "\n\n\tDistance from: {} -> {} := {} \n}",
                 parentNodeEdge,childNodeEdge,parentNodeEdge.getNode().getName(),
                 adjacentNode.getName(),edgeWeight );
         // update adjacent node distance, if edgeDistance < adjacentNode distance;
-        if (edgeWeight < (Integer)  adjacentNode.getDistance().getValue())
+        if (INTS.compare(edgeWeight, intValue(adjacentNode.getDistance())) < 0)
         {
             // update adjacentNode distance = edgeDistance;
             adjacentNode.setDistance(new Distance<>( (Object) edgeWeight));
@@ -148,5 +160,20 @@ public class Dijkstra extends DijkstraAbstract<Object,Object,Object> {
         }
         return false;
     }
+
+    /**
+     * The int value of a distance, where an unset distance is infinity
+     * @param distance the distance
+     * @return the distance as an int
+     * @throws IllegalArgumentException if the distance is not an int
+     */
+    private static int intValue(Distance<Object> distance) {
+        if (distance == null || distance.getValue() == null) return WeightAlgebra.IntWeights.INFINITY;
+        Object value = distance.getValue();
+        if (!(value instanceof Number) || ((Number) value).intValue() != ((Number) value).doubleValue()) {
+            throw new IllegalArgumentException("Distance is not an int: " + value);
+        }
+        return ((Number) value).intValue();
+    }
 }
 /////////////////////////////////////////////////////////////////////
\ No newline at end of file
@@ -25,12 +25,20 @@ import Graph.*;
 import Node.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 /////////////////////////////////////////////////////////////////////
 /**
  * The Dijkstra Interface allows for customizable initialization and cost
- * evaluation of node traversal across edges between nodes.
+ * evaluation of node traversal across edges between nodes. A subclass
+ * either implements the hooks itself, or passes a {@link WeightAlgebra}
+ * to the constructor and inherits hooks that combine and compare metrics
+ * with it.
  * @param <Id> a unique identifier or object identifier
  * @param <Data> the object stored by each node
  * @param <Metric> the system of measurement used to evaluate the cost|weight|distance of
@@ -39,14 +47,46 @@ import java.util.List;
 public abstract class DijkstraAbstract<Id, Data, Metric> implements DijkstraInterface<Id, Data, Metric> {
 
     private static final Logger log = LoggerFactory.getLogger(DijkstraAbstract.class);
+    /**
+     * The algebra of the exact search over long weights
+     */
+    private static final WeightAlgebra.LongWeights LONGS = WeightAlgebra.longs();
+    /**
+     * The algebra of the saturating search over int weights
+     */
+    private static final WeightAlgebra.IntWeights INTS = WeightAlgebra.ints();
+    /**
+     * The algebra the default hooks combine and compare metrics with, or
+     * null if a subclass implements the hooks itself
+     */
+    protected final WeightAlgebra<Metric> weights;
 
+    /**
+     * A search whose subclass implements {@link #initialize},
+     * {@link #getMinimumCostNodeEdge} and {@link #evaluateGoal} itself
+     */
+    protected DijkstraAbstract() { this.weights = null; }
+
+    /**
+     * A search whose hooks combine and compare metrics with a weight algebra
+     * @param weights the weight algebra of the metric
+     */
+    protected DijkstraAbstract(WeightAlgebra<Metric> weights) {
+        if (weights == null) {
+            throw new IllegalArgumentException("The weight algebra must not be null.");
+        }
+        this.weights = weights;
+    }
 
     /**
      * Procedure Algorithm Dijkstra’s Algorithm
      * <hr>
-     * Recursive implementation of Dijkstra Algorithm.
+     * Iterative implementation of Dijkstra Algorithm.
      * Calculates the shortest path from the start node to
-     * destination node from a graph/digraph of size n.
+     * destination node from a graph/digraph of size n, stopping
+     * as soon as the destination node is settled. The node each
+     * node was last improved from is kept as its parent, and the
+     * path is rebuilt once from the parents when the search ends.
      * <hr>
      * <h3>
      * <strong>Dijkstra( G, d, a, z ):= [a...z]</strong> {shortest path from a to z}
@@ -85,8 +125,8 @@ public abstract class DijkstraAbstract<Id, Data, Metric> implements DijkstraInte
      * the shortest path list, pick the node u to a with the minimum distance/weight
      * and add set S }
      *
-     * while z ∉ S; {here is where we recursively traverse down the
-     *                     tree of nodes backup the stack}
+     * while z ∉ S; {settle one node per iteration until
+     *                     the destination node z is settled}
      *    u := a {vertex not in S with L(u) minimal distance
      *        node/vertex}
      *    S := S ∪ {u} {add u to set S}
@@ -103,11 +143,11 @@ public abstract class DijkstraAbstract<Id, Data, Metric> implements DijkstraInte
      *
      *         L := L U {v}    {add minimal node to list L(v)}
      *
-     * {<strong>Below:</strong> this should return back up a list of nodes leading
-     * to the root; the list represents the shortest path from
+     * {<strong>Below:</strong> back up through the parents from the destination
+     * node to the root; the list represents the shortest path from
      * the start to destination node}
      *
-     * return S(z) {S(z) = list of shortest path from a to z}
+     * return z, p(z), p(p(z)), ..., a
      *
      * </pre>
      *
@@ -115,95 +155,366 @@ public abstract class DijkstraAbstract<Id, Data, Metric> implements DijkstraInte
      * @param distance the distance of the node from origin/start node
      * @param startNode the start node
      * @param destinationNode the destination node
-     * @return a sorted {@link List} of {@link Node} representing the
-     * shortest path from start node to destination node z.
+     * @return an immutable {@link Path} from the destination node z back to
+     * the start node, with the distance of z as its cost, or the empty path
+     * if the destination is unreachable.
      * @see Node
      */
-    public List<Node<Id,Data,Metric>> calculateShortestPath(
+    public Path<Id, Data, Metric> calculateShortestPath(
             Graph<Node<Id, Data, Metric>> graph,
             Distance<Metric> distance,
             Node<Id, Data, Metric> startNode,
             Node<Id, Data, Metric> destinationNode) {
-        log.info("\nInitialization......\nStart Node: {}\n",startNode);
+        log.debug("\nInitialization......\nStart Node: {}\n", startNode.getName());
 
-        // create two lists, undiscovered/unsettled nodes and discovered/settled nodes;
-        // contains all unexplored nodes
+        // contains all discovered but unsettled nodes
         List<Edge<Distance<Metric>, Node<Id,Data,Metric>>> frontier = new LinkedList<>();
-        // contains the path explored to the destination node
-        List<Node<Id,Data,Metric>> shortestPath = new LinkedList<>();
+        // contains the discovered/settled nodes
+        Set<Node<Id,Data,Metric>> settled = new HashSet<>();
+        // the node each node was last improved from
+        Map<Node<Id,Data,Metric>, Node<Id,Data,Metric>> parents = new HashMap<>();
 
         // initialize all nodes distance to +Infinity;
         // and start node distance to 0 or some method
         graph = initialize(graph, startNode, distance);
         // add the start node to unsettled node list
-        frontier.add(
-                new Edge<>(
-                        distance,
-                        startNode
-                )
-        );
-
-        // get the node on with the smallest/minimum distance
-        Edge<Distance<Metric>,Node<Id,Data,Metric>> parentNodeEdge = getMinimumCostNodeEdge(frontier);
-
-        // for each neighbor adjacent node of the minimum distance node, where n has not yet been
-        // removed from unsettled nodes do;
-        for (Edge<Distance<Metric>, Node<Id,Data,Metric>> childNodeEdge : parentNodeEdge.getNode().getEdges())
-        {
-
-            // temp container for nodes discovered on the frontier aka settled nodes
-            List<Node<Id,Data,Metric>> tempShortestPath = new LinkedList<>();
-
-            // node adjacent to start node
-            Node<Id,Data,Metric> adjacentNode = childNodeEdge.getNode();
-
-            // remove minimal node from the undiscovered frontier/unsettled nodes list
-            frontier.remove(parentNodeEdge);
-
-            // evaluate parent and child node;
-            // update child node to reflect cost evaluation
-            // function; this function depends on the
-            // object domain, such as temperature, mileage, degrees,
-            // primitives, binary digit, etc.
-            if (evaluateGoal(parentNodeEdge,childNodeEdge))
-            {
-
-                log.info("\nUpdated Node: {}\n", childNodeEdge);
-
-                // add the adjacent node to the undiscovered frontier/unsettled nodes list for later processing
-                frontier.add(childNodeEdge);
-                // if destination node not in discovered/settled node initiate recursive call
-                if (!shortestPath.contains(destinationNode))
-                {
-                    // continue as long as we have undiscovered nodes on the frontier
-                    // add unexplored node to settledNode list
-                    tempShortestPath.addAll(calculateShortestPath(
-                            graph,
-                            adjacentNode.getDistance(),
-                            adjacentNode,
-                            destinationNode)
-                    );
-                    // update the path to destination node for each node leading
-                    // up to the destination node
-                    childNodeEdge.getNode().setShortestPath(tempShortestPath);
+        frontier.add(new Edge<>(distance, startNode));
+
+        while (!frontier.isEmpty()) {
+            // get the node on with the smallest/minimum distance
+            Edge<Distance<Metric>, Node<Id,Data,Metric>> parentNodeEdge = getMinimumCostNodeEdge(frontier);
+            Node<Id,Data,Metric> parentNode = parentNodeEdge == null ? null : parentNodeEdge.getNode();
+            // the remaining nodes cannot be reached
+            if (parentNode == null) break;
+            // remove it, and any entry left by an earlier improvement, from the frontier
+            frontier.removeIf(edge -> edge.getNode() == parentNode);
+            if (!settled.add(parentNode)) continue;
+            // stop as soon as the destination node is settled
+            if (parentNode == destinationNode) break;
+
+            // for each neighbor adjacent node of the minimum distance node, where n has not yet been
+            // removed from unsettled nodes do;
+            for (Edge<Distance<Metric>, Node<Id,Data,Metric>> childNodeEdge : parentNode.getEdges()) {
+                Node<Id,Data,Metric> adjacentNode = childNodeEdge.getNode();
+                if (settled.contains(adjacentNode)) continue;
+                // evaluate parent and child node;
+                // update child node to reflect cost evaluation
+                // function; this function depends on the
+                // object domain, such as temperature, mileage, degrees,
+                // primitives, binary digit, etc.
+                if (evaluateGoal(parentNodeEdge, childNodeEdge)) {
+                    parents.put(adjacentNode, parentNode);
+                    // add the adjacent node to the undiscovered frontier/unsettled nodes list for later processing
+                    frontier.add(new Edge<>(adjacentNode.getDistance(), adjacentNode));
+                }
+            }
+        }
+        if (!settled.contains(destinationNode)) return Path.empty();
+
+        // our look back or back up; from the destination node to the start node
+        List<Node<Id,Data,Metric>> shortestPath = new ArrayList<>();
+        for (Node<Id,Data,Metric> node = destinationNode; node != null; node = parents.get(node)) {
+            shortestPath.add(node);
+        }
+        Object value = destinationNode.getDistance() == null ? null : destinationNode.getDistance().getValue();
+        double cost = value instanceof Number ? ((Number) value).doubleValue() : Double.NaN;
+        log.debug("\nShortest distance from {} to {}: {}\n",
+                startNode.getName(), destinationNode.getName(), value);
+        return Path.of(shortestPath, cost);
+    }
+
+    /**
+     * Procedure Algorithm Dijkstra’s Algorithm over a {@link CompressedGraph}
+     * <hr>
+     * Calculates the shortest path from the start node to the destination
+     * node of a primitive weighted snapshot. Tentative distances are kept in
+     * a double array and the parent of each node in an int array, so no
+     * {@link Distance} is allocated and no {@link Node} is mutated while the
+     * search runs. A {@link LongCompressedGraph} is searched with exact long
+     * distances instead, read back by {@link SearchContext#cost(int)}. The
+     * search stops as soon as the destination is settled.
+     * <pre>
+     * for v_i in n;
+     *     L(v_i) := +Infinity;  p(v_i) := nil
+     * L(a) := 0
+     * while z ∉ S;
+     *     u := vertex not in S with L(u) minimal
+     *     S := S ∪ {u}
+     *     for all {v} adjacent to u and not in S;
+     *         if L(u) + w(u, v) &#60; L(v)
+     *         then L(v) := L(u) + w(u, v);  p(v) := u
+     * return z, p(z), p(p(z)), ..., a
+     * </pre>
+     * @param graph the compressed graph or digraph
+     * @param startNode the start node
+     * @param destinationNode the destination node
+     * @return an immutable {@link Path} from the destination node back
+     * to the start node, or the empty path if the destination is unreachable.
+     * @throws IllegalArgumentException if either node is not in the graph
+     * @see CompressedGraph
+     */
+    public Path<Id, Data, Metric> calculateShortestPath(
+            CompressedGraph<Id, Data, Metric> graph,
+            Node<Id, Data, Metric> startNode,
+            Node<Id, Data, Metric> destinationNode) {
+        return calculateShortestPath(graph, startNode, destinationNode, SearchContext.local(graph));
+    }
+
+    /**
+     * Calculates the shortest path from the start node to the destination
+     * node of a compressed graph, recording the distance, parent and settled
+     * state of every node in the given {@link SearchContext}. The context is
+     * reset before the search and can be read back once it returns; as long
+     * as each thread passes its own context, any number of threads may search
+     * the same graph concurrently.
+     * @param graph the compressed graph or digraph
+     * @param startNode the start node
+     * @param destinationNode the destination node
+     * @param context the per query search state, sized for the graph
+     * @return an immutable {@link Path} from the destination node back
+     * to the start node, or the empty path if the destination is unreachable.
+     * @throws IllegalArgumentException if either node is not in the graph
+     *          or a negative edge weight is reached
+     * @see SearchContext
+     */
+    public Path<Id, Data, Metric> calculateShortestPath(
+            CompressedGraph<Id, Data, Metric> graph,
+            Node<Id, Data, Metric> startNode,
+            Node<Id, Data, Metric> destinationNode,
+            SearchContext context) {
+        int source = graph.indexOf(startNode);
+        int target = graph.indexOf(destinationNode);
+        if (source < 0 || target < 0) {
+            throw new IllegalArgumentException("Start and destination nodes must belong to the graph.");
+        }
+        context.reset();
+        // no path leads from the start node to the destination node
+        if (!graph.mayReach(source, target)) return Path.empty();
+        IndexedHeap frontier = IndexedHeap.local(graph.size(), IndexedHeap.DEFAULT_ARITY);
+        if (graph instanceof LongCompressedGraph) {
+            settleExact((LongCompressedGraph<Id, Data, Metric>) graph, source, target, context, frontier);
+            return context.path(graph, target);
+        }
+        if (this.weights instanceof WeightAlgebra.IntWeights && graph instanceof IntCompressedGraph) {
+            settleSaturated((IntCompressedGraph<Id, Data, Metric>) graph, source, target, context, frontier);
+            return context.path(graph, target);
+        }
+        context.setDistance(source, 0);
+        frontier.insertOrDecrease(source, 0);
+
+        while (!frontier.isEmpty()) {
+            // get the unsettled node with the smallest/minimum distance
+            int u = frontier.poll();
+            context.visit(u);
+            if (u == target) break;
+            for (int e = graph.firstEdge(u), end = graph.lastEdge(u); e < end; e++) {
+                double w = graph.weight(e);
+                if (w < 0) {
+                    throw new IllegalArgumentException("Negative edge weight from " + graph.getNode(u).getName());
+                }
+                int v = graph.target(e);
+                double d = context.distance(u) + w;
+                if (!context.isVisited(v) && d < context.distance(v)) {
+                    context.setDistance(v, d);
+                    context.setParent(v, u);
+                    frontier.insertOrDecrease(v, d);
+                }
+            }
+        }
+        log.debug("\nShortest distance from {} to {}: {}\n",
+                startNode.getName(), destinationNode.getName(), context.distance(target));
+
+        // back up from the destination node to the start node
+        return context.path(graph, target);
+    }
+
+    /**
+     * Dijkstra's algorithm over long weights with exact long distances.
+     * Distances are summed by {@link WeightAlgebra.LongWeights}, which
+     * saturates rather than overflows, kept in {@link SearchContext#cost(int)}
+     * and queued by long priority, so costs above 2^53 that a double would
+     * round are still compared and reported exactly.
+     * @param graph the long weighted graph
+     * @param source the start node index
+     * @param target the destination node index, or -1 to settle every reachable node
+     * @param context the search state, already reset
+     * @param frontier an empty heap sized for the graph
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     * @return the number of nodes settled
+     * @throws IllegalArgumentException if a negative edge weight is reached
+     */
+    static <Id, Data, Metric> int settleExact(
+            LongCompressedGraph<Id, Data, Metric> graph,
+            int source,
+            int target,
+            SearchContext context,
+            IndexedHeap frontier) {
+        context.setCost(source, 0);
+        frontier.insertOrDecreaseExact(source, 0);
+        int settled = 0;
+        while (!frontier.isEmpty()) {
+            int u = frontier.poll();
+            context.visit(u);
+            settled++;
+            if (u == target) break;
+            long du = context.cost(u);
+            for (int e = graph.firstEdge(u), end = graph.lastEdge(u); e < end; e++) {
+                long w = graph.longWeight(e);
+                if (w < 0) {
+                    throw new IllegalArgumentException("Negative edge weight from " + graph.getNode(u).getName());
+                }
+                int v = graph.target(e);
+                long d = LONGS.combine(du, w);
+                if (d < context.cost(v)) {
+                    context.setCost(v, d);
+                    context.setParent(v, u);
+                    frontier.insertOrDecreaseExact(v, d);
                 }
             }
-            // remove any undesired paths with accumulated distance greater than the
-            // accumulated distance of the destination node
-            if (tempShortestPath.contains(destinationNode))
-            {
-                // add the cleansed temp list to the settled node
-                shortestPath.addAll(tempShortestPath);
+        }
+        return settled;
+    }
+
+    /**
+     * Dijkstra's algorithm over int weights summed by
+     * {@link WeightAlgebra.IntWeights}, so a cost that passes
+     * {@link WeightAlgebra.IntWeights#INFINITY} saturates and leaves the
+     * node unreached, just as the node based search over the same algebra
+     * does. Costs are kept in {@link SearchContext#cost(int)}.
+     * @param graph the int weighted graph
+     * @param source the start node index
+     * @param target the destination node index, or -1 to settle every reachable node
+     * @param context the search state, already reset
+     * @param frontier an empty heap sized for the graph
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     * @return the number of nodes settled
+     * @throws IllegalArgumentException if a negative edge weight is reached
+     */
+    static <Id, Data, Metric> int settleSaturated(
+            IntCompressedGraph<Id, Data, Metric> graph,
+            int source,
+            int target,
+            SearchContext context,
+            IndexedHeap frontier) {
+        context.setCost(source, 0);
+        frontier.insertOrDecreaseExact(source, 0);
+        int settled = 0;
+        while (!frontier.isEmpty()) {
+            int u = frontier.poll();
+            context.visit(u);
+            settled++;
+            if (u == target) break;
+            int du = (int) context.cost(u);
+            for (int e = graph.firstEdge(u), end = graph.lastEdge(u); e < end; e++) {
+                int w = graph.intWeight(e);
+                if (w < 0) {
+                    throw new IllegalArgumentException("Negative edge weight from " + graph.getNode(u).getName());
+                }
+                int v = graph.target(e);
+                int d = INTS.combine(du, w);
+                if (d != WeightAlgebra.IntWeights.INFINITY && d < context.cost(v)) {
+                    context.setCost(v, d);
+                    context.setParent(v, u);
+                    frontier.insertOrDecreaseExact(v, d);
+                }
+            }
+        }
+        return settled;
+    }
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * Set every node to the infinity of the weight algebra and the start
+     * node to the initial distance, when that distance is its zero.
+     * @param graph the graph
+     * @param startNode the start node
+     * @param distance the initial starting distance
+     * @return the initialized graph
+     * @throws IllegalStateException if no weight algebra was given
+     */
+    @Override
+    public Graph<Node<Id, Data, Metric>> initialize(
+            Graph<Node<Id, Data, Metric>> graph,
+            Node<Id, Data, Metric> startNode,
+            Distance<Metric> distance) {
+        WeightAlgebra<Metric> weights = weights();
+        if (weights.compare(valueOf(distance), weights.zero()) == 0) {
+            for (Node<Id, Data, Metric> node : graph.getNodes()) {
+                node.setDistance(new Distance<>(weights.infinity()));
             }
+            startNode.setDistance(new Distance<>(weights.zero()));
         }
+        return graph;
+    }
 
-        // our look back or back up; add previous node to discovered list of settled nodes;
-        shortestPath.addAll(List.of(parentNodeEdge.getNode()));
+    /**
+     * Find the node edge with the lowest cost in the weight algebra.
+     * @param nodes the list of node.
+     * @return the node {@link Edge} with the lowest weight/cost edge, or
+     *          null when no node on the list is reachable
+     * @throws IllegalStateException if no weight algebra was given
+     */
+    @Override
+    public Edge<Distance<Metric>, Node<Id, Data, Metric>> getMinimumCostNodeEdge(
+            List<Edge<Distance<Metric>, Node<Id, Data, Metric>>> nodes) {
+        WeightAlgebra<Metric> weights = weights();
+        Edge<Distance<Metric>, Node<Id, Data, Metric>> minimum = null;
+        Metric minimumDistance = weights.infinity();
+        for (Edge<Distance<Metric>, Node<Id, Data, Metric>> edge : nodes) {
+            Metric nodeDistance = valueOf(edge.getDistance());
+            if (weights.compare(nodeDistance, minimumDistance) < 0) {
+                minimum = edge;
+                minimumDistance = nodeDistance;
+            }
+        }
+        return minimum;
+    }
 
-        log.info("\nReturned Settled Nodes: {}\n",
-                shortestPath);
+    /**
+     * Combine the distance of the parent node with the weight of the edge to
+     * the child node and, if that is cheaper than the distance recorded on
+     * the child node, record it.
+     * @param parentNodeEdge parent node
+     * @param childNodeEdge child node
+     * @return true if the child node was updated, false otherwise
+     * @throws IllegalStateException if no weight algebra was given
+     */
+    @Override
+    public boolean evaluateGoal(
+            Edge<Distance<Metric>, Node<Id, Data, Metric>> parentNodeEdge,
+            Edge<Distance<Metric>, Node<Id, Data, Metric>> childNodeEdge) {
+        WeightAlgebra<Metric> weights = weights();
+        Node<Id, Data, Metric> adjacentNode = childNodeEdge.getNode();
+        Metric edgeWeight = weights.combine(valueOf(parentNodeEdge.getDistance()), valueOf(childNodeEdge.getDistance()));
+        if (weights.compare(edgeWeight, valueOf(adjacentNode.getDistance())) < 0) {
+            adjacentNode.setDistance(new Distance<>(edgeWeight));
+            return true;
+        }
+        return false;
+    }
 
-        return shortestPath;
+    /**
+     * The weight algebra of the default hooks
+     * @return the weight algebra
+     * @throws IllegalStateException if no weight algebra was given
+     */
+    private WeightAlgebra<Metric> weights() {
+        if (this.weights == null) {
+            throw new IllegalStateException(getClass().getSimpleName()
+                    + " must either implement the search hooks or be given a WeightAlgebra.");
+        }
+        return this.weights;
     }
 
+    /**
+     * The value of a distance, where an unset distance is infinity
+     * @param distance the distance
+     * @return the metric value
+     */
+    private Metric valueOf(Distance<Metric> distance) {
+        return distance == null || distance.getValue() == null ? this.weights.infinity() : distance.getValue();
+    }
 }
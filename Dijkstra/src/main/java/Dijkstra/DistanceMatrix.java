@@ -0,0 +1,278 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package Dijkstra;
+/////////////////////////////////////////////////////////////////////
+import Graph.CompressedGraph;
+import Graph.SearchContext;
+import Node.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+/////////////////////////////////////////////////////////////////////
+/**
+ * <pre>
+ * The shortest distances from each of a list of source nodes to each of
+ * a list of target nodes, as one dense row-major matrix.
+ *
+ *   M[i][j] := d(sources[i], targets[j])
+ *
+ * One Dijkstra search is run per source rather than one per pair, and
+ * each search stops as soon as every target is settled. The rows are
+ * computed in parallel on a {@link ForkJoinPool}, split into one task per
+ * unit of parallelism; each task reuses a {@link SearchContext} and
+ * {@link IndexedHeap} of its own for all of its rows, which are released
+ * with the task. These are not the thread's borrowed ones, which a caller
+ * that is itself a worker of the pool may be holding.
+ *
+ * The matrix is read-only once built.
+ * </pre>
+ * @param <Id> a unique identifier or object identifier
+ * @param <Data> the object stored by each node
+ * @param <Metric> the numeric system of measurement of the edge weights
+ */
+public final class DistanceMatrix<Id, Data, Metric> {
+    ///////////////////////////////////////////////////////////////////////
+    private static final Logger log = LoggerFactory.getLogger(DistanceMatrix.class);
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * The most entries a double array can hold on common virtual machines
+     */
+    private static final int MAX_ENTRIES = Integer.MAX_VALUE - 8;
+    /**
+     * The row nodes
+     */
+    private final List<Node<Id, Data, Metric>> sources;
+    /**
+     * The column nodes
+     */
+    private final List<Node<Id, Data, Metric>> targets;
+    /**
+     * The distances, row by row
+     */
+    private final double[] distances;
+
+    /**
+     * A distance matrix
+     */
+    private DistanceMatrix(List<Node<Id, Data, Metric>> sources, List<Node<Id, Data, Metric>> targets,
+                           double[] distances) {
+        this.sources = sources;
+        this.targets = targets;
+        this.distances = distances;
+    }
+
+    /**
+     * Compute the distances from every source to every target on the
+     * common pool
+     * @param graph the compressed graph or digraph
+     * @param sources the row nodes
+     * @param targets the column nodes
+     * @param <Id> a unique identifier or object identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the numeric system of measurement of the edge weights
+     * @return the distance matrix
+     * @throws IllegalArgumentException if a node is not in the graph or a
+     *          negative edge weight is reached
+     */
+    public static <Id, Data, Metric> DistanceMatrix<Id, Data, Metric> of(
+            CompressedGraph<Id, Data, Metric> graph,
+            List<Node<Id, Data, Metric>> sources,
+            List<Node<Id, Data, Metric>> targets) {
+        return of(graph, sources, targets, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Compute the distances from every source to every target
+     * @param graph the compressed graph or digraph
+     * @param sources the row nodes
+     * @param targets the column nodes
+     * @param pool the pool the rows are computed on
+     * @param <Id> a unique identifier or object identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the numeric system of measurement of the edge weights
+     * @return the distance matrix
+     * @throws IllegalArgumentException if a node is not in the graph, a
+     *          negative edge weight is reached or the matrix has more
+     *          entries than an array can hold
+     */
+    public static <Id, Data, Metric> DistanceMatrix<Id, Data, Metric> of(
+            CompressedGraph<Id, Data, Metric> graph,
+            List<Node<Id, Data, Metric>> sources,
+            List<Node<Id, Data, Metric>> targets,
+            ForkJoinPool pool) {
+        int rows = sources.size();
+        int columns = targets.size();
+        if ((long) rows * columns > MAX_ENTRIES) {
+            throw new IllegalArgumentException("A " + rows + "x" + columns + " distance matrix is too large.");
+        }
+        int[] sourceIndices = indicesOf(graph, sources);
+        int[] columnIndices = indicesOf(graph, targets);
+        // each distinct target node once, and the distinct slot of each column
+        int[] slotOf = new int[graph.size()];
+        Arrays.fill(slotOf, -1);
+        int[] columnSlots = new int[columns];
+        int[] targetIndices = new int[columns];
+        int distinct = 0;
+        for (int j = 0; j < columns; j++) {
+            int v = columnIndices[j];
+            if (slotOf[v] < 0) {
+                slotOf[v] = distinct;
+                targetIndices[distinct++] = v;
+            }
+            columnSlots[j] = slotOf[v];
+        }
+        final int targetCount = distinct;
+
+        long start = System.nanoTime();
+        double[] distances = new double[rows * columns];
+        // one task per worker, each striding over the rows with a context and heap of its own
+        int chunks = Math.min(rows, pool.getParallelism());
+        List<Callable<Void>> tasks = new ArrayList<>(chunks);
+        for (int c = 0; c < chunks; c++) {
+            final int first = c;
+            tasks.add(() -> {
+                SearchContext context = SearchContext.of(graph);
+                IndexedHeap frontier = new IndexedHeap(graph.size(), IndexedHeap.DEFAULT_ARITY);
+                for (int row = first; row < rows; row += chunks) {
+                    context.reset();
+                    frontier.clear();
+                    search(graph, sourceIndices[row], slotOf, targetCount, context, frontier);
+                    for (int j = 0; j < columns; j++) {
+                        distances[row * columns + j] = context.distance(targetIndices[columnSlots[j]]);
+                    }
+                }
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> future : pool.invokeAll(tasks)) future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while computing the distance matrix.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IllegalArgumentException) throw (IllegalArgumentException) e.getCause();
+            throw new IllegalStateException("Failed to compute the distance matrix.", e.getCause());
+        }
+        log.debug("Computed a {}x{} distance matrix in {} ms", rows, columns, (System.nanoTime() - start) / 1_000_000);
+        return new DistanceMatrix<>(Collections.unmodifiableList(new ArrayList<>(sources)),
+                Collections.unmodifiableList(new ArrayList<>(targets)), distances);
+    }
+
+    /**
+     * A Dijkstra search from one source that stops once every target is settled
+     * @param graph the compressed graph
+     * @param source the index of the source node
+     * @param slotOf the distinct target slot of each node, or -1
+     * @param targetCount the number of distinct targets
+     * @param context the search state of the worker, reset
+     * @param frontier the heap of the worker, empty
+     */
+    private static void search(CompressedGraph<?, ?, ?> graph, int source, int[] slotOf, int targetCount,
+                               SearchContext context, IndexedHeap frontier) {
+        if (targetCount == 0) return;
+        context.setDistance(source, 0);
+        frontier.insertOrDecrease(source, 0);
+        int remaining = targetCount;
+        while (!frontier.isEmpty()) {
+            int u = frontier.poll();
+            context.visit(u);
+            if (slotOf[u] >= 0 && --remaining == 0) break;
+            double du = context.distance(u);
+            for (int e = graph.firstEdge(u), end = graph.lastEdge(u); e < end; e++) {
+                double w = graph.weight(e);
+                if (w < 0) {
+                    throw new IllegalArgumentException("Negative edge weight from " + graph.getNode(u).getName());
+                }
+                int v = graph.target(e);
+                double d = du + w;
+                if (d < context.distance(v)) {
+                    context.setDistance(v, d);
+                    context.setParent(v, u);
+                    frontier.insertOrDecrease(v, d);
+                }
+            }
+        }
+    }
+
+    /**
+     * The dense indices of a list of nodes
+     */
+    private static <Id, Data, Metric> int[] indicesOf(CompressedGraph<Id, Data, Metric> graph,
+                                                     List<Node<Id, Data, Metric>> nodes) {
+        int[] indices = new int[nodes.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = graph.indexOf(nodes.get(i));
+            if (indices[i] < 0) {
+                throw new IllegalArgumentException("Node does not belong to the graph: " + nodes.get(i).getName());
+            }
+        }
+        return indices;
+    }
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * Get the row nodes
+     * @return the sources, in row order
+     */
+    public List<Node<Id, Data, Metric>> getSources() { return this.sources; }
+
+    /**
+     * Get the column nodes
+     * @return the targets, in column order
+     */
+    public List<Node<Id, Data, Metric>> getTargets() { return this.targets; }
+
+    /**
+     * The number of rows
+     * @return the number of sources
+     */
+    public int rows() { return this.sources.size(); }
+
+    /**
+     * The number of columns
+     * @return the number of targets
+     */
+    public int columns() { return this.targets.size(); }
+
+    /**
+     * The shortest distance from a source to a target
+     * @param row the source, in [0, rows())
+     * @param column the target, in [0, columns())
+     * @return the distance, or +Infinity if the target is unreachable
+     */
+    public double get(int row, int column) {
+        if (column < 0 || column >= this.targets.size()) throw new IndexOutOfBoundsException(column);
+        return this.distances[row * this.targets.size() + column];
+    }
+
+    /**
+     * A copy of the distances, row by row
+     * @return an array of rows() * columns() distances
+     */
+    public double[] toArray() { return this.distances.clone(); }
+}
@@ -0,0 +1,544 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package Dijkstra;
+/////////////////////////////////////////////////////////////////////
+import Graph.CompressedGraph;
+import Graph.Graph;
+import Graph.LongCompressedGraph;
+import Graph.Path;
+import Graph.SearchContext;
+import Graph.SearchVisitor;
+import Graph.SettledNode;
+import Graph.SparseDistanceMap;
+import Node.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+/////////////////////////////////////////////////////////////////////
+/**
+ * <pre>
+ * Iterative Dijkstra's algorithm driven by an {@link IndexedHeap}.
+ *
+ * The graph is frozen into a {@link CompressedGraph} and the unsettled
+ * frontier is an indexed d-ary heap with decrease-key, so each step pops
+ * the minimum in O(d log_d n) instead of scanning a list, and a node whose
+ * tentative distance drops is moved inside the heap rather than queued
+ * again. The main loop is iterative, so long paths cannot overflow the
+ * stack, and the search stops as soon as the destination is settled.
+ *
+ *   O((|V| + |E|) log |V|)
+ *
+ * Tentative distances and parents are kept in a {@link SearchContext}
+ * owned by the query; no {@link Node} is mutated, so concurrent queries
+ * may share one snapshot.
+ * </pre>
+ * @param <Id> a unique identifier or object identifier
+ * @param <Data> the object stored by each node
+ * @param <Metric> the numeric system of measurement of the edge weights
+ */
+public class HeapDijkstra<Id, Data, Metric> extends DijkstraAbstract<Id, Data, Metric> {
+    ///////////////////////////////////////////////////////////////////////
+    private static final Logger log = LoggerFactory.getLogger(HeapDijkstra.class);
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * The number of children of each heap slot
+     */
+    protected final int arity;
+
+    /**
+     * A Dijkstra engine backed by an indexed 4-ary heap
+     */
+    public HeapDijkstra() { this(IndexedHeap.DEFAULT_ARITY); }
+
+    /**
+     * A Dijkstra engine backed by an indexed d-ary heap
+     * @param arity the number of children of each heap slot
+     * @throws IllegalArgumentException if the arity is less than 2
+     */
+    public HeapDijkstra(int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Heap arity must be at least 2: " + arity);
+        }
+        this.arity = arity;
+    }
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * Calculates the shortest path from the start node to the destination
+     * node. The graph is frozen into a {@link CompressedGraph} on every call,
+     * which costs O(V + E) however close the destination is; callers should
+     * freeze it once and use {@link #calculateShortestPath(CompressedGraph, Node, Node)}.
+     * @param graph the graph or digraph
+     * @param distance unused; the start node is always at distance 0
+     * @param startNode the start node
+     * @param destinationNode the destination node
+     * @return an immutable {@link Path} from the destination node back
+     * to the start node, or the empty path if the destination is unreachable.
+     * @see Node
+     * @deprecated freezes the whole graph per query; use
+     *          {@link #calculateShortestPath(CompressedGraph, Node, Node)} on a
+     *          snapshot taken once with {@link CompressedGraph#of(Graph)}
+     */
+    @Deprecated
+    @Override
+    public Path<Id, Data, Metric> calculateShortestPath(
+            Graph<Node<Id, Data, Metric>> graph,
+            Distance<Metric> distance,
+            Node<Id, Data, Metric> startNode,
+            Node<Id, Data, Metric> destinationNode) {
+        return calculateShortestPath(CompressedGraph.of(graph), startNode, destinationNode);
+    }
+
+    /**
+     * Calculates the shortest path from the start node to the destination
+     * node of a compressed graph. A {@link LongCompressedGraph} is searched
+     * with exact long distances, read back by {@link SearchContext#cost(int)}.
+     * <pre>
+     * for v_i in n;
+     *     L(v_i) := +Infinity;  p(v_i) := nil
+     * L(a) := 0;  H := {a}
+     * while H is not empty;
+     *     u := poll(H)            {vertex with L(u) minimal}
+     *     if u = z then break
+     *     for all {v} adjacent to u;
+     *         if L(u) + w(u, v) &#60; L(v)
+     *         then L(v) := L(u) + w(u, v);  p(v) := u
+     *              insert v into H or decrease its key to L(v)
+     * return z, p(z), p(p(z)), ..., a
+     * </pre>
+     * @param graph the compressed graph or digraph
+     * @param startNode the start node
+     * @param destinationNode the destination node
+     * @param context the per query search state, sized for the graph
+     * @return an immutable {@link Path} from the destination node back
+     * to the start node, or the empty path if the destination is unreachable.
+     * @throws IllegalArgumentException if either node is not in the graph
+     *          or a negative edge weight is reached
+     */
+    @Override
+    public Path<Id, Data, Metric> calculateShortestPath(
+            CompressedGraph<Id, Data, Metric> graph,
+            Node<Id, Data, Metric> startNode,
+            Node<Id, Data, Metric> destinationNode,
+            SearchContext context) {
+        int source = graph.indexOf(startNode);
+        int target = graph.indexOf(destinationNode);
+        if (source < 0 || target < 0) {
+            throw new IllegalArgumentException("Start and destination nodes must belong to the graph.");
+        }
+        context.reset();
+        // no path leads from the start node to the destination node
+        if (!graph.mayReach(source, target)) return Path.empty();
+        IndexedHeap frontier = IndexedHeap.local(graph.size(), this.arity);
+        if (graph instanceof LongCompressedGraph) {
+            int settled = settleExact((LongCompressedGraph<Id, Data, Metric>) graph, source, target, context, frontier);
+            log.debug("Shortest distance from {} to {}: {} ({} nodes settled)",
+                    startNode.getName(), destinationNode.getName(), context.cost(target), settled);
+            return context.path(graph, target);
+        }
+
+        context.setDistance(source, 0);
+        frontier.insertOrDecrease(source, 0);
+        int settled = 0;
+        while (!frontier.isEmpty()) {
+            int u = frontier.poll();
+            context.visit(u);
+            settled++;
+            if (u == target) break;
+            double du = context.distance(u);
+            for (int e = graph.firstEdge(u), end = graph.lastEdge(u); e < end; e++) {
+                double w = graph.weight(e);
+                if (w < 0) {
+                    throw new IllegalArgumentException("Negative edge weight from " + graph.getNode(u).getName());
+                }
+                int v = graph.target(e);
+                double d = du + w;
+                if (d < context.distance(v)) {
+                    context.setDistance(v, d);
+                    context.setParent(v, u);
+                    frontier.insertOrDecrease(v, d);
+                }
+            }
+        }
+        log.debug("Shortest distance from {} to {}: {} ({} nodes settled)",
+                startNode.getName(), destinationNode.getName(), context.distance(target), settled);
+
+        // back up from the destination node to the start node
+        return context.path(graph, target);
+    }
+
+    /**
+     * Dijkstra's algorithm from the start node over a compressed graph,
+     * reporting each step to a visitor instead of building a path. The
+     * search runs on a context and heap of its own, so the visitor may start
+     * other searches on the same thread.
+     * @param graph the compressed graph or digraph
+     * @param startNode the start node
+     * @param visitor the callbacks of the search
+     * @return true if the visitor stopped the search, false if it ran out of nodes
+     * @throws IllegalArgumentException if the start node is not in the graph
+     *          or a negative edge weight is reached
+     * @see #traverse(CompressedGraph, Node, SearchVisitor, SearchContext)
+     */
+    public boolean traverse(
+            CompressedGraph<Id, Data, Metric> graph,
+            Node<Id, Data, Metric> startNode,
+            SearchVisitor visitor) {
+        return traverse(graph, startNode, visitor, SearchContext.of(graph));
+    }
+
+    /**
+     * Dijkstra's algorithm from the start node over a compressed graph,
+     * reporting each step to a visitor instead of building a path. A node is
+     * discovered when it first gets a finite distance, relaxed whenever an
+     * edge lowers that distance and settled when it leaves the heap; a node
+     * pruned on discovery is closed in the context and never settled. With
+     * a visitor that stops on settling a target this is the point-to-point
+     * search; with none, the whole shortest path tree is left in the context.
+     * The heap is allocated per call rather than borrowed from the thread,
+     * since a visitor that searches again would empty a borrowed one.
+     * @param graph the compressed graph or digraph
+     * @param startNode the start node
+     * @param visitor the callbacks of the search
+     * @param context the per query search state, sized for the graph
+     * @return true if the visitor stopped the search, false if it ran out of nodes
+     * @throws IllegalArgumentException if the start node is not in the graph
+     *          or a negative edge weight is reached
+     */
+    public boolean traverse(
+            CompressedGraph<Id, Data, Metric> graph,
+            Node<Id, Data, Metric> startNode,
+            SearchVisitor visitor,
+            SearchContext context) {
+        int source = graph.indexOf(startNode);
+        if (source < 0) {
+            throw new IllegalArgumentException("Start node must belong to the graph.");
+        }
+        context.reset();
+        IndexedHeap frontier = new IndexedHeap(graph.size(), this.arity);
+
+        context.setDistance(source, 0);
+        SearchVisitor.Action action = visitor.onDiscover(source, -1, 0);
+        if (action == SearchVisitor.Action.STOP) return true;
+        if (action == SearchVisitor.Action.PRUNE) return false;
+        frontier.insertOrDecrease(source, 0);
+        while (!frontier.isEmpty()) {
+            int u = frontier.poll();
+            context.visit(u);
+            double du = context.distance(u);
+            action = visitor.onSettle(u, du);
+            if (action == SearchVisitor.Action.STOP) return true;
+            if (action == SearchVisitor.Action.PRUNE) continue;
+            for (int e = graph.firstEdge(u), end = graph.lastEdge(u); e < end; e++) {
+                double w = graph.weight(e);
+                if (w < 0) {
+                    throw new IllegalArgumentException("Negative edge weight from " + graph.getNode(u).getName());
+                }
+                int v = graph.target(e);
+                double d = du + w;
+                if (context.isVisited(v) || d >= context.distance(v)) continue;
+                action = visitor.onRelax(u, v, e, d);
+                if (action == SearchVisitor.Action.STOP) return true;
+                if (action == SearchVisitor.Action.PRUNE) continue;
+                boolean discovered = !context.isReached(v);
+                context.setDistance(v, d);
+                context.setParent(v, u);
+                if (discovered) {
+                    action = visitor.onDiscover(v, u, d);
+                    if (action == SearchVisitor.Action.STOP) return true;
+                    if (action == SearchVisitor.Action.PRUNE) {
+                        context.visit(v);
+                        continue;
+                    }
+                }
+                frontier.insertOrDecrease(v, d);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The nodes reachable from the start node in order of distance, produced
+     * lazily: the search settles one node per element pulled, so
+     * {@code limit}, {@code takeWhile} or {@code findFirst} end it early. The
+     * search runs on a context and heap of its own.
+     * @param graph the compressed graph or digraph
+     * @param startNode the start node
+     * @return a sequential, ordered stream of the settled nodes
+     * @throws IllegalArgumentException if the start node is not in the graph;
+     *          a negative edge weight is reported when the stream reaches it
+     * @see #stream(CompressedGraph, Node, SearchContext)
+     */
+    public Stream<SettledNode<Id, Data, Metric>> stream(
+            CompressedGraph<Id, Data, Metric> graph,
+            Node<Id, Data, Metric> startNode) {
+        return stream(graph, startNode, SearchContext.of(graph));
+    }
+
+    /**
+     * The nodes reachable from the start node in order of distance, produced
+     * lazily in the given context. The context belongs to the stream until
+     * it is exhausted or abandoned. The search itself is sequential; the
+     * stream may be made parallel, in which case its spliterator hands out
+     * batches of settled nodes to other threads while the search keeps
+     * running on one.
+     * @param graph the compressed graph or digraph
+     * @param startNode the start node
+     * @param context the search state, sized for the graph
+     * @return a sequential, ordered stream of the settled nodes
+     * @throws IllegalArgumentException if the start node is not in the graph;
+     *          a negative edge weight is reported when the stream reaches it
+     */
+    public Stream<SettledNode<Id, Data, Metric>> stream(
+            CompressedGraph<Id, Data, Metric> graph,
+            Node<Id, Data, Metric> startNode,
+            SearchContext context) {
+        int source = graph.indexOf(startNode);
+        if (source < 0) {
+            throw new IllegalArgumentException("Start node must belong to the graph.");
+        }
+        return StreamSupport.stream(new Settler<>(graph, source, context, new IndexedHeap(graph.size(), this.arity)), false);
+    }
+
+    /**
+     * A Dijkstra search advanced one settled node at a time
+     */
+    private static final class Settler<Id, Data, Metric> extends Spliterators.AbstractSpliterator<SettledNode<Id, Data, Metric>> {
+        private final CompressedGraph<Id, Data, Metric> graph;
+        private final SearchContext context;
+        private final IndexedHeap frontier;
+
+        Settler(CompressedGraph<Id, Data, Metric> graph, int source, SearchContext context, IndexedHeap frontier) {
+            super(graph.size(), Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+            this.graph = graph;
+            this.context = context;
+            this.frontier = frontier;
+            context.reset();
+            context.setDistance(source, 0);
+            frontier.insertOrDecrease(source, 0);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super SettledNode<Id, Data, Metric>> action) {
+            if (this.frontier.isEmpty()) return false;
+            int u = this.frontier.poll();
+            this.context.visit(u);
+            double du = this.context.distance(u);
+            for (int e = this.graph.firstEdge(u), end = this.graph.lastEdge(u); e < end; e++) {
+                double w = this.graph.weight(e);
+                if (w < 0) {
+                    throw new IllegalArgumentException("Negative edge weight from " + this.graph.getNode(u).getName());
+                }
+                int v = this.graph.target(e);
+                double d = du + w;
+                if (d < this.context.distance(v)) {
+                    this.context.setDistance(v, d);
+                    this.context.setParent(v, u);
+                    this.frontier.insertOrDecrease(v, d);
+                }
+            }
+            action.accept(new SettledNode<>(this.graph.getNode(u), u, du, this.context.parent(u)));
+            return true;
+        }
+    }
+
+    /**
+     * All nodes within the given cost of the start node, in order of
+     * distance. A node farther than the radius is never queued, so the
+     * search stops at the boundary, and its state is kept in a
+     * {@link SparseDistanceMap} and a growable heap rather than in arrays
+     * sized for the graph, so the cost of a query is proportional to the
+     * size of the ball rather than to the size of the graph.
+     * <pre>
+     *   B_R(s) := { v | d(s, v) &lt;= R }
+     * </pre>
+     * @param graph the compressed graph or digraph
+     * @param startNode the start node
+     * @param radius the maximum distance from the start node
+     * @return the nodes within the radius, the start node first
+     * @throws IllegalArgumentException if the start node is not in the graph,
+     *          the radius is negative or NaN, or a negative edge weight is reached
+     */
+    public List<SettledNode<Id, Data, Metric>> withinRadius(
+            CompressedGraph<Id, Data, Metric> graph,
+            Node<Id, Data, Metric> startNode,
+            double radius) {
+        int source = graph.indexOf(startNode);
+        if (source < 0) {
+            throw new IllegalArgumentException("Start node must belong to the graph.");
+        }
+        if (!(radius >= 0)) {
+            throw new IllegalArgumentException("Radius must not be negative: " + radius);
+        }
+        SparseDistanceMap reached = new SparseDistanceMap();
+        Frontier frontier = new Frontier(this.arity);
+        List<SettledNode<Id, Data, Metric>> ball = new ArrayList<>();
+        reached.put(source, 0, -1);
+        frontier.add(source, 0);
+        while (!frontier.isEmpty()) {
+            double du = frontier.peekKey();
+            int u = frontier.poll();
+            // a stale entry, superseded by a shorter distance
+            if (du > reached.distance(u)) continue;
+            ball.add(new SettledNode<>(graph.getNode(u), u, du, reached.parent(u)));
+            for (int e = graph.firstEdge(u), end = graph.lastEdge(u); e < end; e++) {
+                double w = graph.weight(e);
+                if (w < 0) {
+                    throw new IllegalArgumentException("Negative edge weight from " + graph.getNode(u).getName());
+                }
+                int v = graph.target(e);
+                double d = du + w;
+                // the boundary: nothing beyond the radius is queued
+                if (d > radius || d >= reached.distance(v)) continue;
+                reached.put(v, d, u);
+                frontier.add(v, d);
+            }
+        }
+        return ball;
+    }
+
+    /**
+     * A growable d-ary min-heap of (node, distance) entries without
+     * decrease-key: a node is queued again when its distance drops and its
+     * stale entries are skipped when polled, which keeps the heap
+     * proportional to the nodes reached rather than to the graph size
+     */
+    private static final class Frontier {
+        private final int arity;
+        private int[] nodes = new int[16];
+        private double[] keys = new double[16];
+        private int size;
+
+        Frontier(int arity) { this.arity = arity; }
+
+        boolean isEmpty() { return this.size == 0; }
+
+        double peekKey() { return this.keys[0]; }
+
+        void add(int node, double key) {
+            if (this.size == this.nodes.length) {
+                this.nodes = Arrays.copyOf(this.nodes, this.size * 2);
+                this.keys = Arrays.copyOf(this.keys, this.size * 2);
+            }
+            int i = this.size++;
+            while (i > 0) {
+                int parent = (i - 1) / this.arity;
+                if (this.keys[parent] <= key) break;
+                this.nodes[i] = this.nodes[parent];
+                this.keys[i] = this.keys[parent];
+                i = parent;
+            }
+            this.nodes[i] = node;
+            this.keys[i] = key;
+        }
+
+        int poll() {
+            int top = this.nodes[0];
+            int node = this.nodes[--this.size];
+            double key = this.keys[this.size];
+            int i = 0;
+            while (true) {
+                int first = this.arity * i + 1;
+                if (first >= this.size) break;
+                int min = first;
+                for (int c = first + 1, end = Math.min(first + this.arity, this.size); c < end; c++) {
+                    if (this.keys[c] < this.keys[min]) min = c;
+                }
+                if (this.keys[min] >= key) break;
+                this.nodes[i] = this.nodes[min];
+                this.keys[i] = this.keys[min];
+                i = min;
+            }
+            this.nodes[i] = node;
+            this.keys[i] = key;
+            return top;
+        }
+    }
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * This engine keeps its tentative distances in a {@link SearchContext}
+     * owned by each query, so the graph is returned untouched.
+     * @param graph the graph
+     * @param startNode the start node
+     * @param distance the initial starting distance
+     * @return the graph
+     */
+    @Override
+    public Graph<Node<Id, Data, Metric>> initialize(
+            Graph<Node<Id, Data, Metric>> graph,
+            Node<Id, Data, Metric> startNode,
+            Distance<Metric> distance) {
+        return graph;
+    }
+
+    /**
+     * Find the node edge with the lowest numeric cost.
+     * @param nodes the list of node.
+     * @return the node {@link Edge} with the lowest weight/cost edge, or
+     *          null when the list is empty
+     * @see Distance
+     * @see Node
+     */
+    @Override
+    public Edge<Distance<Metric>, Node<Id, Data, Metric>> getMinimumCostNodeEdge(
+            List<Edge<Distance<Metric>, Node<Id, Data, Metric>>> nodes) {
+        Edge<Distance<Metric>, Node<Id, Data, Metric>> minimum = null;
+        for (Edge<Distance<Metric>, Node<Id, Data, Metric>> edge : nodes) {
+            if (minimum == null || valueOf(edge.getDistance()) < valueOf(minimum.getDistance())) {
+                minimum = edge;
+            }
+        }
+        return minimum;
+    }
+
+    /**
+     * Evaluate whether reaching the child node through the parent node is
+     * cheaper than the distance currently recorded on the child node. The
+     * child node is not updated.
+     * @param parentNodeEdge parent node
+     * @param childNodeEdge child node
+     * @return true if the path through the parent node is shorter, false otherwise
+     */
+    @Override
+    public boolean evaluateGoal(
+            Edge<Distance<Metric>, Node<Id, Data, Metric>> parentNodeEdge,
+            Edge<Distance<Metric>, Node<Id, Data, Metric>> childNodeEdge) {
+        double edgeWeight = valueOf(parentNodeEdge.getDistance()) + valueOf(childNodeEdge.getDistance());
+        return edgeWeight < valueOf(childNodeEdge.getNode().getDistance());
+    }
+
+    /**
+     * The numeric value of a distance, where an unset distance is +Infinity
+     * @param distance the distance
+     * @return the distance as a double
+     */
+    private static double valueOf(Distance<?> distance) {
+        if (distance == null || !(distance.getValue() instanceof Number)) return Double.POSITIVE_INFINITY;
+        return ((Number) distance.getValue()).doubleValue();
+    }
+}
@@ -0,0 +1,157 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package Dijkstra;
+/////////////////////////////////////////////////////////////////////
+import Graph.CompressedGraph;
+import Node.*;
+/////////////////////////////////////////////////////////////////////
+/**
+ * <pre>
+ * A lower bound on the remaining cost from a node to the target of an
+ * {@link AStar} search.
+ *
+ * A heuristic is admissible when it never overestimates the cheapest
+ * remaining cost, and consistent when h(u) &#60;= w(u, v) + h(v) for every
+ * edge. A* returns shortest paths with any admissible heuristic, and
+ * settles each node at most once with a consistent one.
+ *
+ * The coordinate heuristics read the {@link Coordinate} of each
+ * {@link Node} as a (row, column) point. They are admissible only when
+ * every edge costs at least its geometric length times the scale; a node
+ * without numeric coordinates is estimated at 0.
+ * </pre>
+ * @param <Id> a unique identifier or object identifier
+ * @param <Data> the object stored by each node
+ * @param <Metric> the numeric system of measurement of the edge weights
+ */
+@FunctionalInterface
+public interface Heuristic<Id, Data, Metric> {
+
+    /**
+     * Estimate the remaining cost from a node to the target
+     * @param graph the compressed graph being searched
+     * @param node the dense index of the node
+     * @param target the dense index of the target node
+     * @return a lower bound on the cost from the node to the target
+     */
+    double estimate(CompressedGraph<Id, Data, Metric> graph, int node, int target);
+
+    /**
+     * Scale this heuristic, e.g. by the minimum cost per unit of distance
+     * @param factor the non-negative scale
+     * @return the scaled heuristic
+     */
+    default Heuristic<Id, Data, Metric> scale(double factor) {
+        if (!(factor >= 0)) {
+            throw new IllegalArgumentException("Heuristic scale must be non-negative: " + factor);
+        }
+        return (graph, node, target) -> factor * estimate(graph, node, target);
+    }
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * The zero heuristic; A* then settles nodes exactly as Dijkstra does
+     * @param <Id> a unique identifier or object identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the numeric system of measurement of the edge weights
+     * @return the zero heuristic
+     */
+    static <Id, Data, Metric> Heuristic<Id, Data, Metric> zero() {
+        return (graph, node, target) -> 0;
+    }
+
+    /**
+     * The straight line distance, for edges that may run in any direction
+     * @param <Id> a unique identifier or object identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the numeric system of measurement of the edge weights
+     * @return the Euclidean heuristic
+     */
+    static <Id, Data, Metric> Heuristic<Id, Data, Metric> euclidean() {
+        return (graph, node, target) -> {
+            double dr = rowDelta(graph.getNode(node), graph.getNode(target));
+            double dc = columnDelta(graph.getNode(node), graph.getNode(target));
+            return Double.isNaN(dr + dc) ? 0 : Math.sqrt(dr * dr + dc * dc);
+        };
+    }
+
+    /**
+     * The taxicab distance, for grids with 4-way moves
+     * @param <Id> a unique identifier or object identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the numeric system of measurement of the edge weights
+     * @return the Manhattan heuristic
+     */
+    static <Id, Data, Metric> Heuristic<Id, Data, Metric> manhattan() {
+        return (graph, node, target) -> {
+            double dr = rowDelta(graph.getNode(node), graph.getNode(target));
+            double dc = columnDelta(graph.getNode(node), graph.getNode(target));
+            return Double.isNaN(dr + dc) ? 0 : dr + dc;
+        };
+    }
+
+    /**
+     * The octile distance, for grids with 8-way moves where a diagonal
+     * step costs the square root of 2
+     * @param <Id> a unique identifier or object identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the numeric system of measurement of the edge weights
+     * @return the octile heuristic
+     */
+    static <Id, Data, Metric> Heuristic<Id, Data, Metric> octile() {
+        return (graph, node, target) -> {
+            double dr = rowDelta(graph.getNode(node), graph.getNode(target));
+            double dc = columnDelta(graph.getNode(node), graph.getNode(target));
+            return Double.isNaN(dr + dc) ? 0 : Math.max(dr, dc) + (Math.sqrt(2) - 1) * Math.min(dr, dc);
+        };
+    }
+
+    /**
+     * The absolute row offset between two nodes
+     * @param from the first node
+     * @param to the second node
+     * @return |drow|, or NaN if either row is missing or not numeric
+     */
+    private static double rowDelta(Node<?, ?, ?> from, Node<?, ?, ?> to) {
+        if (from.getCoordinate() == null || to.getCoordinate() == null) return Double.NaN;
+        return Math.abs(valueOf(from.getCoordinate().getRow()) - valueOf(to.getCoordinate().getRow()));
+    }
+
+    /**
+     * The absolute column offset between two nodes
+     * @param from the first node
+     * @param to the second node
+     * @return |dcolumn|, or NaN if either column is missing or not numeric
+     */
+    private static double columnDelta(Node<?, ?, ?> from, Node<?, ?, ?> to) {
+        if (from.getCoordinate() == null || to.getCoordinate() == null) return Double.NaN;
+        return Math.abs(valueOf(from.getCoordinate().getColumn()) - valueOf(to.getCoordinate().getColumn()));
+    }
+
+    /**
+     * The numeric value of a coordinate component
+     * @param value the row or column
+     * @return the value as a double, or NaN if it is not a number
+     */
+    private static double valueOf(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : Double.NaN;
+    }
+}
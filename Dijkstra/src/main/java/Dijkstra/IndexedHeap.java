@@ -0,0 +1,316 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package Dijkstra;
+/////////////////////////////////////////////////////////////////////
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+/////////////////////////////////////////////////////////////////////
+/**
+ * <pre>
+ * An indexed d-ary min-heap of the node indices [0, n) keyed by a double
+ * priority, supporting decrease-key.
+ *
+ * The heap stores node indices in a flat array where the children of the
+ * slot i are the slots d*i + 1 ... d*i + d, and keeps the slot of every
+ * node so a queued node can have its key lowered in place instead of
+ * being searched for or queued a second time.
+ *
+ *   insert         O(log_d n)
+ *   decreaseKey    O(log_d n)
+ *   poll           O(d log_d n)
+ *
+ * A wider heap is shallower, which trades a few more comparisons per poll
+ * for fewer cache misses per decrease-key; 4 is a good default for road
+ * networks where decrease-key dominates.
+ * </pre>
+ */
+public final class IndexedHeap {
+    /**
+     * The default number of children of each heap slot
+     */
+    public static final int DEFAULT_ARITY = 4;
+    /**
+     * The heap reused by the searches of each thread
+     */
+    private static final ThreadLocal<IndexedHeap> LOCAL = new ThreadLocal<>();
+    /**
+     * The number of children of each heap slot
+     */
+    private final int arity;
+    /**
+     * The node held by each heap slot
+     */
+    private final int[] heap;
+    /**
+     * The heap slot of each node, or -1 when the node is not queued
+     */
+    private final int[] position;
+    /**
+     * The priority of each node
+     */
+    private final double[] keys;
+    /**
+     * The exact priority of each node queued with a long key, allocated by
+     * the first such insert; it orders nodes whose long keys round to the
+     * same double
+     */
+    private long[] exact;
+    /**
+     * The number of queued nodes
+     */
+    private int size;
+
+    /**
+     * An indexed 4-ary heap
+     * @param capacity the number of node indices the heap can hold
+     */
+    public IndexedHeap(int capacity) { this(capacity, DEFAULT_ARITY); }
+
+    /**
+     * An indexed d-ary heap
+     * @param capacity the number of node indices the heap can hold
+     * @param arity the number of children of each heap slot
+     * @throws IllegalArgumentException if the arity is less than 2
+     */
+    public IndexedHeap(int capacity, int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Heap arity must be at least 2: " + arity);
+        }
+        this.arity = arity;
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.keys = new double[capacity];
+        Arrays.fill(this.position, -1);
+    }
+
+    /**
+     * Borrow the heap of the calling thread, emptied and able to hold the
+     * given capacity. The heap is reused by every later call on the same
+     * thread, so emptying it costs only as much as the nodes the previous
+     * search left queued.
+     * @param capacity the number of node indices the heap can hold
+     * @param arity the number of children of each heap slot
+     * @return the empty heap of the calling thread
+     */
+    public static IndexedHeap local(int capacity, int arity) {
+        IndexedHeap heap = LOCAL.get();
+        if (heap == null || heap.heap.length < capacity || heap.arity != arity) {
+            heap = new IndexedHeap(capacity, arity);
+            LOCAL.set(heap);
+        } else {
+            heap.clear();
+        }
+        return heap;
+    }
+
+    /**
+     * The number of node indices the heap can hold
+     * @return the capacity of the heap
+     */
+    public int capacity() { return this.position.length; }
+
+    /**
+     * The number of children of each heap slot
+     * @return the arity of the heap
+     */
+    public int arity() { return this.arity; }
+
+    /**
+     * Is the heap empty
+     * @return true if no node is queued, false otherwise
+     */
+    public boolean isEmpty() { return this.size == 0; }
+
+    /**
+     * Get the number of queued nodes
+     * @return the number of queued nodes
+     */
+    public int size() { return this.size; }
+
+    /**
+     * Is a node queued
+     * @param node the node index
+     * @return true if the node is queued, false otherwise
+     */
+    public boolean contains(int node) { return this.position[node] >= 0; }
+
+    /**
+     * Get the priority of a queued node
+     * @param node the node index
+     * @return the priority of the node
+     */
+    public double key(int node) { return this.keys[node]; }
+
+    /**
+     * Queue a node, or lower the priority of a node already queued. A
+     * priority that is not lower than the queued one is ignored.
+     * @param node the node index
+     * @param key the priority of the node
+     */
+    public void insertOrDecrease(int node, double key) {
+        if (this.exact != null) this.exact[node] = 0;
+        int slot = this.position[node];
+        if (slot < 0) {
+            this.keys[node] = key;
+            siftUp(node, this.size++);
+        } else if (key < this.keys[node]) {
+            this.keys[node] = key;
+            siftUp(node, slot);
+        }
+    }
+
+    /**
+     * Queue a node, or lower the priority of a node already queued, by an
+     * exact long priority. Long priorities above 2^53 that round to the
+     * same double are still ordered exactly. A search must queue all its
+     * nodes either by long or by double priorities.
+     * @param node the node index
+     * @param key the priority of the node
+     */
+    public void insertOrDecreaseExact(int node, long key) {
+        if (this.exact == null) this.exact = new long[this.keys.length];
+        int slot = this.position[node];
+        if (slot < 0 || key < this.exact[node]) {
+            this.keys[node] = key;
+            this.exact[node] = key;
+            siftUp(node, slot < 0 ? this.size++ : slot);
+        }
+    }
+
+    /**
+     * Queue a node, or change the priority of a node already queued in
+     * either direction.
+     * @param node the node index
+     * @param key the priority of the node
+     */
+    public void update(int node, double key) {
+        if (this.exact != null) this.exact[node] = 0;
+        int slot = this.position[node];
+        if (slot < 0) {
+            this.keys[node] = key;
+            siftUp(node, this.size++);
+        } else if (key < this.keys[node]) {
+            this.keys[node] = key;
+            siftUp(node, slot);
+        } else if (key > this.keys[node]) {
+            this.keys[node] = key;
+            siftDown(node, slot);
+        }
+    }
+
+    /**
+     * Get the node with the minimum priority without removing it
+     * @return the node index with the minimum priority
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int peek() {
+        if (this.size == 0) throw new NoSuchElementException();
+        return this.heap[0];
+    }
+
+    /**
+     * Get the minimum priority
+     * @return the minimum priority, or +Infinity when the heap is empty
+     */
+    public double peekKey() {
+        return this.size == 0 ? Double.POSITIVE_INFINITY : this.keys[this.heap[0]];
+    }
+
+    /**
+     * Remove the node with the minimum priority
+     * @return the node index with the minimum priority
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int poll() {
+        if (this.size == 0) throw new NoSuchElementException();
+        int top = this.heap[0];
+        this.position[top] = -1;
+        if (--this.size > 0) {
+            siftDown(this.heap[this.size], 0);
+        }
+        return top;
+    }
+
+    /**
+     * Remove every queued node, in time proportional to the number queued
+     */
+    public void clear() {
+        for (int i = 0; i < this.size; i++) {
+            this.position[this.heap[i]] = -1;
+        }
+        this.size = 0;
+    }
+
+    /**
+     * Move a node towards the root until its parent has a smaller priority
+     * @param node the node index
+     * @param slot the slot to start from
+     */
+    private void siftUp(int node, int slot) {
+        while (slot > 0) {
+            int parentSlot = (slot - 1) / this.arity;
+            int parent = this.heap[parentSlot];
+            if (!less(node, parent)) break;
+            this.heap[slot] = parent;
+            this.position[parent] = slot;
+            slot = parentSlot;
+        }
+        this.heap[slot] = node;
+        this.position[node] = slot;
+    }
+
+    /**
+     * Move a node towards the leaves until no child has a smaller priority
+     * @param node the node index
+     * @param slot the slot to start from
+     */
+    private void siftDown(int node, int slot) {
+        while (true) {
+            int first = slot * this.arity + 1;
+            if (first >= this.size) break;
+            int last = Math.min(first + this.arity, this.size);
+            int child = this.heap[first];
+            for (int c = first + 1; c < last; c++) {
+                int candidate = this.heap[c];
+                if (less(candidate, child)) child = candidate;
+            }
+            if (!less(child, node)) break;
+            int childSlot = this.position[child];
+            this.heap[slot] = child;
+            this.position[child] = slot;
+            slot = childSlot;
+        }
+        this.heap[slot] = node;
+        this.position[node] = slot;
+    }
+
+    /**
+     * Does one node have a strictly smaller priority than another
+     * @param a the first node index
+     * @param b the second node index
+     * @return true if a precedes b
+     */
+    private boolean less(int a, int b) {
+        double ka = this.keys[a], kb = this.keys[b];
+        return ka < kb || ka == kb && this.exact != null && this.exact[a] < this.exact[b];
+    }
+}
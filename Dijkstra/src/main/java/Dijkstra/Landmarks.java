@@ -0,0 +1,415 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package Dijkstra;
+/////////////////////////////////////////////////////////////////////
+import Graph.CompressedGraph;
+import Graph.Graph;
+import Graph.ReverseIndex;
+import Graph.SearchContext;
+import Node.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.Arrays;
+import java.util.Random;
+/////////////////////////////////////////////////////////////////////
+/**
+ * <pre>
+ * ALT: landmark distance tables used as an {@link AStar} {@link Heuristic}.
+ *
+ * For a landmark L the triangle inequality bounds the distance from any
+ * node u to the target z from below, in both directions:
+ *
+ *   d(u, z) &#62;= d(L, z) - d(L, u)
+ *   d(u, z) &#62;= d(u, L) - d(z, L)
+ *
+ * and the estimate is the largest such bound over all landmarks. It is
+ * consistent, and needs neither coordinates nor a metric embedding, only
+ * one forward and one backward Dijkstra search per landmark.
+ *
+ * Landmarks are chosen by one of two {@link Selection} strategies:
+ *
+ *   FARTHEST  each landmark is the reachable node farthest from those
+ *             already chosen
+ *   AVOID     each landmark is the leaf reached by descending a shortest
+ *             path tree towards the subtree whose current bounds are the
+ *             weakest, skipping subtrees that already hold a landmark
+ *
+ * The tables are float arrays in node-major order, so the k distances of
+ * one node are adjacent and an estimate reads two short runs of memory.
+ * 16 landmarks cost 128 bytes per node. Floats are rounded, so each
+ * estimate is shaded down by a few ulps to stay a lower bound.
+ * </pre>
+ * @param <Id> a unique identifier or object identifier
+ * @param <Data> the object stored by each node
+ * @param <Metric> the numeric system of measurement of the edge weights
+ */
+public final class Landmarks<Id, Data, Metric> implements Heuristic<Id, Data, Metric> {
+    ///////////////////////////////////////////////////////////////////////
+    private static final Logger log = LoggerFactory.getLogger(Landmarks.class);
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * How landmarks are chosen
+     */
+    public enum Selection {
+        /**
+         * Each landmark is the reachable node farthest from the chosen ones
+         */
+        FARTHEST,
+        /**
+         * Each landmark lies in the shortest path subtree with the weakest bounds
+         */
+        AVOID
+    }
+
+    /**
+     * The relative error allowed for the rounding of two float distances
+     */
+    private static final double ROUNDING = 0x1p-22;
+    /**
+     * The graph the tables were computed on
+     */
+    private final CompressedGraph<Id, Data, Metric> graph;
+    /**
+     * The node index of each landmark
+     */
+    private final int[] landmarks;
+    /**
+     * d(L_i, u) at [u * k + i]
+     */
+    private final float[] from;
+    /**
+     * d(u, L_i) at [u * k + i]
+     */
+    private final float[] to;
+
+    /**
+     * Landmark distance tables
+     */
+    private Landmarks(CompressedGraph<Id, Data, Metric> graph, int[] landmarks, float[] from, float[] to) {
+        this.graph = graph;
+        this.landmarks = landmarks;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Freeze a graph and choose its landmarks
+     * @param graph the graph whose edge weights are {@link Number}s
+     * @param count the number of landmarks
+     * @param selection how landmarks are chosen
+     * @param <Id> a unique identifier or object identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the numeric system of measurement of the edge weights
+     * @return the landmark tables of the graph
+     * @throws IllegalArgumentException if an edge weight is negative or not
+     *          a number, or the count is not in [1, |V|]
+     */
+    public static <Id, Data, Metric> Landmarks<Id, Data, Metric> of(
+            Graph<Node<Id, Data, Metric>> graph, int count, Selection selection) {
+        return of(CompressedGraph.of(graph), count, selection, new Random(0));
+    }
+
+    /**
+     * Choose the landmarks of a compressed graph and compute their tables
+     * @param graph the compressed graph
+     * @param count the number of landmarks
+     * @param selection how landmarks are chosen
+     * @param random the source of the first landmark and the tree roots
+     * @param <Id> a unique identifier or object identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the numeric system of measurement of the edge weights
+     * @return the landmark tables of the graph
+     * @throws IllegalArgumentException if an edge weight is negative or the
+     *          count is not in [1, |V|]
+     */
+    public static <Id, Data, Metric> Landmarks<Id, Data, Metric> of(
+            CompressedGraph<Id, Data, Metric> graph, int count, Selection selection, Random random) {
+        int n = graph.size();
+        if (count < 1 || count > n) {
+            throw new IllegalArgumentException("Landmark count must be in [1, " + n + "]: " + count);
+        }
+        long start = System.nanoTime();
+        Tables tables = new Tables(graph, count);
+        for (int i = 0; i < count; i++) {
+            int landmark = selection == Selection.FARTHEST
+                    ? tables.farthest(random)
+                    : tables.avoid(random);
+            tables.add(landmark);
+        }
+        log.debug("Chose {} {} landmarks for {} nodes in {} ms", count, selection, n,
+                (System.nanoTime() - start) / 1_000_000);
+        return new Landmarks<>(graph, tables.landmarks, tables.from, tables.to);
+    }
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * Get the graph the tables were computed on
+     * @return the compressed graph
+     */
+    public CompressedGraph<Id, Data, Metric> getGraph() { return this.graph; }
+
+    /**
+     * The number of landmarks
+     * @return the number of landmarks
+     */
+    public int size() { return this.landmarks.length; }
+
+    /**
+     * The node index of a landmark
+     * @param i the landmark, in [0, size())
+     * @return the node index of the landmark
+     */
+    public int landmark(int i) { return this.landmarks[i]; }
+
+    /**
+     * The distance from a landmark to a node
+     * @param i the landmark, in [0, size())
+     * @param node the node index
+     * @return d(L_i, node), or +Infinity if the node is unreachable
+     */
+    public double distanceFrom(int i, int node) { return this.from[node * this.landmarks.length + i]; }
+
+    /**
+     * The distance from a node to a landmark
+     * @param i the landmark, in [0, size())
+     * @param node the node index
+     * @return d(node, L_i), or +Infinity if the landmark is unreachable
+     */
+    public double distanceTo(int i, int node) { return this.to[node * this.landmarks.length + i]; }
+
+    /**
+     * The largest triangle inequality bound over all landmarks
+     * @param graph the graph the tables were computed on
+     * @param node the dense index of the node
+     * @param target the dense index of the target node
+     * @return a lower bound on d(node, target), +Infinity if the target
+     *          cannot be reached from the node
+     * @throws IllegalArgumentException if the tables belong to another graph
+     */
+    @Override
+    public double estimate(CompressedGraph<Id, Data, Metric> graph, int node, int target) {
+        if (graph != this.graph) {
+            throw new IllegalArgumentException("The landmarks were computed on another graph.");
+        }
+        int k = this.landmarks.length;
+        int u = node * k;
+        int z = target * k;
+        double bound = 0;
+        double magnitude = 0;
+        for (int i = 0; i < k; i++) {
+            // a difference of two infinities is NaN and never compares greater
+            double forward = (double) this.from[z + i] - this.from[u + i];
+            if (forward > bound) {
+                bound = forward;
+                magnitude = (double) this.from[z + i] + this.from[u + i];
+            }
+            double backward = (double) this.to[u + i] - this.to[z + i];
+            if (backward > bound) {
+                bound = backward;
+                magnitude = (double) this.to[u + i] + this.to[z + i];
+            }
+        }
+        if (bound == Double.POSITIVE_INFINITY) return bound;
+        return Math.max(0, bound - ROUNDING * magnitude);
+    }
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * The tables as they are filled one landmark at a time
+     */
+    private static final class Tables {
+        private final CompressedGraph<?, ?, ?> graph;
+        private final ReverseIndex reverse;
+        private final int k;
+        private final int[] landmarks;
+        private final float[] from;
+        private final float[] to;
+        private int chosen;
+        private final boolean[] isLandmark;
+        private final SearchContext context;
+        private final IndexedHeap frontier;
+        /**
+         * The nodes in the order the last search settled them
+         */
+        private final int[] settled;
+        private int settledCount;
+
+        Tables(CompressedGraph<?, ?, ?> graph, int k) {
+            int n = graph.size();
+            this.graph = graph;
+            this.reverse = graph.reverse();
+            this.k = k;
+            this.landmarks = new int[k];
+            this.from = new float[n * k];
+            this.to = new float[n * k];
+            this.isLandmark = new boolean[n];
+            this.context = new SearchContext(n);
+            this.frontier = new IndexedHeap(n);
+            this.settled = new int[n];
+        }
+
+        /**
+         * Record a landmark and fill its columns of both tables
+         */
+        void add(int landmark) {
+            int i = this.chosen++;
+            this.landmarks[i] = landmark;
+            this.isLandmark[landmark] = true;
+            search(landmark, false);
+            for (int u = 0; u < this.isLandmark.length; u++) {
+                this.from[u * this.k + i] = (float) this.context.distance(u);
+            }
+            search(landmark, true);
+            for (int u = 0; u < this.isLandmark.length; u++) {
+                this.to[u * this.k + i] = (float) this.context.distance(u);
+            }
+        }
+
+        /**
+         * The reachable node whose nearest chosen landmark is farthest away
+         */
+        int farthest(Random random) {
+            if (this.chosen == 0) {
+                // start from the node farthest from a random one
+                search(random.nextInt(this.isLandmark.length), false);
+                return this.settled[this.settledCount - 1];
+            }
+            int best = -1;
+            double bestDistance = -1;
+            for (int u = 0; u < this.isLandmark.length; u++) {
+                if (this.isLandmark[u]) continue;
+                double nearest = Double.POSITIVE_INFINITY;
+                for (int i = 0; i < this.chosen; i++) {
+                    double d = Math.min(this.from[u * this.k + i], this.to[u * this.k + i]);
+                    nearest = Math.min(nearest, d);
+                }
+                if (nearest == Double.POSITIVE_INFINITY) {
+                    // not connected to any landmark yet, so it adds the most
+                    return u;
+                }
+                if (nearest > bestDistance) {
+                    bestDistance = nearest;
+                    best = u;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * The leaf reached by descending a shortest path tree from a random
+         * root towards the subtree with the largest total bound gap
+         */
+        int avoid(Random random) {
+            int n = this.isLandmark.length;
+            int root = random.nextInt(n);
+            search(root, false);
+            // the gap between the true distance from the root and its current lower bound
+            double[] size = new double[n];
+            boolean[] covered = new boolean[n];
+            for (int j = this.settledCount - 1; j >= 0; j--) {
+                int v = this.settled[j];
+                double gap = this.context.distance(v) - bound(root, v);
+                size[v] += gap;
+                covered[v] |= this.isLandmark[v];
+                int parent = this.context.parent(v);
+                if (parent >= 0) {
+                    size[parent] += size[v];
+                    covered[parent] |= covered[v];
+                }
+            }
+            for (int j = 0; j < this.settledCount; j++) {
+                if (covered[this.settled[j]]) size[this.settled[j]] = 0;
+            }
+            // the children of each node in the tree, as a compressed list
+            int[] offsets = new int[n + 1];
+            for (int j = 0; j < this.settledCount; j++) {
+                int parent = this.context.parent(this.settled[j]);
+                if (parent >= 0) offsets[parent + 1]++;
+            }
+            for (int v = 0; v < n; v++) offsets[v + 1] += offsets[v];
+            int[] children = new int[offsets[n]];
+            int[] next = Arrays.copyOf(offsets, n);
+            for (int j = 0; j < this.settledCount; j++) {
+                int parent = this.context.parent(this.settled[j]);
+                if (parent >= 0) children[next[parent]++] = this.settled[j];
+            }
+            int v = root;
+            while (true) {
+                int heaviest = -1;
+                for (int c = offsets[v]; c < offsets[v + 1]; c++) {
+                    if (heaviest < 0 || size[children[c]] > size[heaviest]) heaviest = children[c];
+                }
+                if (heaviest < 0 || size[heaviest] <= 0) break;
+                v = heaviest;
+            }
+            if (!this.isLandmark[v]) return v;
+            // every subtree is covered; fall back to the farthest node
+            return farthest(random);
+        }
+
+        /**
+         * The lower bound on d(u, v) from the landmarks chosen so far
+         */
+        double bound(int u, int v) {
+            double bound = 0;
+            for (int i = 0; i < this.chosen; i++) {
+                double forward = (double) this.from[v * this.k + i] - this.from[u * this.k + i];
+                if (forward > bound && forward != Double.POSITIVE_INFINITY) bound = forward;
+                double backward = (double) this.to[u * this.k + i] - this.to[v * this.k + i];
+                if (backward > bound && backward != Double.POSITIVE_INFINITY) bound = backward;
+            }
+            return bound;
+        }
+
+        /**
+         * A full Dijkstra search from a node, forward over the outgoing
+         * edges or backward over the incoming ones
+         */
+        void search(int source, boolean backward) {
+            SearchContext context = this.context;
+            IndexedHeap frontier = this.frontier;
+            context.reset();
+            frontier.clear();
+            this.settledCount = 0;
+            context.setDistance(source, 0);
+            frontier.insertOrDecrease(source, 0);
+            while (!frontier.isEmpty()) {
+                int u = frontier.poll();
+                this.settled[this.settledCount++] = u;
+                double du = context.distance(u);
+                int first = backward ? this.reverse.firstEdge(u) : this.graph.firstEdge(u);
+                int last = backward ? this.reverse.lastEdge(u) : this.graph.lastEdge(u);
+                for (int e = first; e < last; e++) {
+                    int v = backward ? this.reverse.source(e) : this.graph.target(e);
+                    double w = this.graph.weight(backward ? this.reverse.edge(e) : e);
+                    if (w < 0) {
+                        throw new IllegalArgumentException("Negative edge weight into " + this.graph.getNode(v).getName());
+                    }
+                    double d = du + w;
+                    if (d < context.distance(v)) {
+                        context.setDistance(v, d);
+                        context.setParent(v, u);
+                        frontier.insertOrDecrease(v, d);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package Dijkstra;
+/////////////////////////////////////////////////////////////////////
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+/////////////////////////////////////////////////////////////////////
+/**
+ * <pre>
+ * A monotone radix heap for non-negative integer priorities.
+ *
+ * An entry with priority k is kept in the bucket numbered by the highest
+ * bit in which k differs from the last polled priority L:
+ *
+ *   bucket(k) := 64 - numberOfLeadingZeros(k xor L)
+ *
+ * Bucket 0 holds the entries equal to L. When it runs dry, the lowest
+ * non-empty bucket is emptied into lower ones around its minimum, so
+ * each entry moves down at most 64 times, whatever the range of the
+ * priorities. This suits integer weights too large for a
+ * {@link DialQueue}.
+ *
+ * Lowering a distance queues the node again; the stale entry is polled
+ * later with its old priority and the caller skips it.
+ * </pre>
+ */
+public final class RadixHeap {
+    /**
+     * The heap reused by the searches of each thread
+     */
+    private static final ThreadLocal<RadixHeap> LOCAL = ThreadLocal.withInitial(RadixHeap::new);
+    /**
+     * The nodes of each bucket
+     */
+    private final int[][] nodes = new int[65][];
+    /**
+     * The priorities of each bucket
+     */
+    private final long[][] keys = new long[65][];
+    /**
+     * The number of entries of each bucket
+     */
+    private final int[] sizes = new int[65];
+    /**
+     * The last polled priority
+     */
+    private long last;
+    /**
+     * The number of entries, stale ones included
+     */
+    private int size;
+
+    /**
+     * Borrow the heap of the calling thread, emptied
+     * @return the empty heap of the calling thread
+     */
+    public static RadixHeap local() {
+        RadixHeap heap = LOCAL.get();
+        heap.clear();
+        return heap;
+    }
+
+    /**
+     * Is the heap empty
+     * @return true if no entry is queued, false otherwise
+     */
+    public boolean isEmpty() { return this.size == 0; }
+
+    /**
+     * Queue a node
+     * @param node the node index
+     * @param key the priority, not below {@link #last()}
+     * @throws IllegalArgumentException if the priority is below the last polled one
+     */
+    public void add(int node, long key) {
+        if (key < this.last) {
+            throw new IllegalArgumentException("Priority " + key + " is below the last polled " + this.last);
+        }
+        put(64 - Long.numberOfLeadingZeros(key ^ this.last), node, key);
+        this.size++;
+    }
+
+    /**
+     * Remove an entry with the smallest priority
+     * @return the node index of the entry
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int poll() {
+        if (this.size == 0) throw new NoSuchElementException();
+        if (this.sizes[0] == 0) {
+            int b = 1;
+            while (this.sizes[b] == 0) b++;
+            // the new minimum splits the bucket into lower ones
+            long[] keys = this.keys[b];
+            int[] nodes = this.nodes[b];
+            int count = this.sizes[b];
+            long min = keys[0];
+            for (int i = 1; i < count; i++) min = Math.min(min, keys[i]);
+            this.last = min;
+            this.sizes[b] = 0;
+            for (int i = 0; i < count; i++) {
+                put(64 - Long.numberOfLeadingZeros(keys[i] ^ min), nodes[i], keys[i]);
+            }
+        }
+        this.size--;
+        return this.nodes[0][--this.sizes[0]];
+    }
+
+    /**
+     * The last polled priority
+     * @return the priority of the entry last polled, or 0
+     */
+    public long last() { return this.last; }
+
+    /**
+     * Remove every entry and reset the last polled priority to 0
+     */
+    public void clear() {
+        Arrays.fill(this.sizes, 0);
+        this.last = 0;
+        this.size = 0;
+    }
+
+    private void put(int b, int node, long key) {
+        int[] nodes = this.nodes[b];
+        if (nodes == null) {
+            nodes = this.nodes[b] = new int[4];
+            this.keys[b] = new long[4];
+        } else if (this.sizes[b] == nodes.length) {
+            nodes = this.nodes[b] = Arrays.copyOf(nodes, nodes.length * 2);
+            this.keys[b] = Arrays.copyOf(this.keys[b], nodes.length);
+        }
+        nodes[this.sizes[b]] = node;
+        this.keys[b][this.sizes[b]++] = key;
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package Dijkstra;
+/////////////////////////////////////////////////////////////////////
+import Graph.CompressedGraph;
+import Graph.Path;
+import Node.*;
+/////////////////////////////////////////////////////////////////////
+/**
+ * <pre>
+ * The shortest distance from one start node to every node of a
+ * {@link CompressedGraph}, together with the parent of each node on a
+ * shortest path. Unreached nodes are at +Infinity with parent -1.
+ *
+ * The tree is read-only once built and may be shared between threads.
+ * </pre>
+ * @param <Id> a unique identifier or object identifier
+ * @param <Data> the object stored by each node
+ * @param <Metric> the numeric system of measurement of the edge weights
+ */
+public final class ShortestPathTree<Id, Data, Metric> {
+    /**
+     * The graph that was searched
+     */
+    private final CompressedGraph<Id, Data, Metric> graph;
+    /**
+     * The index of the start node
+     */
+    private final int source;
+    /**
+     * The shortest distance of each node from the start node
+     */
+    private final double[] distances;
+    /**
+     * The parent of each node on a shortest path, or -1
+     */
+    private final int[] parents;
+
+    /**
+     * A shortest path tree
+     * @param graph the graph that was searched
+     * @param source the index of the start node
+     * @param distances the shortest distance of each node, adopted without copying
+     * @param parents the parent of each node, adopted without copying
+     */
+    ShortestPathTree(CompressedGraph<Id, Data, Metric> graph, int source, double[] distances, int[] parents) {
+        this.graph = graph;
+        this.source = source;
+        this.distances = distances;
+        this.parents = parents;
+    }
+
+    /**
+     * Get the graph that was searched
+     * @return the compressed graph
+     */
+    public CompressedGraph<Id, Data, Metric> getGraph() { return this.graph; }
+
+    /**
+     * The root of the tree
+     * @return the index of the start node
+     */
+    public int source() { return this.source; }
+
+    /**
+     * The shortest distance of a node from the start node
+     * @param node the node index
+     * @return the distance, or +Infinity if the node is unreachable
+     */
+    public double distance(int node) { return this.distances[node]; }
+
+    /**
+     * The parent of a node on a shortest path from the start node
+     * @param node the node index
+     * @return the parent index, or -1 for the start node and unreached nodes
+     */
+    public int parent(int node) { return this.parents[node]; }
+
+    /**
+     * Is the node reachable from the start node
+     * @param node the node index
+     * @return true if the node has a finite distance, false otherwise
+     */
+    public boolean isReached(int node) { return this.distances[node] != Double.POSITIVE_INFINITY; }
+
+    /**
+     * Back up from a node to the start node through the parents.
+     * @param node the node to back up from
+     * @return an immutable {@link Path} from the node back to the start
+     * node, or the empty path if the node was not reached.
+     * @throws IllegalArgumentException if the node is not in the graph
+     */
+    public Path<Id, Data, Metric> path(Node<Id, Data, Metric> node) {
+        int v = this.graph.indexOf(node);
+        if (v < 0) {
+            throw new IllegalArgumentException("The node does not belong to the graph.");
+        }
+        if (!isReached(v)) return Path.empty();
+        return Path.of(this.graph, v, p -> this.parents[p], this.distances[v]);
+    }
+}
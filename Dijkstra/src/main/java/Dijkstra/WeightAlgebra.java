@@ -0,0 +1,238 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package Dijkstra;
+/////////////////////////////////////////////////////////////////////
+import java.io.Serializable;
+import java.util.Comparator;
+/////////////////////////////////////////////////////////////////////
+/**
+ * <pre>
+ * The weight algebra of a shortest path search: how path costs of some
+ * Metric start, grow and are ordered.
+ *
+ *   zero()          := the cost of the empty path, L(a)
+ *   infinity()      := the cost of an unreachable node, absorbing for combine
+ *   combine(x, w)   := the cost of a path of cost x extended by an edge of weight w
+ *   compare(x, y)   := the order in which tentative costs are settled
+ *
+ * Dijkstra's algorithm is correct for any such algebra whose combine never
+ * makes a path cheaper than its prefix, e.g. non-negative sums.
+ *
+ * {@link #ints()}, {@link #longs()} and {@link #doubles()} are final
+ * classes with primitive overloads of each operation, so a loop that holds
+ * one in a final field calls a single, inlinable implementation; their sums
+ * saturate at infinity rather than overflow.
+ * </pre>
+ * @param <Metric> the system of measurement of the edge weights
+ */
+public interface WeightAlgebra<Metric> extends Comparator<Metric>, Serializable {
+
+    /**
+     * The cost of the empty path
+     * @return the identity of {@link #combine(Object, Object)}
+     */
+    Metric zero();
+
+    /**
+     * The cost of an unreachable node
+     * @return a cost that compares above every reachable cost
+     */
+    Metric infinity();
+
+    /**
+     * Extend a path by an edge
+     * @param cost the cost of the path
+     * @param weight the weight of the edge
+     * @return the cost of the extended path
+     */
+    Metric combine(Metric cost, Metric weight);
+
+    /**
+     * Order two costs
+     * @param x the first cost
+     * @param y the second cost
+     * @return a negative number, zero or a positive number as x is cheaper
+     * than, as costly as or costlier than y
+     */
+    @Override
+    int compare(Metric x, Metric y);
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * Sums of int weights, with {@link Integer#MAX_VALUE} as infinity
+     * @return the int algebra
+     */
+    static IntWeights ints() { return IntWeights.INSTANCE; }
+
+    /**
+     * Sums of long weights, with {@link Long#MAX_VALUE} as infinity
+     * @return the long algebra
+     */
+    static LongWeights longs() { return LongWeights.INSTANCE; }
+
+    /**
+     * Sums of double weights, with {@link Double#POSITIVE_INFINITY} as infinity
+     * @return the double algebra
+     */
+    static DoubleWeights doubles() { return DoubleWeights.INSTANCE; }
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * Saturating sums of int weights
+     */
+    final class IntWeights implements WeightAlgebra<Integer> {
+        private static final long serialVersionUID = 1L;
+        private static final IntWeights INSTANCE = new IntWeights();
+        /**
+         * The cost of an unreachable node
+         */
+        public static final int INFINITY = Integer.MAX_VALUE;
+
+        private IntWeights() {}
+
+        /**
+         * Extend a path by an edge
+         * @param cost the cost of the path
+         * @param weight the weight of the edge
+         * @return the sum, clamped to the int range, or {@link #INFINITY} if either is
+         */
+        public int combine(int cost, int weight) {
+            if (cost == INFINITY || weight == INFINITY) return INFINITY;
+            long sum = (long) cost + weight;
+            return sum >= INFINITY ? INFINITY : (int) Math.max(sum, Integer.MIN_VALUE);
+        }
+
+        /**
+         * Order two costs
+         * @param x the first cost
+         * @param y the second cost
+         * @return {@link Integer#compare(int, int)}
+         */
+        public int compare(int x, int y) { return Integer.compare(x, y); }
+
+        @Override
+        public Integer zero() { return 0; }
+
+        @Override
+        public Integer infinity() { return INFINITY; }
+
+        @Override
+        public Integer combine(Integer cost, Integer weight) { return combine(cost.intValue(), weight.intValue()); }
+
+        @Override
+        public int compare(Integer x, Integer y) { return compare(x.intValue(), y.intValue()); }
+
+        private Object readResolve() { return INSTANCE; }
+    }
+
+    /**
+     * Saturating sums of long weights
+     */
+    final class LongWeights implements WeightAlgebra<Long> {
+        private static final long serialVersionUID = 1L;
+        private static final LongWeights INSTANCE = new LongWeights();
+        /**
+         * The cost of an unreachable node
+         */
+        public static final long INFINITY = Long.MAX_VALUE;
+
+        private LongWeights() {}
+
+        /**
+         * Extend a path by an edge
+         * @param cost the cost of the path
+         * @param weight the weight of the edge
+         * @return the sum, clamped to the long range, or {@link #INFINITY} if either is
+         */
+        public long combine(long cost, long weight) {
+            if (cost == INFINITY || weight == INFINITY) return INFINITY;
+            long sum = cost + weight;
+            // the sum overflowed when it lost the sign both operands share
+            if (((cost ^ sum) & (weight ^ sum)) < 0) return cost < 0 ? Long.MIN_VALUE : INFINITY;
+            return sum;
+        }
+
+        /**
+         * Order two costs
+         * @param x the first cost
+         * @param y the second cost
+         * @return {@link Long#compare(long, long)}
+         */
+        public int compare(long x, long y) { return Long.compare(x, y); }
+
+        @Override
+        public Long zero() { return 0L; }
+
+        @Override
+        public Long infinity() { return INFINITY; }
+
+        @Override
+        public Long combine(Long cost, Long weight) { return combine(cost.longValue(), weight.longValue()); }
+
+        @Override
+        public int compare(Long x, Long y) { return compare(x.longValue(), y.longValue()); }
+
+        private Object readResolve() { return INSTANCE; }
+    }
+
+    /**
+     * Sums of double weights
+     */
+    final class DoubleWeights implements WeightAlgebra<Double> {
+        private static final long serialVersionUID = 1L;
+        private static final DoubleWeights INSTANCE = new DoubleWeights();
+        /**
+         * The cost of an unreachable node
+         */
+        public static final double INFINITY = Double.POSITIVE_INFINITY;
+
+        private DoubleWeights() {}
+
+        /**
+         * Extend a path by an edge
+         * @param cost the cost of the path
+         * @param weight the weight of the edge
+         * @return the sum, {@link #INFINITY} if either is
+         */
+        public double combine(double cost, double weight) { return cost + weight; }
+
+        /**
+         * Order two costs
+         * @param x the first cost
+         * @param y the second cost
+         * @return {@link Double#compare(double, double)}
+         */
+        public int compare(double x, double y) { return Double.compare(x, y); }
+
+        @Override
+        public Double zero() { return 0.0; }
+
+        @Override
+        public Double infinity() { return INFINITY; }
+
+        @Override
+        public Double combine(Double cost, Double weight) { return combine(cost.doubleValue(), weight.doubleValue()); }
+
+        @Override
+        public int compare(Double x, Double y) { return compare(x.doubleValue(), y.doubleValue()); }
+
+        private Object readResolve() { return INSTANCE; }
+    }
+}
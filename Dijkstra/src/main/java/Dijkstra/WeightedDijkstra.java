@@ -0,0 +1,92 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package Dijkstra;
+/////////////////////////////////////////////////////////////////////
+import Graph.CompressedGraph;
+import Graph.Graph;
+import Graph.Path;
+import Node.Distance;
+import Node.Node;
+/////////////////////////////////////////////////////////////////////
+/**
+ * <pre>
+ * Dijkstra's algorithm over node metrics of any type, combined and
+ * compared by a {@link WeightAlgebra} instead of casts.
+ *
+ *   new WeightedDijkstra&#60;String, String, Long&#62;(WeightAlgebra.longs())
+ *   new WeightedDijkstra&#60;String, String, Double&#62;(WeightAlgebra.doubles())
+ *
+ * With {@link WeightAlgebra#ints()}, {@link WeightAlgebra#longs()} or
+ * {@link WeightAlgebra#doubles()} the {@link Graph} based search
+ * freezes the graph into a primitive weighted {@link CompressedGraph} of
+ * the same width and relaxes unboxed distances with the primitive combine
+ * of the algebra: saturating ints, saturating exact longs or doubles, so
+ * a cost comes out the same as from the default hooks, without touching
+ * the {@link Node} objects. With any other algebra it runs the default
+ * hooks, which record tentative distances on the nodes themselves.
+ * </pre>
+ * @param <Id> a unique identifier or object identifier
+ * @param <Data> the object stored by each node
+ * @param <Metric> the system of measurement of the edge weights
+ */
+public class WeightedDijkstra<Id, Data, Metric> extends DijkstraAbstract<Id, Data, Metric> {
+
+    /**
+     * Dijkstra's algorithm over a weight algebra
+     * @param weights the weight algebra of the metric
+     * @throws IllegalArgumentException if the algebra is null
+     */
+    public WeightedDijkstra(WeightAlgebra<Metric> weights) {
+        super(weights);
+    }
+
+    /**
+     * Calculates the shortest path from the start node to the destination
+     * node. The graph is frozen on every call; callers issuing many queries
+     * against the same graph should freeze it once and use
+     * {@link #calculateShortestPath(CompressedGraph, Node, Node)}.
+     * @param graph the graph or digraph
+     * @param distance unused for the primitive algebras, whose start node is
+     *                 always at distance 0
+     * @param startNode the start node
+     * @param destinationNode the destination node
+     * @return an immutable {@link Path} from the destination node back
+     * to the start node, or the empty path if the destination is unreachable.
+     */
+    @Override
+    public Path<Id, Data, Metric> calculateShortestPath(
+            Graph<Node<Id, Data, Metric>> graph,
+            Distance<Metric> distance,
+            Node<Id, Data, Metric> startNode,
+            Node<Id, Data, Metric> destinationNode) {
+        if (this.weights instanceof WeightAlgebra.IntWeights) {
+            return calculateShortestPath(CompressedGraph.ofInt(graph), startNode, destinationNode);
+        }
+        if (this.weights instanceof WeightAlgebra.LongWeights) {
+            return calculateShortestPath(CompressedGraph.ofLong(graph), startNode, destinationNode);
+        }
+        if (this.weights instanceof WeightAlgebra.DoubleWeights) {
+            return calculateShortestPath(CompressedGraph.of(graph), startNode, destinationNode);
+        }
+        return super.calculateShortestPath(graph, distance, startNode, destinationNode);
+    }
+}
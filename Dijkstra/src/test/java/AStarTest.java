@@ -0,0 +1,110 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+import Dijkstra.AStar;
+import Dijkstra.HeapDijkstra;
+import Dijkstra.Heuristic;
+import Graph.*;
+import Node.*;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+@Slf4j
+public class AStarTest {
+
+    private static final int SIDE = 80;
+
+    @Test
+    public void aStarSettlesFewerNodesTest() {
+        Random random = new Random(11);
+        CompressedGraph<Object,Object,Object> grid = CompressedGraph.of(grid(random, false));
+        Node<Object,Object,Object> start = grid.getNode(cell(SIDE / 2, 0));
+        Node<Object,Object,Object> destination = grid.getNode(cell(SIDE / 2, SIDE - 1));
+
+        SearchContext dijkstraContext = SearchContext.of(grid);
+        List<Node<Object,Object,Object>> expected = new HeapDijkstra<Object,Object,Object>()
+                .calculateShortestPath(grid, start, destination, dijkstraContext);
+        SearchContext aStarContext = SearchContext.of(grid);
+        List<Node<Object,Object,Object>> results = new AStar<Object,Object,Object>(Heuristic.manhattan())
+                .calculateShortestPath(grid, start, destination, aStarContext);
+
+        int dijkstraSettled = Fixtures.settled(dijkstraContext, grid.size());
+        int aStarSettled = Fixtures.settled(aStarContext, grid.size());
+        log.info("\nSettled nodes: Dijkstra {}, A* {}\n", dijkstraSettled, aStarSettled);
+        Assert.assertEquals(aStarContext.distance(cell(SIDE / 2, SIDE - 1)),
+                dijkstraContext.distance(cell(SIDE / 2, SIDE - 1)));
+        Assert.assertEquals(results.size(), expected.size());
+        Assert.assertSame(results.get(0), destination);
+        Assert.assertTrue(aStarSettled * 10 < dijkstraSettled);
+    }
+
+    @Test
+    public void aStarHeuristicsMatchDijkstraTest() {
+        Random random = new Random(5);
+        CompressedGraph<Object,Object,Object> grid = CompressedGraph.of(grid(random, true));
+        List<Heuristic<Object,Object,Object>> heuristics = List.of(
+                Heuristic.zero(), Heuristic.euclidean(), Heuristic.octile(), Heuristic.manhattan().scale(0.5));
+        SearchContext expected = SearchContext.of(grid);
+        SearchContext context = SearchContext.of(grid);
+        for (int query = 0; query < 20; query++) {
+            Node<Object,Object,Object> start = grid.getNode(random.nextInt(grid.size()));
+            Node<Object,Object,Object> destination = grid.getNode(random.nextInt(grid.size()));
+            new HeapDijkstra<Object,Object,Object>().calculateShortestPath(grid, start, destination, expected);
+            for (Heuristic<Object,Object,Object> heuristic : heuristics) {
+                new AStar<>(heuristic).calculateShortestPath(grid, start, destination, context);
+                int z = grid.indexOf(destination);
+                Assert.assertEquals(context.distance(z), expected.distance(z), 1e-9);
+            }
+        }
+    }
+
+    /**
+     * A grid where each move costs at least its length, so every
+     * coordinate heuristic is admissible
+     */
+    private static Graph<Node<Object,Object,Object>> grid(Random random, boolean diagonal) {
+        List<Node<Object,Object,Object>> nodes = new ArrayList<>();
+        for (int r = 0; r < SIDE; r++) {
+            for (int c = 0; c < SIDE; c++) {
+                nodes.add(new Node<Object,Object,Object>(r + ":" + c, null, new Coordinate<Object,Object>(r, c)));
+            }
+        }
+        for (int r = 0; r < SIDE; r++) {
+            for (int c = 0; c < SIDE; c++) {
+                for (int dr = -1; dr <= 1; dr++) {
+                    for (int dc = -1; dc <= 1; dc++) {
+                        if ((dr == 0 && dc == 0) || (!diagonal && dr != 0 && dc != 0)) continue;
+                        if (r + dr < 0 || r + dr >= SIDE || c + dc < 0 || c + dc >= SIDE) continue;
+                        double length = Math.sqrt(dr * dr + dc * dc);
+                        nodes.get(cell(r, c)).addAdjacentNode(nodes.get(cell(r + dr, c + dc)),
+                                new Distance<Object>(length * (1 + random.nextDouble() * 0.2)));
+                    }
+                }
+            }
+        }
+        return new Graph<Node<Object,Object,Object>>(nodes);
+    }
+
+    private static int cell(int row, int column) { return row * SIDE + column; }
+}
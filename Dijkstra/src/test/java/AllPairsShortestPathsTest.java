@@ -0,0 +1,78 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+import Dijkstra.AllPairsShortestPaths;
+import Dijkstra.HeapDijkstra;
+import Graph.*;
+import Node.*;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+@Slf4j
+public class AllPairsShortestPathsTest {
+
+    @Test
+    public void allPairsShortestPathsTest() {
+        Random random = new Random(37);
+        List<Node<Object,Object,Object>> nodes = new ArrayList<>();
+        // spans several tiles, with a partial last one
+        for (int i = 0; i < 150; i++) nodes.add(new Node<Object,Object,Object>(i, null));
+        for (int i = 0; i < 3000; i++) {
+            nodes.get(random.nextInt(nodes.size())).addAdjacentNode(
+                    nodes.get(random.nextInt(nodes.size())), new Distance<Object>(1 + random.nextInt(60)));
+        }
+        Graph<Node<Object,Object,Object>> graph = new Graph<Node<Object,Object,Object>>(nodes);
+        CompressedGraph<Object,Object,Object> csr = CompressedGraph.of(graph);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            AllPairsShortestPaths<Object,Object,Object> dijkstra =
+                    AllPairsShortestPaths.of(csr, AllPairsShortestPaths.Method.DIJKSTRA, pool);
+            AllPairsShortestPaths<Object,Object,Object> floydWarshall =
+                    AllPairsShortestPaths.of(csr, AllPairsShortestPaths.Method.FLOYD_WARSHALL, pool);
+            HeapDijkstra<Object,Object,Object> heap = new HeapDijkstra<>();
+            SearchContext expected = SearchContext.of(csr);
+            for (int s = 0; s < csr.size(); s += 7) {
+                for (int t = 0; t < csr.size(); t++) {
+                    heap.calculateShortestPath(csr, csr.getNode(s), csr.getNode(t), expected);
+                    Assert.assertEquals(dijkstra.distance(s, t), expected.distance(t));
+                    Assert.assertEquals(floydWarshall.distance(s, t), expected.distance(t));
+                    // both predecessor rows give a path of the shortest length
+                    for (AllPairsShortestPaths<Object,Object,Object> apsp : List.of(dijkstra, floydWarshall)) {
+                        List<Node<Object,Object,Object>> path = apsp.path(csr.getNode(s), csr.getNode(t));
+                        Assert.assertEquals(Fixtures.cost(csr, path), expected.distance(t));
+                    }
+                }
+            }
+
+            floydWarshall.populate(graph);
+            List<Node<Object,Object,Object>> row = graph.getMapOfShortestPaths().get(nodes.get(3));
+            Assert.assertEquals(row.size(), nodes.size());
+            Assert.assertNull(row.get(csr.indexOf(nodes.get(3))));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+import Dijkstra.BidirectionalDijkstra;
+import Dijkstra.HeapDijkstra;
+import Graph.*;
+import Node.*;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+@Slf4j
+public class BidirectionalDijkstraTest {
+
+    @Test
+    public void bidirectionalDijkstraTest() {
+        List<Node<Object,Object,Object>> nodes = new ArrayList<>();
+        for (String name : new String[]{"A","B","C","D","E","F","G","H","I","J","K","L"}) {
+            nodes.add(new Node<Object,Object,Object>(name, name + name));
+        }
+        int[][] edges = {
+                {0,1,1},{0,2,1},{1,3,1},{1,2,1},{2,0,1},{3,0,1},{3,6,1},{5,4,1},{5,8,1},{6,3,1},{6,9,1},
+                {7,11,1},{7,10,1},{8,6,1},{8,10,1},{9,7,2},{9,8,4},{10,7,1},{10,1,1},{11,9,5},{11,3,5}};
+        for (int[] edge : edges) {
+            nodes.get(edge[0]).addAdjacentNode(nodes.get(edge[1]), new Distance<Object>(edge[2]));
+        }
+        Graph<Node<Object,Object,Object>> graph = new Graph<Node<Object,Object,Object>>(nodes);
+
+        BidirectionalDijkstra<Object,Object,Object> dijkstra = new BidirectionalDijkstra<>();
+        List<Node<Object,Object,Object>> results = dijkstra.calculateShortestPath(
+                graph, new Distance<Object>(0), nodes.get(0), nodes.get(11));
+        log.info("\nBidirectional Shortest Path: {}\n", results);
+        // A -> B -> D -> G -> J -> H -> L, returned from the destination back
+        Assert.assertEquals(results, List.of(
+                nodes.get(11), nodes.get(7), nodes.get(9), nodes.get(6),
+                nodes.get(3), nodes.get(1), nodes.get(0)));
+        // E has no outgoing edges, and a node is its own shortest path
+        Assert.assertTrue(dijkstra.calculateShortestPath(graph, null, nodes.get(4), nodes.get(0)).isEmpty());
+        Assert.assertEquals(dijkstra.calculateShortestPath(graph, null, nodes.get(4), nodes.get(4)),
+                List.of(nodes.get(4)));
+    }
+
+    @Test
+    public void bidirectionalDijkstraMatchesHeapTest() {
+        Random random = new Random(3);
+        List<Node<Object,Object,Object>> nodes = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) nodes.add(new Node<Object,Object,Object>(i, null));
+        for (int i = 0; i < 4000; i++) {
+            nodes.get(random.nextInt(1000)).addAdjacentNode(
+                    nodes.get(random.nextInt(1000)), new Distance<Object>(random.nextInt(30)));
+        }
+        CompressedGraph<Object,Object,Object> csr = CompressedGraph.of(new Graph<Node<Object,Object,Object>>(nodes));
+        HeapDijkstra<Object,Object,Object> heap = new HeapDijkstra<>();
+        BidirectionalDijkstra<Object,Object,Object> bidirectional = new BidirectionalDijkstra<>();
+        SearchContext expected = SearchContext.of(csr);
+        SearchContext actual = SearchContext.of(csr);
+        for (int q = 0; q < 100; q++) {
+            Node<Object,Object,Object> start = nodes.get(random.nextInt(1000));
+            Node<Object,Object,Object> destination = nodes.get(random.nextInt(1000));
+            heap.calculateShortestPath(csr, start, destination, expected);
+            List<Node<Object,Object,Object>> path = bidirectional.calculateShortestPath(csr, start, destination, actual);
+            int z = csr.indexOf(destination);
+            Assert.assertEquals(actual.distance(z), expected.distance(z));
+            if (path.isEmpty()) {
+                Assert.assertFalse(expected.isReached(z));
+            } else {
+                Assert.assertSame(path.get(0), destination);
+                Assert.assertSame(path.get(path.size() - 1), start);
+                Assert.assertEquals(Fixtures.cost(csr, path), expected.distance(z));
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+import Dijkstra.HeapDijkstra;
+import Graph.*;
+import Node.*;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+@Slf4j
+public class BoundedQueryTest {
+
+    @Test
+    public void withinRadiusTest() {
+        Random random = new Random(19);
+        List<Node<Object,Object,Object>> nodes = new ArrayList<>();
+        Graph<Node<Object,Object,Object>> graph = new Graph<Node<Object,Object,Object>>();
+        for (int i = 0; i < 400; i++) {
+            Node<Object,Object,Object> node = new Node<Object,Object,Object>("N" + i, i);
+            nodes.add(node);
+            graph.addNode(node);
+        }
+        for (int e = 0; e < 2400; e++) {
+            nodes.get(random.nextInt(400)).addAdjacentNode(nodes.get(random.nextInt(400)), new Distance<Object>(1 + random.nextInt(20)));
+        }
+        CompressedGraph<Object,Object,Object> csr = CompressedGraph.ofInt(graph);
+        HeapDijkstra<Object,Object,Object> dijkstra = new HeapDijkstra<>();
+        SearchContext tree = SearchContext.of(csr);
+        dijkstra.traverse(csr, nodes.get(0), new SearchVisitor() {}, tree);
+
+        for (double radius : new double[] {0, 5, 15, 40}) {
+            List<SettledNode<Object,Object,Object>> ball = dijkstra.withinRadius(csr, nodes.get(0), radius);
+            int expected = 0;
+            for (int v = 0; v < csr.size(); v++) if (tree.distance(v) <= radius) expected++;
+            Assert.assertEquals(ball.size(), expected);
+            double previous = 0;
+            for (SettledNode<Object,Object,Object> node : ball) {
+                // in order of distance, each matching the full shortest path tree
+                Assert.assertTrue(node.getDistance() >= previous);
+                Assert.assertEquals(node.getDistance(), tree.distance(node.index()));
+                if (node.parent() >= 0) {
+                    Assert.assertTrue(tree.distance(node.parent()) < node.getDistance());
+                }
+                previous = node.getDistance();
+            }
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void negativeRadiusTest() {
+        Node<Object,Object,Object> nodeA = new Node<Object,Object,Object>("A", "AA");
+        Graph<Node<Object,Object,Object>> graph = new Graph<Node<Object,Object,Object>>();
+        graph.addNode(nodeA);
+        CompressedGraph<Object,Object,Object> csr = CompressedGraph.ofInt(graph);
+        new HeapDijkstra<Object,Object,Object>().withinRadius(csr, nodeA, -1);
+    }
+}
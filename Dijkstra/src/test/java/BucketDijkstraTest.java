@@ -0,0 +1,93 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+import Dijkstra.BucketDijkstra;
+import Dijkstra.DialQueue;
+import Dijkstra.HeapDijkstra;
+import Dijkstra.RadixHeap;
+import Graph.*;
+import Node.*;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+@Slf4j
+public class BucketDijkstraTest {
+
+    @Test
+    public void monotoneQueuesTest() {
+        Random random = new Random(41);
+        DialQueue dial = new DialQueue(10);
+        RadixHeap radix = new RadixHeap();
+        PriorityQueue<Long> expected = new PriorityQueue<>();
+        long last = 0;
+        for (int step = 0; step < 10000; step++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                long key = last + random.nextInt(11);
+                dial.add((int) key, key);
+                radix.add((int) key, key);
+                expected.add(key);
+            } else {
+                last = expected.poll();
+                Assert.assertEquals(dial.poll(), (int) last);
+                Assert.assertEquals(dial.cursor(), last);
+                Assert.assertEquals(radix.poll(), (int) last);
+                Assert.assertEquals(radix.last(), last);
+            }
+        }
+    }
+
+    @Test
+    public void bucketDijkstraMatchesHeapTest() {
+        for (int maxWeight : new int[]{5, 1_000_000}) {
+            Random random = new Random(maxWeight);
+            List<Node<Object,Object,Object>> nodes = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) nodes.add(new Node<Object,Object,Object>(i, null));
+            for (int i = 0; i < 8000; i++) {
+                nodes.get(random.nextInt(nodes.size())).addAdjacentNode(
+                        nodes.get(random.nextInt(nodes.size())), new Distance<Object>(random.nextInt(maxWeight + 1)));
+            }
+            Graph<Node<Object,Object,Object>> graph = new Graph<Node<Object,Object,Object>>(nodes);
+            IntCompressedGraph<Object,Object,Object> csr = CompressedGraph.ofInt(graph);
+            HeapDijkstra<Object,Object,Object> heap = new HeapDijkstra<>();
+            BucketDijkstra<Object,Object,Object> bucket = new BucketDijkstra<>();
+            SearchContext expected = SearchContext.of(csr);
+            SearchContext actual = SearchContext.of(csr);
+            for (int q = 0; q < 100; q++) {
+                Node<Object,Object,Object> start = nodes.get(random.nextInt(nodes.size()));
+                Node<Object,Object,Object> destination = nodes.get(random.nextInt(nodes.size()));
+                heap.calculateShortestPath(csr, start, destination, expected);
+                List<Node<Object,Object,Object>> path = bucket.calculateShortestPath(csr, start, destination, actual);
+                int z = csr.indexOf(destination);
+                Assert.assertEquals(actual.distance(z), expected.distance(z));
+                Assert.assertEquals(path.isEmpty(), !expected.isReached(z));
+            }
+            // the legacy entry point freezes the graph with int weights
+            Node<Object,Object,Object> start = nodes.get(0);
+            Node<Object,Object,Object> destination = nodes.get(1);
+            Assert.assertEquals(bucket.calculateShortestPath(graph, null, start, destination).size(),
+                    heap.calculateShortestPath(csr, start, destination).size());
+        }
+    }
+}
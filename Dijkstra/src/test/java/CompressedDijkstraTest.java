@@ -0,0 +1,86 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+import Dijkstra.Dijkstra;
+import Graph.*;
+import Node.*;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import java.util.List;
+
+@Slf4j
+public class CompressedDijkstraTest {
+
+    @Test
+    public void intCompressedGraphShortestPathTest() {
+        Node<Object,Object,Object> nodeA = new Node<Object,Object,Object>("A", "AA");
+        Node<Object,Object,Object> nodeB = new Node<Object,Object,Object>("B", "BB");
+        Node<Object,Object,Object> nodeC = new Node<Object,Object,Object>("C", "CC");
+        Node<Object,Object,Object> nodeD = new Node<Object,Object,Object>("D", "DD");
+        Node<Object,Object,Object> nodeE = new Node<Object,Object,Object>("E", "EE");
+
+        nodeA.addAdjacentNode(nodeB, new Distance<Object>(4));
+        nodeA.addAdjacentNode(nodeC, new Distance<Object>(1));
+        nodeC.addAdjacentNode(nodeB, new Distance<Object>(2));
+        nodeB.addAdjacentNode(nodeD, new Distance<Object>(1));
+        nodeC.addAdjacentNode(nodeD, new Distance<Object>(5));
+
+        Graph<Node<Object,Object,Object>> graph = new Graph<Node<Object,Object,Object>>();
+        graph.addNode(nodeA);
+        graph.addNode(nodeB);
+        graph.addNode(nodeC);
+        graph.addNode(nodeD);
+        graph.addNode(nodeE);
+
+        IntCompressedGraph<Object,Object,Object> csr = CompressedGraph.ofInt(graph);
+        Dijkstra dijkstra = new Dijkstra();
+        List<Node<Object,Object,Object>> results = dijkstra.calculateShortestPath(csr, nodeA, nodeD);
+        log.info("\nShortest Path: {}\n", results);
+
+        // the path is returned from the destination back to the start node
+        Assert.assertEquals(results, List.of(nodeD, nodeB, nodeC, nodeA));
+        // no node is mutated by the primitive search
+        Assert.assertNull(nodeD.getDistance().getValue());
+        // an unreachable destination yields an empty path
+        Assert.assertTrue(dijkstra.calculateShortestPath(csr, nodeA, nodeE).isEmpty());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void negativeWeightTest() {
+        Node<Object,Object,Object> nodeA = new Node<Object,Object,Object>("A", "AA");
+        Node<Object,Object,Object> nodeB = new Node<Object,Object,Object>("B", "BB");
+        Node<Object,Object,Object> nodeC = new Node<Object,Object,Object>("C", "CC");
+        Node<Object,Object,Object> nodeD = new Node<Object,Object,Object>("D", "DD");
+        // B is settled through A before the cheaper route through C is seen
+        nodeA.addAdjacentNode(nodeB, new Distance<Object>(1.0));
+        nodeA.addAdjacentNode(nodeC, new Distance<Object>(3.0));
+        nodeC.addAdjacentNode(nodeB, new Distance<Object>(-5.0));
+        nodeB.addAdjacentNode(nodeD, new Distance<Object>(10.0));
+
+        Graph<Node<Object,Object,Object>> graph = new Graph<Node<Object,Object,Object>>();
+        graph.addNode(nodeA);
+        graph.addNode(nodeB);
+        graph.addNode(nodeC);
+        graph.addNode(nodeD);
+
+        new Dijkstra().calculateShortestPath(CompressedGraph.of(graph), nodeA, nodeD);
+    }
+}
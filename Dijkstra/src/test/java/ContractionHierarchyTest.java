@@ -0,0 +1,145 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+import Dijkstra.ContractionHierarchy;
+import Dijkstra.ContractionHierarchyDijkstra;
+import Dijkstra.HeapDijkstra;
+import Graph.*;
+import Node.*;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+@Slf4j
+public class ContractionHierarchyTest {
+
+    @Test
+    public void contractionHierarchyTest() {
+        List<Node<Object,Object,Object>> nodes = new ArrayList<>();
+        for (String name : new String[]{"A","B","C","D","E","F","G","H","I","J","K","L"}) {
+            nodes.add(new Node<Object,Object,Object>(name, name + name));
+        }
+        int[][] edges = {
+                {0,1,1},{0,2,1},{1,3,1},{1,2,1},{2,0,1},{3,0,1},{3,6,1},{5,4,1},{5,8,1},{6,3,1},{6,9,1},
+                {7,11,1},{7,10,1},{8,6,1},{8,10,1},{9,7,2},{9,8,4},{10,7,1},{10,1,1},{11,9,5},{11,3,5}};
+        for (int[] edge : edges) {
+            nodes.get(edge[0]).addAdjacentNode(nodes.get(edge[1]), new Distance<Object>(edge[2]));
+        }
+        Graph<Node<Object,Object,Object>> graph = new Graph<Node<Object,Object,Object>>(nodes);
+        ContractionHierarchy<Object,Object,Object> hierarchy = ContractionHierarchy.of(graph);
+        log.info("\nShortcuts: {}\n", hierarchy.shortcutCount());
+
+        ContractionHierarchyDijkstra<Object,Object,Object> dijkstra = new ContractionHierarchyDijkstra<>(hierarchy);
+        List<Node<Object,Object,Object>> results = dijkstra.calculateShortestPath(
+                graph, new Distance<Object>(0), nodes.get(0), nodes.get(11));
+        log.info("\nContraction Hierarchy Shortest Path: {}\n", results);
+        // A -> B -> D -> G -> J -> H -> L, returned from the destination back
+        Assert.assertEquals(results, List.of(
+                nodes.get(11), nodes.get(7), nodes.get(9), nodes.get(6),
+                nodes.get(3), nodes.get(1), nodes.get(0)));
+        Assert.assertTrue(dijkstra.calculateShortestPath(graph, null, nodes.get(4), nodes.get(0)).isEmpty());
+    }
+
+    @Test
+    public void contractionHierarchyMatchesHeapTest() {
+        Random random = new Random(17);
+        int side = 40;
+        List<Node<Object,Object,Object>> nodes = new ArrayList<>();
+        for (int i = 0; i < side * side; i++) nodes.add(new Node<Object,Object,Object>(i, null));
+        // a road like grid with a few one way streets and long links
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                int u = r * side + c;
+                if (c + 1 < side) Fixtures.link(nodes, u, u + 1, 1 + random.nextInt(9), random.nextInt(10) > 0);
+                if (r + 1 < side) Fixtures.link(nodes, u, u + side, 1 + random.nextInt(9), random.nextInt(10) > 0);
+            }
+        }
+        for (int i = 0; i < 100; i++) {
+            Fixtures.link(nodes, random.nextInt(nodes.size()), random.nextInt(nodes.size()), 5 + random.nextInt(40), false);
+        }
+        CompressedGraph<Object,Object,Object> csr = CompressedGraph.of(new Graph<Node<Object,Object,Object>>(nodes));
+        ContractionHierarchy<Object,Object,Object> hierarchy = ContractionHierarchy.of(csr, 200);
+        log.info("\nShortcuts: {} over {} edges\n", hierarchy.shortcutCount(), csr.edgeCount());
+
+        HeapDijkstra<Object,Object,Object> heap = new HeapDijkstra<>();
+        ContractionHierarchyDijkstra<Object,Object,Object> ch = new ContractionHierarchyDijkstra<>(hierarchy);
+        SearchContext expected = SearchContext.of(csr);
+        SearchContext actual = SearchContext.of(csr);
+        for (int q = 0; q < 200; q++) {
+            Node<Object,Object,Object> start = nodes.get(random.nextInt(nodes.size()));
+            Node<Object,Object,Object> destination = nodes.get(random.nextInt(nodes.size()));
+            heap.calculateShortestPath(csr, start, destination, expected);
+            List<Node<Object,Object,Object>> path = ch.calculateShortestPath(csr, start, destination, actual);
+            int z = csr.indexOf(destination);
+            Assert.assertEquals(actual.distance(z), expected.distance(z), 1e-9);
+            if (!path.isEmpty()) {
+                Assert.assertSame(path.get(0), destination);
+                Assert.assertSame(path.get(path.size() - 1), start);
+                // every hop of the unpacked path is an original edge
+                double cost = 0;
+                for (int i = path.size() - 1; i > 0; i--) {
+                    int u = csr.indexOf(path.get(i));
+                    int v = csr.indexOf(path.get(i - 1));
+                    double cheapest = Double.POSITIVE_INFINITY;
+                    for (int e = csr.firstEdge(u); e < csr.lastEdge(u); e++) {
+                        if (csr.target(e) == v) cheapest = Math.min(cheapest, csr.weight(e));
+                    }
+                    cost += cheapest;
+                }
+                Assert.assertEquals(cost, expected.distance(z), 1e-9);
+            }
+        }
+    }
+
+    @Test(timeOut = 60000)
+    public void zeroWeightCycleTest() {
+        Random random = new Random(23);
+        HeapDijkstra<Object,Object,Object> heap = new HeapDijkstra<>();
+        for (int g = 0; g < 2000; g++) {
+            List<Node<Object,Object,Object>> nodes = new ArrayList<>();
+            for (int i = 0; i < 7; i++) nodes.add(new Node<Object,Object,Object>(i, null));
+            // a zero weight 2-cycle the contraction may fold into a shortcut in both directions
+            Fixtures.link(nodes, 0, 3, 0, true);
+            for (int i = 0; i < 12; i++) {
+                Fixtures.link(nodes, random.nextInt(7), random.nextInt(7), random.nextInt(4), random.nextBoolean());
+            }
+            CompressedGraph<Object,Object,Object> csr = CompressedGraph.of(new Graph<Node<Object,Object,Object>>(nodes));
+            ContractionHierarchyDijkstra<Object,Object,Object> ch =
+                    new ContractionHierarchyDijkstra<>(ContractionHierarchy.of(csr));
+            SearchContext expected = SearchContext.of(csr);
+            SearchContext actual = SearchContext.of(csr);
+            for (int s = 0; s < 7; s++) {
+                for (int t = 0; t < 7; t++) {
+                    heap.calculateShortestPath(csr, nodes.get(s), nodes.get(t), expected);
+                    List<Node<Object,Object,Object>> path = ch.calculateShortestPath(csr, nodes.get(s), nodes.get(t), actual);
+                    int z = csr.indexOf(nodes.get(t));
+                    Assert.assertEquals(actual.distance(z), expected.distance(z));
+                    // a simple path: no node is passed twice
+                    Assert.assertEquals(new HashSet<>(path).size(), path.size());
+                    if (!path.isEmpty()) Assert.assertEquals(Fixtures.cost(csr, path), expected.distance(z));
+                }
+            }
+        }
+    }
+}
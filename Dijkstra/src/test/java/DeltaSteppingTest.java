@@ -0,0 +1,110 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+import Dijkstra.DeltaStepping;
+import Dijkstra.HeapDijkstra;
+import Dijkstra.ShortestPathTree;
+import Graph.*;
+import Node.*;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+@Slf4j
+public class DeltaSteppingTest {
+
+    @Test
+    public void deltaSteppingMatchesHeapTest() {
+        Random random = new Random(29);
+        List<Node<Object,Object,Object>> nodes = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) nodes.add(new Node<Object,Object,Object>(i, null));
+        for (int i = 0; i < 100000; i++) {
+            nodes.get(random.nextInt(nodes.size())).addAdjacentNode(
+                    nodes.get(random.nextInt(nodes.size())), new Distance<Object>(random.nextInt(100) * 0.5));
+        }
+        CompressedGraph<Object,Object,Object> csr = CompressedGraph.of(new Graph<Node<Object,Object,Object>>(nodes));
+        HeapDijkstra<Object,Object,Object> heap = new HeapDijkstra<>();
+        SearchContext expected = SearchContext.of(csr);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<DeltaStepping<Object,Object,Object>> engines = List.of(
+                    new DeltaStepping<>(), new DeltaStepping<>(3.0, pool), new DeltaStepping<>(1000.0, pool));
+            for (int q = 0; q < 3; q++) {
+                Node<Object,Object,Object> start = nodes.get(random.nextInt(nodes.size()));
+                List<ShortestPathTree<Object,Object,Object>> trees = new ArrayList<>();
+                for (DeltaStepping<Object,Object,Object> engine : engines) {
+                    trees.add(engine.shortestPathTree(csr, start));
+                }
+                for (int t = 0; t < csr.size(); t += 97) {
+                    heap.calculateShortestPath(csr, start, csr.getNode(t), expected);
+                    for (ShortestPathTree<Object,Object,Object> tree : trees) {
+                        Assert.assertEquals(tree.distance(t), expected.distance(t));
+                    }
+                }
+                for (ShortestPathTree<Object,Object,Object> tree : trees) {
+                    // every parent edge is tight
+                    for (int v = 0; v < csr.size(); v++) {
+                        int p = tree.parent(v);
+                        if (p < 0) {
+                            Assert.assertTrue(v == tree.source() || !tree.isReached(v));
+                            continue;
+                        }
+                        double tight = Double.POSITIVE_INFINITY;
+                        for (int e = csr.firstEdge(p); e < csr.lastEdge(p); e++) {
+                            if (csr.target(e) == v) tight = Math.min(tight, tree.distance(p) + csr.weight(e));
+                        }
+                        Assert.assertEquals(tight, tree.distance(v));
+                    }
+                    Assert.assertEquals(tree.path(start), List.of(start));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void deserializedEngineTest() throws Exception {
+        List<Node<Object,Object,Object>> nodes = new ArrayList<>();
+        for (int i = 0; i < 50; i++) nodes.add(new Node<Object,Object,Object>(i, null));
+        for (int i = 1; i < 50; i++) nodes.get(i - 1).addAdjacentNode(nodes.get(i), new Distance<Object>(2));
+        CompressedGraph<Object,Object,Object> csr = CompressedGraph.of(new Graph<Node<Object,Object,Object>>(nodes));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new DeltaStepping<Object,Object,Object>(4.0));
+        }
+        @SuppressWarnings("unchecked")
+        DeltaStepping<Object,Object,Object> engine;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            engine = (DeltaStepping<Object,Object,Object>) in.readObject();
+        }
+        // the pool is not serialized; the engine runs on the common pool
+        ShortestPathTree<Object,Object,Object> tree = engine.shortestPathTree(csr, nodes.get(0));
+        Assert.assertEquals(tree.distance(csr.indexOf(nodes.get(49))), 98.0);
+    }
+}
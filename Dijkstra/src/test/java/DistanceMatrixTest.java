@@ -0,0 +1,82 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+import Dijkstra.DistanceMatrix;
+import Dijkstra.HeapDijkstra;
+import Graph.*;
+import Node.*;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+@Slf4j
+public class DistanceMatrixTest {
+
+    @Test
+    public void distanceMatrixTest() {
+        Random random = new Random(31);
+        List<Node<Object,Object,Object>> nodes = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) nodes.add(new Node<Object,Object,Object>(i, null));
+        for (int i = 0; i < 12000; i++) {
+            nodes.get(random.nextInt(nodes.size())).addAdjacentNode(
+                    nodes.get(random.nextInt(nodes.size())), new Distance<Object>(1 + random.nextInt(40)));
+        }
+        CompressedGraph<Object,Object,Object> csr = CompressedGraph.of(new Graph<Node<Object,Object,Object>>(nodes));
+        List<Node<Object,Object,Object>> sources = new ArrayList<>();
+        List<Node<Object,Object,Object>> targets = new ArrayList<>();
+        for (int i = 0; i < 40; i++) sources.add(nodes.get(random.nextInt(nodes.size())));
+        for (int i = 0; i < 25; i++) targets.add(nodes.get(random.nextInt(nodes.size())));
+        // a repeated column
+        targets.add(targets.get(0));
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            DistanceMatrix<Object,Object,Object> matrix = DistanceMatrix.of(csr, sources, targets, pool);
+            Assert.assertEquals(matrix.rows(), 40);
+            Assert.assertEquals(matrix.columns(), 26);
+            HeapDijkstra<Object,Object,Object> heap = new HeapDijkstra<>();
+            SearchContext expected = SearchContext.of(csr);
+            for (int i = 0; i < matrix.rows(); i++) {
+                for (int j = 0; j < matrix.columns(); j++) {
+                    heap.calculateShortestPath(csr, sources.get(i), targets.get(j), expected);
+                    Assert.assertEquals(matrix.get(i, j), expected.distance(csr.indexOf(targets.get(j))));
+                }
+                Assert.assertEquals(matrix.get(i, 25), matrix.get(i, 0));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void oversizedMatrixTest() {
+        Node<Object,Object,Object> node = new Node<Object,Object,Object>(0, null);
+        CompressedGraph<Object,Object,Object> csr = CompressedGraph.of(
+                new Graph<Node<Object,Object,Object>>(Collections.singletonList(node)));
+        // 70000 * 70000 entries overflow an int
+        List<Node<Object,Object,Object>> nodes = Collections.nCopies(70000, node);
+        Assert.assertThrows(IllegalArgumentException.class, () -> DistanceMatrix.of(csr, nodes, nodes));
+    }
+}
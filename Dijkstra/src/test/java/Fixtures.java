@@ -0,0 +1,68 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+import Graph.*;
+import Node.*;
+import java.util.List;
+
+/**
+ * Helpers shared by the engine tests
+ */
+final class Fixtures {
+
+    private Fixtures() {}
+
+    /**
+     * The cost of a path listed from the destination back to the start,
+     * taking the cheapest edge between each pair of nodes, or +Infinity
+     * for an empty path
+     */
+    static double cost(CompressedGraph<Object,Object,Object> csr, List<Node<Object,Object,Object>> path) {
+        if (path.isEmpty()) return Double.POSITIVE_INFINITY;
+        double cost = 0;
+        for (int i = path.size() - 1; i > 0; i--) {
+            int u = csr.indexOf(path.get(i));
+            int v = csr.indexOf(path.get(i - 1));
+            double cheapest = Double.POSITIVE_INFINITY;
+            for (int e = csr.firstEdge(u); e < csr.lastEdge(u); e++) {
+                if (csr.target(e) == v) cheapest = Math.min(cheapest, csr.weight(e));
+            }
+            cost += cheapest;
+        }
+        return cost;
+    }
+
+    /**
+     * Add an edge from node u to node v, and from v back to u if two way
+     */
+    static void link(List<Node<Object,Object,Object>> nodes, int u, int v, int weight, boolean twoWay) {
+        nodes.get(u).addAdjacentNode(nodes.get(v), new Distance<Object>(weight));
+        if (twoWay) nodes.get(v).addAdjacentNode(nodes.get(u), new Distance<Object>(weight));
+    }
+
+    /**
+     * The number of nodes the last search on a context settled
+     */
+    static int settled(SearchContext context, int size) {
+        int settled = 0;
+        for (int i = 0; i < size; i++) if (context.isVisited(i)) settled++;
+        return settled;
+    }
+}
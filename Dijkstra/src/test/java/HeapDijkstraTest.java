@@ -0,0 +1,145 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+import Dijkstra.Dijkstra;
+import Dijkstra.HeapDijkstra;
+import Dijkstra.IndexedHeap;
+import Graph.*;
+import Node.*;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+
+@Slf4j
+public class HeapDijkstraTest {
+
+    @Test
+    public void indexedHeapTest() {
+        IndexedHeap heap = new IndexedHeap(8, 3);
+        double[] keys = {5, 3, 8, 1, 9, 2, 7, 4};
+        for (int i = 0; i < keys.length; i++) heap.insertOrDecrease(i, keys[i]);
+        // lowering a key moves the node, raising it is ignored
+        heap.insertOrDecrease(4, 0);
+        heap.insertOrDecrease(3, 10);
+        int[] expected = {4, 3, 5, 1, 7, 0, 6, 2};
+        for (int node : expected) Assert.assertEquals(heap.poll(), node);
+        Assert.assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void heapDijkstraTest() {
+        List<Node<Object,Object,Object>> nodes = new ArrayList<>();
+        for (String name : new String[]{"A","B","C","D","E","F","G","H","I","J","K","L"}) {
+            nodes.add(new Node<Object,Object,Object>(name, name + name));
+        }
+        int[][] edges = {
+                {0,1,1},{0,2,1},{1,3,1},{1,2,1},{2,0,1},{3,0,1},{3,6,1},{5,4,1},{5,8,1},{6,3,1},{6,9,1},
+                {7,11,1},{7,10,1},{8,6,1},{8,10,1},{9,7,2},{9,8,4},{10,7,1},{10,1,1},{11,9,5},{11,3,5}};
+        for (int[] edge : edges) {
+            nodes.get(edge[0]).addAdjacentNode(nodes.get(edge[1]), new Distance<Object>(edge[2]));
+        }
+        Graph<Node<Object,Object,Object>> graph = new Graph<Node<Object,Object,Object>>(nodes);
+
+        HeapDijkstra<Object,Object,Object> dijkstra = new HeapDijkstra<>();
+        List<Node<Object,Object,Object>> results = dijkstra.calculateShortestPath(
+                graph, new Distance<Object>(0), nodes.get(0), nodes.get(11));
+        log.info("\nHeap Shortest Path: {}\n", results);
+        // A -> B -> D -> G -> J -> H -> L, returned from the destination back
+        Assert.assertEquals(results, List.of(
+                nodes.get(11), nodes.get(7), nodes.get(9), nodes.get(6),
+                nodes.get(3), nodes.get(1), nodes.get(0)));
+    }
+
+    @Test
+    public void heapDijkstraMatchesLinearScanTest() {
+        Random random = new Random(7);
+        List<Node<Object,Object,Object>> nodes = new ArrayList<>();
+        for (int i = 0; i < 300; i++) nodes.add(new Node<Object,Object,Object>(i, null));
+        for (int i = 0; i < 1500; i++) {
+            nodes.get(random.nextInt(300)).addAdjacentNode(
+                    nodes.get(random.nextInt(300)), new Distance<Object>(1 + random.nextInt(20)));
+        }
+        CompressedGraph<Object,Object,Object> csr = CompressedGraph.of(new Graph<Node<Object,Object,Object>>(nodes));
+        HeapDijkstra<Object,Object,Object> heap = new HeapDijkstra<>(2);
+        Dijkstra linear = new Dijkstra();
+        for (int t = 1; t < 300; t += 7) {
+            List<Node<Object,Object,Object>> expected = linear.calculateShortestPath(csr, nodes.get(0), nodes.get(t));
+            List<Node<Object,Object,Object>> actual = heap.calculateShortestPath(csr, nodes.get(0), nodes.get(t));
+            Assert.assertEquals(Fixtures.cost(csr, actual), Fixtures.cost(csr, expected));
+        }
+    }
+
+    @Test
+    public void heapDijkstraLongPathTest() {
+        // a chain deep enough to overflow the stack of a recursive search
+        List<Node<Object,Object,Object>> nodes = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) nodes.add(new Node<Object,Object,Object>(i, null));
+        for (int i = 1; i < nodes.size(); i++) {
+            nodes.get(i - 1).addAdjacentNode(nodes.get(i), new Distance<Object>(1));
+        }
+        HeapDijkstra<Object,Object,Object> dijkstra = new HeapDijkstra<>();
+        List<Node<Object,Object,Object>> results = dijkstra.calculateShortestPath(
+                new Graph<Node<Object,Object,Object>>(nodes), new Distance<Object>(0),
+                nodes.get(0), nodes.get(nodes.size() - 1));
+        Assert.assertEquals(results.size(), nodes.size());
+    }
+
+    @Test
+    public void concurrentQueriesTest() throws Exception {
+        Random random = new Random(11);
+        List<Node<Object,Object,Object>> nodes = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) nodes.add(new Node<Object,Object,Object>(i, null));
+        for (int i = 0; i < 10000; i++) {
+            nodes.get(random.nextInt(2000)).addAdjacentNode(
+                    nodes.get(random.nextInt(2000)), new Distance<Object>(1 + random.nextInt(50)));
+        }
+        CompressedGraph<Object,Object,Object> csr = CompressedGraph.of(new Graph<Node<Object,Object,Object>>(nodes));
+        HeapDijkstra<Object,Object,Object> dijkstra = new HeapDijkstra<>();
+        // the sequential answers
+        double[] expected = new double[64];
+        SearchContext context = SearchContext.of(csr);
+        for (int q = 0; q < expected.length; q++) {
+            dijkstra.calculateShortestPath(csr, nodes.get(q), nodes.get(1999 - q), context);
+            expected[q] = context.distance(csr.indexOf(nodes.get(1999 - q)));
+        }
+        // the same queries on many threads against the one shared snapshot
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Double>> futures = new ArrayList<>();
+            for (int q = 0; q < expected.length; q++) {
+                final int query = q;
+                futures.add(pool.submit(() -> {
+                    SearchContext own = SearchContext.of(csr);
+                    dijkstra.calculateShortestPath(csr, nodes.get(query), nodes.get(1999 - query), own);
+                    return own.distance(csr.indexOf(nodes.get(1999 - query)));
+                }));
+            }
+            for (int q = 0; q < expected.length; q++) {
+                Assert.assertEquals(futures.get(q).get(), expected[q]);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+import Dijkstra.AStar;
+import Dijkstra.HeapDijkstra;
+import Dijkstra.Landmarks;
+import Graph.*;
+import Node.*;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+@Slf4j
+public class LandmarksTest {
+
+    @Test
+    public void landmarksTest() {
+        Random random = new Random(23);
+        // a grid of one and two way streets whose nodes carry no coordinates
+        int side = 60;
+        List<Node<Object,Object,Object>> nodes = new ArrayList<>();
+        for (int i = 0; i < side * side; i++) nodes.add(new Node<Object,Object,Object>(i, null));
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                int u = r * side + c;
+                if (c + 1 < side) Fixtures.link(nodes, u, u + 1, 1 + random.nextInt(9), random.nextInt(8) > 0);
+                if (r + 1 < side) Fixtures.link(nodes, u, u + side, 1 + random.nextInt(9), random.nextInt(8) > 0);
+            }
+        }
+        CompressedGraph<Object,Object,Object> csr = CompressedGraph.of(new Graph<Node<Object,Object,Object>>(nodes));
+        HeapDijkstra<Object,Object,Object> heap = new HeapDijkstra<>();
+        SearchContext expected = SearchContext.of(csr);
+        SearchContext actual = SearchContext.of(csr);
+
+        for (Landmarks.Selection selection : Landmarks.Selection.values()) {
+            Landmarks<Object,Object,Object> landmarks = Landmarks.of(csr, 8, selection, new Random(1));
+            AStar<Object,Object,Object> alt = new AStar<>(landmarks);
+            long dijkstraSettled = 0;
+            long altSettled = 0;
+            for (int q = 0; q < 50; q++) {
+                Node<Object,Object,Object> start = nodes.get(random.nextInt(nodes.size()));
+                Node<Object,Object,Object> destination = nodes.get(random.nextInt(nodes.size()));
+                int a = csr.indexOf(start);
+                int z = csr.indexOf(destination);
+                heap.calculateShortestPath(csr, start, destination, expected);
+                alt.calculateShortestPath(csr, start, destination, actual);
+                Assert.assertEquals(actual.distance(z), expected.distance(z), 1e-9);
+                Assert.assertTrue(landmarks.estimate(csr, a, z) <= expected.distance(z));
+                dijkstraSettled += Fixtures.settled(expected, csr.size());
+                altSettled += Fixtures.settled(actual, csr.size());
+            }
+            log.info("\n{} landmarks: Dijkstra settled {}, ALT settled {}\n", selection, dijkstraSettled, altSettled);
+            Assert.assertTrue(altSettled * 3 < dijkstraSettled);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+import Dijkstra.Dijkstra;
+import Graph.*;
+import Node.*;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import java.util.List;
+
+@Slf4j
+public class PathTest {
+
+    @Test
+    public void legacyEarlyExitPathTest() {
+        Node<Object,Object,Object> nodeA = new Node<Object,Object,Object>("A", "AA");
+        Node<Object,Object,Object> nodeB = new Node<Object,Object,Object>("B", "BB");
+        Node<Object,Object,Object> nodeC = new Node<Object,Object,Object>("C", "CC");
+        Node<Object,Object,Object> nodeD = new Node<Object,Object,Object>("D", "DD");
+        Node<Object,Object,Object> nodeE = new Node<Object,Object,Object>("E", "EE");
+
+        nodeA.addAdjacentNode(nodeB, new Distance<Object>(4));
+        nodeA.addAdjacentNode(nodeC, new Distance<Object>(1));
+        nodeC.addAdjacentNode(nodeB, new Distance<Object>(2));
+        nodeB.addAdjacentNode(nodeD, new Distance<Object>(1));
+        nodeD.addAdjacentNode(nodeE, new Distance<Object>(1));
+
+        Graph<Node<Object,Object,Object>> graph = new Graph<Node<Object,Object,Object>>();
+        graph.addNode(nodeA);
+        graph.addNode(nodeB);
+        graph.addNode(nodeC);
+        graph.addNode(nodeD);
+        graph.addNode(nodeE);
+
+        Dijkstra dijkstra = new Dijkstra();
+        Path<Object,Object,Object> path = dijkstra.calculateShortestPath(graph, new Distance<>(0), nodeA, nodeB);
+        log.info("\nShortest Path: {} cost {}\n", path, path.getCost());
+
+        Assert.assertEquals(path, List.of(nodeB, nodeC, nodeA));
+        Assert.assertEquals(path.getCost(), 3.0);
+        Assert.assertSame(path.getStart(), nodeA);
+        Assert.assertSame(path.getDestination(), nodeB);
+        // the search stopped once B was settled, so E was never reached
+        Assert.assertEquals(nodeE.getDistance().getValue(), Integer.MAX_VALUE);
+        // the nodes along the way no longer carry partial paths
+        Assert.assertTrue(nodeC.getShortestPath().isEmpty());
+        // an unreachable destination yields the empty path
+        Path<Object,Object,Object> none = dijkstra.calculateShortestPath(graph, new Distance<>(0), nodeE, nodeA);
+        Assert.assertTrue(none.isEmpty());
+        Assert.assertEquals(none.getCost(), Double.POSITIVE_INFINITY);
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void compressedPathIsImmutableTest() {
+        Node<Object,Object,Object> nodeA = new Node<Object,Object,Object>("A", "AA");
+        Node<Object,Object,Object> nodeB = new Node<Object,Object,Object>("B", "BB");
+        nodeA.addAdjacentNode(nodeB, new Distance<Object>(5));
+        Graph<Node<Object,Object,Object>> graph = new Graph<Node<Object,Object,Object>>();
+        graph.addNode(nodeA);
+        graph.addNode(nodeB);
+
+        CompressedGraph<Object,Object,Object> csr = CompressedGraph.of(graph);
+        Path<Object,Object,Object> path = new Dijkstra().calculateShortestPath(csr, nodeA, nodeB);
+        Assert.assertEquals(path, List.of(nodeB, nodeA));
+        Assert.assertEquals(path.getCost(), 5.0);
+        path.add(nodeA);
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void parentCycleTest() {
+        Node<Object,Object,Object> nodeA = new Node<Object,Object,Object>("A", "AA");
+        Node<Object,Object,Object> nodeB = new Node<Object,Object,Object>("B", "BB");
+        nodeA.addAdjacentNode(nodeB, new Distance<Object>(0));
+        nodeB.addAdjacentNode(nodeA, new Distance<Object>(0));
+        Graph<Node<Object,Object,Object>> graph = new Graph<Node<Object,Object,Object>>();
+        graph.addNode(nodeA);
+        graph.addNode(nodeB);
+
+        CompressedGraph<Object,Object,Object> csr = CompressedGraph.of(graph);
+        // each node the parent of the other: an error rather than an endless walk
+        Path.of(csr, 0, v -> 1 - v, 0);
+    }
+}
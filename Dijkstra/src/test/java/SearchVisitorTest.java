@@ -0,0 +1,103 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+import Dijkstra.HeapDijkstra;
+import Graph.*;
+import Node.*;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+@Slf4j
+public class SearchVisitorTest {
+
+    @Test
+    public void dijkstraVisitorTest() {
+        Random random = new Random(13);
+        List<Node<Object,Object,Object>> nodes = new ArrayList<>();
+        Graph<Node<Object,Object,Object>> graph = new Graph<Node<Object,Object,Object>>();
+        for (int i = 0; i < 400; i++) {
+            Node<Object,Object,Object> node = new Node<Object,Object,Object>("N" + i, i);
+            nodes.add(node);
+            graph.addNode(node);
+        }
+        for (int e = 0; e < 2400; e++) {
+            nodes.get(random.nextInt(400)).addAdjacentNode(nodes.get(random.nextInt(400)), new Distance<Object>(1 + random.nextInt(20)));
+        }
+        CompressedGraph<Object,Object,Object> csr = CompressedGraph.ofInt(graph);
+        HeapDijkstra<Object,Object,Object> dijkstra = new HeapDijkstra<>();
+        SearchContext tree = SearchContext.of(csr);
+        // no visitor callbacks: the whole shortest path tree
+        Assert.assertFalse(dijkstra.traverse(csr, nodes.get(0), new SearchVisitor() {}, tree));
+
+        SearchContext expected = SearchContext.of(csr);
+        SearchContext actual = SearchContext.of(csr);
+        for (int t = 1; t < 400; t += 37) {
+            int target = t;
+            Path<Object,Object,Object> path = dijkstra.calculateShortestPath(csr, nodes.get(0), nodes.get(target), expected);
+            // stop once the target is settled
+            int[] settled = {0};
+            boolean stopped = dijkstra.traverse(csr, nodes.get(0), new SearchVisitor() {
+                @Override
+                public Action onSettle(int node, double distance) {
+                    settled[0]++;
+                    return node == target ? Action.STOP : Action.CONTINUE;
+                }
+            }, actual);
+            Assert.assertEquals(stopped, !path.isEmpty());
+            Assert.assertEquals(actual.distance(target), expected.distance(target));
+            Assert.assertEquals(actual.distance(target), tree.distance(target));
+            Assert.assertEquals(actual.path(csr, target), path);
+        }
+
+        // a radius bound: nothing beyond 15 is ever settled
+        double[] farthest = {0};
+        dijkstra.traverse(csr, nodes.get(0), new SearchVisitor() {
+            @Override
+            public Action onRelax(int from, int to, int edge, double distance) {
+                return distance > 15 ? Action.PRUNE : Action.CONTINUE;
+            }
+
+            @Override
+            public Action onSettle(int node, double distance) {
+                farthest[0] = Math.max(farthest[0], distance);
+                return Action.CONTINUE;
+            }
+        });
+        Assert.assertTrue(farthest[0] <= 15);
+
+        // a visitor that runs point to point queries of its own on the same thread
+        int[] reached = {0};
+        dijkstra.traverse(csr, nodes.get(0), new SearchVisitor() {
+            @Override
+            public Action onSettle(int node, double distance) {
+                reached[0]++;
+                dijkstra.calculateShortestPath(csr, nodes.get(node), nodes.get(0));
+                return Action.CONTINUE;
+            }
+        });
+        int expectedReached = 0;
+        for (int v = 0; v < csr.size(); v++) if (tree.isReached(v)) expectedReached++;
+        Assert.assertEquals(reached[0], expectedReached);
+    }
+}
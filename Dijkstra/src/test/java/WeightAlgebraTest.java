@@ -0,0 +1,159 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+import Dijkstra.HeapDijkstra;
+import Dijkstra.WeightAlgebra;
+import Dijkstra.WeightedDijkstra;
+import Graph.*;
+import Node.*;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import java.util.List;
+
+@Slf4j
+public class WeightAlgebraTest {
+
+    @Test
+    public void saturatingSumTest() {
+        WeightAlgebra.IntWeights ints = WeightAlgebra.ints();
+        Assert.assertEquals(ints.combine(3, 4), 7);
+        Assert.assertEquals(ints.combine(Integer.MAX_VALUE - 1, 5), Integer.MAX_VALUE);
+        Assert.assertEquals(ints.combine(WeightAlgebra.IntWeights.INFINITY, -5), Integer.MAX_VALUE);
+        WeightAlgebra.LongWeights longs = WeightAlgebra.longs();
+        Assert.assertEquals(longs.combine(Long.MAX_VALUE - 1, 5L), Long.MAX_VALUE);
+        Assert.assertEquals(longs.combine(Long.MIN_VALUE + 1, -5L), Long.MIN_VALUE);
+        Assert.assertEquals(longs.combine(1L << 40, 1L << 40), 1L << 41);
+        WeightAlgebra.DoubleWeights doubles = WeightAlgebra.doubles();
+        Assert.assertEquals(doubles.combine(0.5, 0.25), 0.75);
+        Assert.assertTrue(doubles.compare(doubles.combine(1.0, WeightAlgebra.DoubleWeights.INFINITY), Double.MAX_VALUE) > 0);
+    }
+
+    @Test
+    public void weightedDijkstraTest() {
+        Node<String,String,Long> nodeA = new Node<String,String,Long>("A", "AA");
+        Node<String,String,Long> nodeB = new Node<String,String,Long>("B", "BB");
+        Node<String,String,Long> nodeC = new Node<String,String,Long>("C", "CC");
+        Node<String,String,Long> nodeD = new Node<String,String,Long>("D", "DD");
+        // weights beyond the int range
+        nodeA.addAdjacentNode(nodeB, new Distance<>(4_000_000_000L));
+        nodeA.addAdjacentNode(nodeC, new Distance<>(1_000_000_000L));
+        nodeC.addAdjacentNode(nodeB, new Distance<>(2_000_000_000L));
+        nodeB.addAdjacentNode(nodeD, new Distance<>(1L));
+        Graph<Node<String,String,Long>> graph = new Graph<Node<String,String,Long>>();
+        graph.addNode(nodeA);
+        graph.addNode(nodeB);
+        graph.addNode(nodeC);
+        graph.addNode(nodeD);
+
+        WeightedDijkstra<String,String,Long> dijkstra = new WeightedDijkstra<>(WeightAlgebra.longs());
+        Path<String,String,Long> path = dijkstra.calculateShortestPath(graph, new Distance<>(0L), nodeA, nodeD);
+        log.info("\nShortest Path: {} cost {}\n", path, path.getCost());
+
+        Assert.assertEquals(path, List.of(nodeD, nodeB, nodeC, nodeA));
+        Assert.assertEquals(path.getCost(), 3_000_000_001.0);
+        // the snapshot search leaves the node distances alone
+        Assert.assertNull(nodeD.getDistance().getValue());
+        Assert.assertTrue(dijkstra.calculateShortestPath(graph, new Distance<>(0L), nodeD, nodeA).isEmpty());
+
+        Node<String,String,Double> nodeX = new Node<String,String,Double>("X", "XX");
+        Node<String,String,Double> nodeY = new Node<String,String,Double>("Y", "YY");
+        Node<String,String,Double> nodeZ = new Node<String,String,Double>("Z", "ZZ");
+        nodeX.addAdjacentNode(nodeY, new Distance<>(0.25));
+        nodeX.addAdjacentNode(nodeZ, new Distance<>(1.0));
+        nodeY.addAdjacentNode(nodeZ, new Distance<>(0.5));
+        Graph<Node<String,String,Double>> doubles = new Graph<Node<String,String,Double>>();
+        doubles.addNode(nodeX);
+        doubles.addNode(nodeY);
+        doubles.addNode(nodeZ);
+        Path<String,String,Double> route = new WeightedDijkstra<String,String,Double>(WeightAlgebra.doubles())
+                .calculateShortestPath(doubles, new Distance<>(0.0), nodeX, nodeZ);
+        Assert.assertEquals(route, List.of(nodeZ, nodeY, nodeX));
+        Assert.assertEquals(route.getCost(), 0.75);
+    }
+
+    @Test
+    public void exactLongCostTest() {
+        Node<String,String,Long> nodeA = new Node<String,String,Long>("A", "AA");
+        Node<String,String,Long> nodeB = new Node<String,String,Long>("B", "BB");
+        Node<String,String,Long> nodeC = new Node<String,String,Long>("C", "CC");
+        Node<String,String,Long> nodeD = new Node<String,String,Long>("D", "DD");
+        // 2^53 + 1 rounds to 2^53 as a double, so only long distances tell the routes apart
+        long big = 1L << 53;
+        nodeA.addAdjacentNode(nodeB, new Distance<>(big));
+        nodeA.addAdjacentNode(nodeC, new Distance<>(big + 1));
+        nodeB.addAdjacentNode(nodeD, new Distance<>(2L));
+        nodeC.addAdjacentNode(nodeD, new Distance<>(0L));
+        Graph<Node<String,String,Long>> graph = new Graph<Node<String,String,Long>>();
+        graph.addNode(nodeA);
+        graph.addNode(nodeB);
+        graph.addNode(nodeC);
+        graph.addNode(nodeD);
+        CompressedGraph<String,String,Long> csr = CompressedGraph.ofLong(graph);
+
+        SearchContext context = SearchContext.of(csr);
+        Path<String,String,Long> path = new HeapDijkstra<String,String,Long>()
+                .calculateShortestPath(csr, nodeA, nodeD, context);
+        Assert.assertEquals(path, List.of(nodeD, nodeC, nodeA));
+        Assert.assertEquals(context.cost(csr.indexOf(nodeD)), big + 1);
+
+        context = SearchContext.of(csr);
+        path = new WeightedDijkstra<String,String,Long>(WeightAlgebra.longs())
+                .calculateShortestPath(csr, nodeA, nodeD, context);
+        Assert.assertEquals(path, List.of(nodeD, nodeC, nodeA));
+        Assert.assertEquals(context.cost(csr.indexOf(nodeD)), big + 1);
+    }
+
+    @Test
+    public void saturatedIntCostTest() {
+        Node<String,String,Integer> nodeA = new Node<String,String,Integer>("A", "AA");
+        Node<String,String,Integer> nodeB = new Node<String,String,Integer>("B", "BB");
+        Node<String,String,Integer> nodeC = new Node<String,String,Integer>("C", "CC");
+        // the route to C costs more than an int holds, which the int algebra saturates to unreachable
+        nodeA.addAdjacentNode(nodeB, new Distance<>(Integer.MAX_VALUE - 10));
+        nodeB.addAdjacentNode(nodeC, new Distance<>(20));
+        Graph<Node<String,String,Integer>> graph = new Graph<Node<String,String,Integer>>();
+        graph.addNode(nodeA);
+        graph.addNode(nodeB);
+        graph.addNode(nodeC);
+
+        // the snapshot search of the int algebra
+        WeightedDijkstra<String,String,Integer> snapshot = new WeightedDijkstra<>(WeightAlgebra.ints());
+        Assert.assertTrue(snapshot.calculateShortestPath(graph, new Distance<>(0), nodeA, nodeC).isEmpty());
+        Assert.assertEquals(snapshot.calculateShortestPath(graph, new Distance<>(0), nodeA, nodeB),
+                List.of(nodeB, nodeA));
+        // the node based hooks over the same sums
+        WeightAlgebra<Integer> delegate = new WeightAlgebra<Integer>() {
+            @Override
+            public Integer zero() { return WeightAlgebra.ints().zero(); }
+
+            @Override
+            public Integer infinity() { return WeightAlgebra.ints().infinity(); }
+
+            @Override
+            public Integer combine(Integer cost, Integer weight) { return WeightAlgebra.ints().combine(cost, weight); }
+
+            @Override
+            public int compare(Integer x, Integer y) { return WeightAlgebra.ints().compare(x, y); }
+        };
+        WeightedDijkstra<String,String,Integer> hooks = new WeightedDijkstra<>(delegate);
+        Assert.assertTrue(hooks.calculateShortestPath(graph, new Distance<>(0), nodeA, nodeC).isEmpty());
+    }
+}
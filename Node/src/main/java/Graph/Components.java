@@ -0,0 +1,295 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package Graph;
+/////////////////////////////////////////////////////////////////////
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+/////////////////////////////////////////////////////////////////////
+/**
+ * <pre>
+ * A partition of the nodes of a {@link CompressedGraph} into components,
+ * as one component id per node index.
+ *
+ *   weak   := u and v are joined by a path when edge directions are ignored
+ *   strong := u reaches v and v reaches u
+ *
+ * Weak components are found by a concurrent union-find: the edges are cut
+ * into slices that are linked in parallel, each link hooking the larger
+ * root under the smaller with compare and set, and each find halving the
+ * path it walks. Strong components are found by Tarjan's algorithm with
+ * an explicit stack in place of recursion, so deep graphs cannot
+ * overflow the thread stack.
+ *
+ * Both run in O(|V| + |E|) (the union-find up to inverse Ackermann
+ * factors). Since a path from u to v implies u and v share a weak
+ * component and never leads to a strong component with a larger id,
+ * comparing ids rejects an impossible query in O(1); see
+ * {@link CompressedGraph#mayReach(int, int)}.
+ * </pre>
+ */
+public final class Components {
+    /**
+     * The number of edge slots linked by one task
+     */
+    private static final int GRAIN = 1 << 14;
+    /**
+     * The component of each node index
+     */
+    private final int[] ids;
+    /**
+     * The number of components
+     */
+    private final int count;
+
+    private Components(int[] ids, int count) {
+        this.ids = ids;
+        this.count = count;
+    }
+
+    /**
+     * The weakly connected components of a graph, linked on the common pool
+     * @param graph the compressed graph
+     * @return the weak components, numbered in order of their smallest node index
+     */
+    public static Components weak(CompressedGraph<?, ?, ?> graph) {
+        return weak(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * The weakly connected components of a graph
+     * @param graph the compressed graph
+     * @param pool the pool the edges are linked on
+     * @return the weak components, numbered in order of their smallest node index
+     */
+    public static Components weak(CompressedGraph<?, ?, ?> graph, ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool must not be null.");
+        }
+        int n = graph.size();
+        AtomicIntegerArray parents = new AtomicIntegerArray(n);
+        for (int v = 0; v < n; v++) parents.set(v, v);
+
+        int edges = graph.edgeCount();
+        int slices = Math.max(1, Math.min((edges + GRAIN - 1) / GRAIN, pool.getParallelism() * 4));
+        if (slices == 1) {
+            link(graph, parents, 0, n);
+        } else {
+            List<Callable<Void>> tasks = new ArrayList<>(slices);
+            int from = 0;
+            for (int s = 1; s <= slices; s++) {
+                // cut on node boundaries near an equal share of the edges
+                int lo = from, hi = s == slices ? n : lowerBound(graph, (int) ((long) edges * s / slices));
+                from = hi;
+                tasks.add(() -> { link(graph, parents, lo, hi); return null; });
+            }
+            try {
+                for (Future<Void> future : pool.invokeAll(tasks)) future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while finding components.", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Failed to find components.", e.getCause());
+            }
+        }
+        // the root of each tree is its smallest node index, so labels follow it
+        int[] ids = new int[n];
+        int count = 0;
+        for (int v = 0; v < n; v++) {
+            int root = find(parents, v);
+            ids[v] = root == v ? count++ : ids[root];
+        }
+        return new Components(ids, count);
+    }
+
+    /**
+     * The strongly connected components of a graph
+     * @param graph the compressed graph
+     * @return the strong components, numbered in reverse topological order:
+     * every edge between two components leads to one with a smaller id
+     */
+    public static Components strong(CompressedGraph<?, ?, ?> graph) {
+        int n = graph.size();
+        int[] ids = new int[n];
+        // the discovery order of each node, 0 while undiscovered
+        int[] order = new int[n];
+        int[] low = new int[n];
+        // the nodes of the open components, and whether a node is on it
+        int[] stack = new int[n];
+        boolean[] onStack = new boolean[n];
+        // the call stack: a node and the next of its edges to follow
+        int[] calls = new int[n];
+        int[] cursors = new int[n];
+        int top = 0, depth = 0, discovered = 0, count = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (order[root] != 0) continue;
+            order[root] = low[root] = ++discovered;
+            stack[top++] = root;
+            onStack[root] = true;
+            calls[depth] = root;
+            cursors[depth++] = graph.firstEdge(root);
+            while (depth > 0) {
+                int u = calls[depth - 1];
+                int e = cursors[depth - 1];
+                if (e < graph.lastEdge(u)) {
+                    cursors[depth - 1] = e + 1;
+                    int v = graph.target(e);
+                    if (order[v] == 0) {
+                        // descend into v
+                        order[v] = low[v] = ++discovered;
+                        stack[top++] = v;
+                        onStack[v] = true;
+                        calls[depth] = v;
+                        cursors[depth++] = graph.firstEdge(v);
+                    } else if (onStack[v]) {
+                        low[u] = Math.min(low[u], order[v]);
+                    }
+                    continue;
+                }
+                // every edge of u has been followed; return to its caller
+                depth--;
+                if (low[u] == order[u]) {
+                    int v;
+                    do {
+                        v = stack[--top];
+                        onStack[v] = false;
+                        ids[v] = count;
+                    } while (v != u);
+                    count++;
+                }
+                if (depth > 0) {
+                    int caller = calls[depth - 1];
+                    low[caller] = Math.min(low[caller], low[u]);
+                }
+            }
+        }
+        return new Components(ids, count);
+    }
+
+    /**
+     * Get the number of components
+     * @return the number of components
+     */
+    public int count() { return this.count; }
+
+    /**
+     * Get the number of nodes partitioned
+     * @return the number of nodes
+     */
+    public int size() { return this.ids.length; }
+
+    /**
+     * Get the component of a node
+     * @param node the node index
+     * @return the component id, in [0, count())
+     */
+    public int componentOf(int node) { return this.ids[node]; }
+
+    /**
+     * Are two nodes in the same component
+     * @param u a node index
+     * @param v a node index
+     * @return true if both nodes are in the same component
+     */
+    public boolean connected(int u, int v) { return this.ids[u] == this.ids[v]; }
+
+    /**
+     * Get the number of nodes in each component
+     * @return the size of each component id
+     */
+    public int[] sizes() {
+        int[] sizes = new int[this.count];
+        for (int id : this.ids) sizes[id]++;
+        return sizes;
+    }
+
+    /**
+     * To string
+     * @return the contents of this object
+     */
+    public String toString() {
+        return "\n" + getClass().getSimpleName() + "{" +
+                "\n\t\"nodes\":" + size() +
+                ",\n\t\"components\":" + count() +
+                "\n\t}";
+    }
+    ///////////////////////////////////////////////////////////////////////
+    /**
+     * The first node whose edges start at or after an edge slot
+     */
+    private static int lowerBound(CompressedGraph<?, ?, ?> graph, int edge) {
+        int lo = 0, hi = graph.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (graph.firstEdge(mid) < edge) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Union the ends of every edge leaving the nodes [from, to)
+     */
+    private static void link(CompressedGraph<?, ?, ?> graph, AtomicIntegerArray parents, int from, int to) {
+        for (int u = from; u < to; u++) {
+            for (int e = graph.firstEdge(u), end = graph.lastEdge(u); e < end; e++) {
+                union(parents, u, graph.target(e));
+            }
+        }
+    }
+
+    /**
+     * Hook the larger of two roots under the smaller, retrying when
+     * another thread moved either root first
+     */
+    private static void union(AtomicIntegerArray parents, int u, int v) {
+        while (true) {
+            u = find(parents, u);
+            v = find(parents, v);
+            if (u == v) return;
+            if (u < v) {
+                int swap = u;
+                u = v;
+                v = swap;
+            }
+            if (parents.compareAndSet(u, u, v)) return;
+        }
+    }
+
+    /**
+     * The root of a node, halving the path on the way
+     */
+    private static int find(AtomicIntegerArray parents, int v) {
+        while (true) {
+            int parent = parents.get(v);
+            if (parent == v) return v;
+            int grandparent = parents.get(parent);
+            if (grandparent == parent) return parent;
+            parents.compareAndSet(v, parent, grandparent);
+            v = grandparent;
+        }
+    }
+}
@@ -0,0 +1,521 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package Graph;
+/////////////////////////////////////////////////////////////////////
+import Node.Distance;
+import Node.Edge;
+import Node.Node;
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+/////////////////////////////////////////////////////////////////////
+/**
+ * <pre>
+ * An immutable compressed sparse row (CSR) snapshot of a {@link Graph}.
+ *
+ * Every node is given a dense index in [0, n). The outgoing edges of
+ * node u occupy the slots [offsets[u], offsets[u + 1]) of the flat
+ * targets and weights arrays, so a traversal reads the adjacency of a
+ * node as one contiguous run instead of walking a linked list of
+ * {@link Edge} objects.
+ *
+ *   offsets := [0, d(0), d(0) + d(1), ..., |E|]
+ *   targets := index of the node at the head of each edge
+ *   weights := weight of each edge
+ *
+ * The edge weights are held in a primitive array by one of the
+ * specializations {@link IntCompressedGraph}, {@link LongCompressedGraph}
+ * or {@link DoubleCompressedGraph}, so no {@link Distance} object is
+ * touched once the snapshot is taken.
+ *
+ * The snapshot is read-only and may be shared between threads. Changes
+ * made to the source graph after the snapshot was taken are not seen.
+ * </pre>
+ * @param <Id> the node identifier
+ * @param <Data> the object stored by each node
+ * @param <Metric> the system of measurement of the edge weights
+ */
+public abstract class CompressedGraph<Id, Data, Metric> {
+    /**
+     * Edge offsets of each node, of length n + 1
+     */
+    private final int[] offsets;
+    /**
+     * The head node index of each edge
+     */
+    private final int[] targets;
+    /**
+     * Maps a dense node index back to its {@link Node}
+     */
+    private final List<Node<Id, Data, Metric>> nodes;
+    /**
+     * Maps a {@link Node} to its dense index
+     */
+    private final Map<Node<Id, Data, Metric>, Integer> index;
+    /**
+     * The incoming edges, built on first use
+     */
+    private volatile ReverseIndex reverse;
+    /**
+     * The weakly connected components, found on first use, or null
+     */
+    private volatile Components weak;
+    /**
+     * The strongly connected components, found on first use, or null
+     */
+    private volatile Components strong;
+
+    /**
+     * A compressed graph
+     * @param layout the topology of the graph
+     */
+    CompressedGraph(Layout<Id, Data, Metric> layout) {
+        this.offsets = layout.offsets;
+        this.targets = layout.targets;
+        this.nodes = layout.nodes;
+        this.index = layout.index;
+    }
+
+    /**
+     * Freeze a graph whose edge weights are {@link Number}s.
+     * @param graph the graph
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     * @return the compressed snapshot of the graph
+     * @throws IllegalArgumentException if an edge weight is not a {@link Number}
+     *          or an edge leads to a node outside the graph
+     */
+    public static <Id, Data, Metric> DoubleCompressedGraph<Id, Data, Metric> of(
+            Graph<Node<Id, Data, Metric>> graph) {
+        return of(graph, value -> number(value).doubleValue());
+    }
+
+    /**
+     * Freeze a graph, converting each edge weight with the given function.
+     * @param graph the graph
+     * @param weigher converts an edge {@link Distance} value to a double
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     * @return the compressed snapshot of the graph
+     * @throws IllegalArgumentException if an edge leads to a node outside the graph
+     */
+    public static <Id, Data, Metric> DoubleCompressedGraph<Id, Data, Metric> of(
+            Graph<Node<Id, Data, Metric>> graph,
+            ToDoubleFunction<Metric> weigher) {
+        Layout<Id, Data, Metric> layout = new Layout<>(graph);
+        double[] weights = new double[layout.targets.length];
+        for (int e = 0; e < weights.length; e++) {
+            weights[e] = weigher.applyAsDouble(layout.metric(e));
+        }
+        return new DoubleCompressedGraph<>(layout, weights);
+    }
+
+    /**
+     * Freeze a graph whose edge weights are integral {@link Number}s
+     * within the range of an int.
+     * @param graph the graph
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     * @return the compressed snapshot of the graph
+     * @throws IllegalArgumentException if an edge weight is not an int
+     *          or an edge leads to a node outside the graph
+     */
+    public static <Id, Data, Metric> IntCompressedGraph<Id, Data, Metric> ofInt(
+            Graph<Node<Id, Data, Metric>> graph) {
+        return ofInt(graph, value -> {
+            long weight = integral(value);
+            if (weight != (int) weight) {
+                throw new IllegalArgumentException("Edge weight does not fit an int: " + value);
+            }
+            return (int) weight;
+        });
+    }
+
+    /**
+     * Freeze a graph, converting each edge weight with the given function.
+     * @param graph the graph
+     * @param weigher converts an edge {@link Distance} value to an int
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     * @return the compressed snapshot of the graph
+     * @throws IllegalArgumentException if an edge leads to a node outside the graph
+     */
+    public static <Id, Data, Metric> IntCompressedGraph<Id, Data, Metric> ofInt(
+            Graph<Node<Id, Data, Metric>> graph,
+            ToIntFunction<Metric> weigher) {
+        Layout<Id, Data, Metric> layout = new Layout<>(graph);
+        int[] weights = new int[layout.targets.length];
+        for (int e = 0; e < weights.length; e++) {
+            weights[e] = weigher.applyAsInt(layout.metric(e));
+        }
+        return new IntCompressedGraph<>(layout, weights);
+    }
+
+    /**
+     * Freeze a graph with int weights when every edge weight is an integral
+     * {@link Number} within the range of an int, and with double weights
+     * otherwise. The adjacency is laid out once either way.
+     * @param graph the graph
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     * @return an {@link IntCompressedGraph} or a {@link DoubleCompressedGraph}
+     * @throws IllegalArgumentException if an edge weight is not a {@link Number}
+     *          or an edge leads to a node outside the graph
+     */
+    public static <Id, Data, Metric> CompressedGraph<Id, Data, Metric> ofNarrowest(
+            Graph<Node<Id, Data, Metric>> graph) {
+        Layout<Id, Data, Metric> layout = new Layout<>(graph);
+        int[] ints = new int[layout.targets.length];
+        for (int e = 0; e < ints.length; e++) {
+            Number weight = number(layout.metric(e));
+            if (weight.doubleValue() != weight.intValue()) {
+                // a weight is fractional or out of int range
+                double[] doubles = new double[ints.length];
+                for (int f = 0; f < doubles.length; f++) {
+                    doubles[f] = number(layout.metric(f)).doubleValue();
+                }
+                return new DoubleCompressedGraph<>(layout, doubles);
+            }
+            ints[e] = weight.intValue();
+        }
+        return new IntCompressedGraph<>(layout, ints);
+    }
+
+    /**
+     * Freeze a graph whose edge weights are integral {@link Number}s.
+     * @param graph the graph
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     * @return the compressed snapshot of the graph
+     * @throws IllegalArgumentException if an edge weight is not integral
+     *          or an edge leads to a node outside the graph
+     */
+    public static <Id, Data, Metric> LongCompressedGraph<Id, Data, Metric> ofLong(
+            Graph<Node<Id, Data, Metric>> graph) {
+        return ofLong(graph, CompressedGraph::integral);
+    }
+
+    /**
+     * Freeze a graph, converting each edge weight with the given function.
+     * @param graph the graph
+     * @param weigher converts an edge {@link Distance} value to a long
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     * @return the compressed snapshot of the graph
+     * @throws IllegalArgumentException if an edge leads to a node outside the graph
+     */
+    public static <Id, Data, Metric> LongCompressedGraph<Id, Data, Metric> ofLong(
+            Graph<Node<Id, Data, Metric>> graph,
+            ToLongFunction<Metric> weigher) {
+        Layout<Id, Data, Metric> layout = new Layout<>(graph);
+        long[] weights = new long[layout.targets.length];
+        for (int e = 0; e < weights.length; e++) {
+            weights[e] = weigher.applyAsLong(layout.metric(e));
+        }
+        return new LongCompressedGraph<>(layout, weights);
+    }
+
+    /**
+     * Cast an edge weight to a {@link Number}.
+     * @param value the edge weight
+     * @return the edge weight as a number
+     */
+    private static Number number(Object value) {
+        if (!(value instanceof Number)) {
+            throw new IllegalArgumentException("Edge weight is not numeric: " + value);
+        }
+        return (Number) value;
+    }
+
+    /**
+     * Convert an integral edge weight to a long.
+     * @param value the edge weight
+     * @return the edge weight as a long
+     */
+    private static long integral(Object value) {
+        Number number = number(value);
+        long weight = number.longValue();
+        if (weight != number.doubleValue()) {
+            throw new IllegalArgumentException("Edge weight is not integral: " + value);
+        }
+        return weight;
+    }
+
+    /**
+     * Get the number of nodes
+     * @return the number of nodes
+     */
+    public int size() { return this.nodes.size(); }
+
+    /**
+     * Get the number of edges
+     * @return the number of edges
+     */
+    public int edgeCount() { return this.targets.length; }
+
+    /**
+     * Get the dense index of a node
+     * @param node the node
+     * @return the index of the node, or -1 if the node is not in this snapshot
+     */
+    public int indexOf(Node<Id, Data, Metric> node) {
+        Integer i = this.index.get(node);
+        return i == null ? -1 : i;
+    }
+
+    /**
+     * Get the node at a dense index
+     * @param index the index of the node
+     * @return the node
+     */
+    public Node<Id, Data, Metric> getNode(int index) { return this.nodes.get(index); }
+
+    /**
+     * Get the nodes ordered by index
+     * @return an unmodifiable list of the nodes ordered by index
+     */
+    public List<Node<Id, Data, Metric>> getNodes() { return this.nodes; }
+
+    /**
+     * Get the first edge slot of a node
+     * @param node the node index
+     * @return the first edge slot of the node
+     */
+    public int firstEdge(int node) { return this.offsets[node]; }
+
+    /**
+     * Get the edge slot following the last edge of a node
+     * @param node the node index
+     * @return the exclusive end of the edge slots of the node
+     */
+    public int lastEdge(int node) { return this.offsets[node + 1]; }
+
+    /**
+     * Get the out degree of a node
+     * @param node the node index
+     * @return the number of outgoing edges of the node
+     */
+    public int degree(int node) { return this.offsets[node + 1] - this.offsets[node]; }
+
+    /**
+     * Get the head node of an edge
+     * @param edge the edge slot
+     * @return the index of the node the edge leads to
+     */
+    public int target(int edge) { return this.targets[edge]; }
+
+    /**
+     * Get the weight of an edge, widened to a double
+     * @param edge the edge slot
+     * @return the weight of the edge
+     */
+    public abstract double weight(int edge);
+
+    /**
+     * The incoming edges of every node, built on the first call and
+     * shared by every later one
+     * @return the reverse adjacency index of this graph
+     */
+    public ReverseIndex reverse() {
+        ReverseIndex reverse = this.reverse;
+        if (reverse == null) {
+            synchronized (this) {
+                reverse = this.reverse;
+                if (reverse == null) {
+                    this.reverse = reverse = new ReverseIndex(this);
+                }
+            }
+        }
+        return reverse;
+    }
+
+    /**
+     * The weakly connected components of this graph, found on the first
+     * call and shared by every later one
+     * @return the weak components of this graph
+     */
+    public Components weakComponents() {
+        Components weak = this.weak;
+        if (weak == null) {
+            synchronized (this) {
+                weak = this.weak;
+                if (weak == null) {
+                    this.weak = weak = Components.weak(this);
+                }
+            }
+        }
+        return weak;
+    }
+
+    /**
+     * The strongly connected components of this graph, found on the first
+     * call and shared by every later one
+     * @return the strong components of this graph
+     */
+    public Components strongComponents() {
+        Components strong = this.strong;
+        if (strong == null) {
+            synchronized (this) {
+                strong = this.strong;
+                if (strong == null) {
+                    this.strong = strong = Components.strong(this);
+                }
+            }
+        }
+        return strong;
+    }
+
+    /**
+     * Find the weak and strong components of this graph now, in
+     * O(|V| + |E|), so that {@link #mayReach(int, int)} can reject queries
+     * between nodes that cannot reach each other. Worth it for a snapshot
+     * that answers many queries; a snapshot taken for one query need not.
+     * @return this graph
+     */
+    public CompressedGraph<Id, Data, Metric> withComponents() {
+        weakComponents();
+        strongComponents();
+        return this;
+    }
+
+    /**
+     * Can a path lead from one node to another. A path from u to v keeps
+     * within one weak component and never leads into a strong component
+     * with a larger id, since {@link #strongComponents()} are numbered in
+     * reverse topological order, so two id lookups reject a query between
+     * nodes that cannot reach each other. Only partitions already found,
+     * e.g. by {@link #withComponents()}, are consulted; none is computed
+     * here, so without them every query may reach.
+     * @param from the start node index
+     * @param to the destination node index
+     * @return false if no path can lead from the start node to the
+     * destination node, true if one may
+     */
+    public boolean mayReach(int from, int to) {
+        Components weak = this.weak;
+        if (weak != null && !weak.connected(from, to)) return false;
+        Components strong = this.strong;
+        return strong == null || strong.componentOf(from) >= strong.componentOf(to);
+    }
+
+    /**
+     * To string
+     * @return the contents of this object
+     */
+    public String toString() {
+        return "\n" + getClass().getSimpleName() + "{" +
+                "\n\t\"nodes\":" + size() +
+                ",\n\t\"edges\":" + edgeCount() +
+                "\n\t}";
+    }
+
+    /**
+     * The topology shared by every specialization, together with the
+     * {@link Distance} value of each edge slot so a specialization can
+     * convert them into its own primitive weight array.
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     */
+    static final class Layout<Id, Data, Metric> {
+        final int[] offsets;
+        final int[] targets;
+        final List<Node<Id, Data, Metric>> nodes;
+        final Map<Node<Id, Data, Metric>, Integer> index;
+        private final Object[] metrics;
+
+        /**
+         * Lay out the adjacency of a graph
+         * @param graph the graph
+         * @throws IllegalArgumentException if an edge leads to a node outside the graph
+         */
+        Layout(Graph<Node<Id, Data, Metric>> graph) {
+            // lay the nodes out in id order so the dense indices match the graph ids
+            List<Node<Id, Data, Metric>> nodes = new ArrayList<>(
+                    graph.isDenselyIndexed() ? graph.getNodesById() : graph.getNodes());
+            this.index = new IdentityHashMap<>(nodes.size());
+            for (int i = 0; i < nodes.size(); i++) {
+                this.index.put(nodes.get(i), i);
+            }
+            this.nodes = Collections.unmodifiableList(nodes);
+            // first pass: count the out degree of each node
+            this.offsets = new int[nodes.size() + 1];
+            for (int i = 0; i < nodes.size(); i++) {
+                this.offsets[i + 1] = this.offsets[i] + edgesOf(nodes.get(i)).size();
+            }
+            // second pass: copy each adjacency list into its slice of the flat arrays
+            this.targets = new int[this.offsets[nodes.size()]];
+            this.metrics = new Object[this.targets.length];
+            for (int i = 0; i < nodes.size(); i++) {
+                int e = this.offsets[i];
+                for (Edge<Distance<Metric>, Node<Id, Data, Metric>> edge : edgesOf(nodes.get(i))) {
+                    int target = indexOf(edge.getNode());
+                    if (target < 0) {
+                        throw new IllegalArgumentException(
+                                "Edge from " + nodes.get(i).getName() + " leads to a node outside the graph: "
+                                        + (edge.getNode() == null ? null : edge.getNode().getName()));
+                    }
+                    this.targets[e] = target;
+                    this.metrics[e] = edge.getDistance().getValue();
+                    e++;
+                }
+            }
+        }
+
+        /**
+         * The dense index of a node
+         * @param node the node
+         * @return the index of the node, or -1 if it is not laid out
+         */
+        private int indexOf(Node<Id, Data, Metric> node) {
+            if (node == null) return -1;
+            Integer i = this.index.get(node);
+            return i == null ? -1 : i;
+        }
+
+        /**
+         * The {@link Distance} value of an edge slot
+         * @param edge the edge slot
+         * @return the edge weight
+         */
+        @SuppressWarnings("unchecked")
+        Metric metric(int edge) { return (Metric) this.metrics[edge]; }
+
+        /**
+         * The edges of a node, or an empty list when the node has none.
+         * @param node the node
+         * @return the outgoing edges of the node
+         */
+        private static <Id, Data, Metric> List<Edge<Distance<Metric>, Node<Id, Data, Metric>>> edgesOf(
+                Node<Id, Data, Metric> node) {
+            return node.getEdges() == null ? Collections.emptyList() : node.getEdges();
+        }
+    }
+}
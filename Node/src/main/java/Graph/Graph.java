@@ -41,16 +41,36 @@ public class Graph<Node> {
      */
     private Set<Node> nodes =  new HashSet<>();
     /**
-     * Map of the shortest paths
+     * Map of the shortest paths. An all pairs search maps each start node
+     * to the predecessor of every node, by dense index, on a shortest path
+     * from it, so any path is read back without a list per pair.
      */
     private Map<Node, List<Node>> mapOfShortestPaths = new HashMap<>();
+    /**
+     * The nodes of this graph indexed by their id
+     */
+    private final List<Node> nodesById = new ArrayList<>();
+    /**
+     * The id of each node in this graph. Ids belong to the graph rather
+     * than to the node, so one node may be added to any number of graphs
+     * and hold a different id in each.
+     */
+    private final Map<Node, Integer> ids = new IdentityHashMap<>();
+    /**
+     * The id of each {@link Vertex} node indexed by its name
+     */
+    private final Map<Object, Integer> idsByName = new HashMap<>();
 
     /**
-     * Graph of nodes
+     * Graph of nodes. The nodes are given ids in the iteration order of
+     * the set, so a {@link HashSet} of nodes without their own hash code
+     * gives different ids, and snapshot indices, from run to run; pass a
+     * {@link java.util.LinkedHashSet} for ids in insertion order.
      * @param nodes set of nodes
      */
     public Graph(Set<Node> nodes) {
         this.nodes = nodes;
+        nodes.forEach(this::index);
     }
 
     /**
@@ -58,7 +78,7 @@ public class Graph<Node> {
      * @param nodes the list of nodes
      */
     public Graph(List<Node> nodes) {
-        this.nodes.addAll(nodes);
+        addNodes(nodes);
     }
 
     /**
@@ -73,19 +93,112 @@ public class Graph<Node> {
     public Graph() {}
 
     /**
-     * Add a node to the graph
+     * Add a node to the graph. The node is given the next dense id of
+     * this graph.
      * @param node the node to add
      */
     public void addNode(Node node)
     {
-//        mapOfShortestPaths.put(node, Dijkstra.)
+        if (contains(node)) return;
+        index(node);
         this.nodes.add(node); }
 
     /**
      * Adds a list of nodes to the graph
      * @param nodes the node to add
      */
-    public void addNodes(List<Node> nodes) { this.nodes.addAll(nodes); }
+    public void addNodes(List<Node> nodes) { nodes.forEach(this::addNode); }
+
+    /**
+     * Give a node the next id of this graph and record it in the id and name indexes
+     * @param node the node
+     */
+    private void index(Node node) {
+        if (this.ids.containsKey(node)) return;
+        int id = this.nodesById.size();
+        this.ids.put(node, id);
+        this.nodesById.add(node);
+        if (node instanceof Vertex && ((Vertex) node).getName() != null) {
+            this.idsByName.putIfAbsent(((Vertex) node).getName(), id);
+        }
+    }
+
+    /**
+     * Is a node a member of this graph. For a {@link Vertex} node this is
+     * a constant time lookup of its identity.
+     * @param node the node
+     * @return true if the node is in this graph, false otherwise
+     */
+    public boolean contains(Node node) {
+        if (node instanceof Vertex) return this.ids.containsKey(node);
+        return this.nodes.contains(node);
+    }
+
+    /**
+     * Get the id of a node in this graph
+     * @param node the node
+     * @return the id of the node, or {@link Vertex#UNASSIGNED} if it is not in this graph
+     */
+    public int getId(Node node) {
+        Integer id = this.ids.get(node);
+        return id == null ? Vertex.UNASSIGNED : id;
+    }
+
+    /**
+     * Get the node holding an id
+     * @param id the node id
+     * @return the node, or null if no node of this graph holds the id
+     */
+    public Node getNode(int id) {
+        return id >= 0 && id < this.nodesById.size() ? this.nodesById.get(id) : null;
+    }
+
+    /**
+     * Get the id of the node with a name
+     * @param name the node name
+     * @return the id of the first node added with the name, or
+     *          {@link Vertex#UNASSIGNED} if there is none
+     */
+    public int idOf(Object name) {
+        return this.idsByName.getOrDefault(name, Vertex.UNASSIGNED);
+    }
+
+    /**
+     * Find the node with a name
+     * @param name the node name
+     * @return the first node added with the name, or null if there is none
+     */
+    public Node findNode(Object name) { return getNode(idOf(name)); }
+
+    /**
+     * Get the nodes ordered by id. The list holds exactly the nodes of this
+     * graph, each at the position of its id, unless nodes were added to
+     * {@link #getNodes()} directly.
+     * @return an unmodifiable list of the nodes ordered by id
+     * @see #isDenselyIndexed()
+     */
+    public List<Node> getNodesById() { return Collections.unmodifiableList(this.nodesById); }
+
+    /**
+     * Are the ids of the nodes of this graph exactly [0, n). The set from
+     * {@link #getNodes()} can be changed directly, so every member is
+     * checked rather than only the count.
+     * @return true if {@link #getNodesById()} holds every node and no other
+     */
+    public boolean isDenselyIndexed() {
+        if (this.nodesById.size() != this.nodes.size()) return false;
+        for (Node node : this.nodes) {
+            if (!this.ids.containsKey(node)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Get the number of nodes
+     * @return the number of nodes
+     */
+    public int size() { return this.nodes.size(); }
+
     /**
      * Get the Map of the shortest paths related to all nodes in the graph
      * @return a Map of the shortest paths related to all nodes in the graph
@@ -98,7 +211,8 @@ public class Graph<Node> {
     public void setMapOfShortestPaths(Map<Node, List<Node>> mapOfShortestPaths) { this.mapOfShortestPaths = mapOfShortestPaths; }
 
     /**
-     * Get the set of nodes in the graph
+     * Get the set of nodes in the graph. Nodes should be added through
+     * {@link #addNode(Object)} rather than to this set so they are indexed.
      * @return the set of nodes in the graph
      */
     public Set<Node> getNodes() {
@@ -111,6 +225,10 @@ public class Graph<Node> {
      */
     public void setNodes(Set<Node> nodes) {
         this.nodes = nodes;
+        this.nodesById.clear();
+        this.ids.clear();
+        this.idsByName.clear();
+        nodes.forEach(this::index);
     }
 
     /**
@@ -0,0 +1,91 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package Graph;
+/////////////////////////////////////////////////////////////////////
+/**
+ * A {@link CompressedGraph} whose edge weights are held as int primitives.
+ * Small integral costs such as hop penalties or rounded travel times fit here in four bytes per edge.
+ * @param <Id> the node identifier
+ * @param <Data> the object stored by each node
+ * @param <Metric> the system of measurement of the edge weights
+ * @see CompressedGraph#ofInt(Graph)
+ */
+public final class IntCompressedGraph<Id, Data, Metric> extends CompressedGraph<Id, Data, Metric> {
+    /**
+     * The weight of each edge
+     */
+    private final int[] weights;
+    /**
+     * The smallest edge weight, or 0 without edges
+     */
+    private final int minWeight;
+    /**
+     * The largest edge weight, or 0 without edges
+     */
+    private final int maxWeight;
+
+    /**
+     * A int weighted compressed graph
+     * @param layout the topology of the graph
+     * @param weights the weight of each edge
+     */
+    IntCompressedGraph(Layout<Id, Data, Metric> layout, int[] weights) {
+        super(layout);
+        this.weights = weights;
+        int min = weights.length == 0 ? 0 : Integer.MAX_VALUE;
+        int max = weights.length == 0 ? 0 : Integer.MIN_VALUE;
+        for (int weight : weights) {
+            min = Math.min(min, weight);
+            max = Math.max(max, weight);
+        }
+        this.minWeight = min;
+        this.maxWeight = max;
+    }
+
+    /**
+     * Get the smallest edge weight
+     * @return the smallest edge weight, or 0 if the graph has no edges
+     */
+    public int minWeight() { return this.minWeight; }
+
+    /**
+     * Get the largest edge weight, which bounds the spread of the
+     * tentative distances in a search
+     * @return the largest edge weight, or 0 if the graph has no edges
+     */
+    public int maxWeight() { return this.maxWeight; }
+
+    /**
+     * Get the weight of an edge
+     * @param edge the edge slot
+     * @return the weight of the edge
+     */
+    public int intWeight(int edge) { return this.weights[edge]; }
+
+    /**
+     * Get the weight of an edge, widened to a double
+     * @param edge the edge slot
+     * @return the weight of the edge
+     */
+    @Override
+    public double weight(int edge) { return this.weights[edge]; }
+}
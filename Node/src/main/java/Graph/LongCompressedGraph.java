@@ -0,0 +1,62 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package Graph;
+/////////////////////////////////////////////////////////////////////
+/**
+ * A {@link CompressedGraph} whose edge weights are held as long primitives.
+ * Use it for integral costs, such as millimetres or milliseconds, whose sums may overflow an int.
+ * @param <Id> the node identifier
+ * @param <Data> the object stored by each node
+ * @param <Metric> the system of measurement of the edge weights
+ * @see CompressedGraph#ofLong(Graph)
+ */
+public final class LongCompressedGraph<Id, Data, Metric> extends CompressedGraph<Id, Data, Metric> {
+    /**
+     * The weight of each edge
+     */
+    private final long[] weights;
+
+    /**
+     * A long weighted compressed graph
+     * @param layout the topology of the graph
+     * @param weights the weight of each edge
+     */
+    LongCompressedGraph(Layout<Id, Data, Metric> layout, long[] weights) {
+        super(layout);
+        this.weights = weights;
+    }
+
+    /**
+     * Get the weight of an edge
+     * @param edge the edge slot
+     * @return the weight of the edge
+     */
+    public long longWeight(int edge) { return this.weights[edge]; }
+
+    /**
+     * Get the weight of an edge, widened to a double
+     * @param edge the edge slot
+     * @return the weight of the edge
+     */
+    @Override
+    public double weight(int edge) { return this.weights[edge]; }
+}
@@ -0,0 +1,163 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package Graph;
+/////////////////////////////////////////////////////////////////////
+import Node.Node;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.IntUnaryOperator;
+/////////////////////////////////////////////////////////////////////
+/**
+ * <pre>
+ * An immutable shortest path, listed from the destination node back to
+ * the start node, together with its total cost.
+ *
+ *   get(0)          := the destination node
+ *   get(size() - 1) := the start node
+ *
+ * The path is built once, from the parents recorded by a search, into a
+ * single array; an unreachable destination gives the empty path with an
+ * infinite cost.
+ * </pre>
+ * @param <Id> the node identifier
+ * @param <Data> the object stored by each node
+ * @param <Metric> the system of measurement of the edge weights
+ */
+public final class Path<Id, Data, Metric> extends AbstractList<Node<Id, Data, Metric>> implements RandomAccess {
+    /**
+     * The empty path
+     */
+    private static final Path<Object, Object, Object> EMPTY = new Path<>(newArray(0), Double.POSITIVE_INFINITY);
+    /**
+     * The nodes, from the destination back to the start
+     */
+    private final Node<Id, Data, Metric>[] nodes;
+    /**
+     * The total cost
+     */
+    private final double cost;
+
+    /**
+     * A path
+     * @param nodes the nodes from the destination back to the start, adopted without copying
+     * @param cost the total cost
+     */
+    private Path(Node<Id, Data, Metric>[] nodes, double cost) {
+        this.nodes = nodes;
+        this.cost = cost;
+    }
+
+    /**
+     * The path to an unreachable destination
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     * @return the empty path, with an infinite cost
+     */
+    @SuppressWarnings("unchecked")
+    public static <Id, Data, Metric> Path<Id, Data, Metric> empty() {
+        return (Path<Id, Data, Metric>) EMPTY;
+    }
+
+    /**
+     * Back up from a node to the root of a search through an int array of
+     * parents, sizing the path before filling it.
+     * @param graph the compressed graph that was searched
+     * @param node the node index to back up from
+     * @param parents the parent of each node index, -1 at the root
+     * @param cost the total cost of the path
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     * @return the path from the node back to the root
+     * @throws IllegalStateException if the parents lead around a cycle
+     *          rather than to a root
+     */
+    public static <Id, Data, Metric> Path<Id, Data, Metric> of(
+            CompressedGraph<Id, Data, Metric> graph, int node, IntUnaryOperator parents,
+            double cost) {
+        int length = 0;
+        for (int v = node; v >= 0; v = parents.applyAsInt(v)) {
+            // a simple path passes each node at most once
+            if (++length > graph.size()) {
+                throw new IllegalStateException("The parents from node " + node + " form a parent cycle.");
+            }
+        }
+        Node<Id, Data, Metric>[] nodes = newArray(length);
+        for (int i = 0, v = node; i < length; i++, v = parents.applyAsInt(v)) nodes[i] = graph.getNode(v);
+        return new Path<>(nodes, cost);
+    }
+
+    /**
+     * A path from nodes already listed from the destination back to the start
+     * @param nodes the nodes, copied
+     * @param cost the total cost of the path
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     * @return the path
+     */
+    public static <Id, Data, Metric> Path<Id, Data, Metric> of(
+            List<Node<Id, Data, Metric>> nodes, double cost) {
+        Node<Id, Data, Metric>[] array = nodes.toArray(newArray(nodes.size()));
+        return array.length == 0 ? empty() : new Path<>(array, cost);
+    }
+
+    /**
+     * Get a node of the path
+     * @param index 0 for the destination, size() - 1 for the start
+     * @return the node
+     */
+    @Override
+    public Node<Id, Data, Metric> get(int index) { return this.nodes[index]; }
+
+    /**
+     * The number of nodes on the path
+     * @return the number of nodes, 0 if the destination is unreachable
+     */
+    @Override
+    public int size() { return this.nodes.length; }
+
+    /**
+     * The total cost of the path
+     * @return the sum of the edge weights, +Infinity if the destination is unreachable
+     */
+    public double getCost() { return this.cost; }
+
+    /**
+     * Get the start node
+     * @return the start node, or null for the empty path
+     */
+    public Node<Id, Data, Metric> getStart() { return this.nodes.length == 0 ? null : this.nodes[this.nodes.length - 1]; }
+
+    /**
+     * Get the destination node
+     * @return the destination node, or null for the empty path
+     */
+    public Node<Id, Data, Metric> getDestination() { return this.nodes.length == 0 ? null : this.nodes[0]; }
+
+    @SuppressWarnings("unchecked")
+    private static <Id, Data, Metric> Node<Id, Data, Metric>[] newArray(int length) {
+        return (Node<Id, Data, Metric>[]) new Node<?, ?, ?>[length];
+    }
+}
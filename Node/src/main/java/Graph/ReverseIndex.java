@@ -0,0 +1,119 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package Graph;
+/////////////////////////////////////////////////////////////////////
+import java.util.Arrays;
+/////////////////////////////////////////////////////////////////////
+/**
+ * <pre>
+ * The incoming edges of a {@link CompressedGraph}, laid out in the same
+ * compressed sparse row form as its outgoing edges.
+ *
+ * The incoming edges of node v occupy the slots [offsets[v],
+ * offsets[v + 1]). Each slot records the tail node of the edge and the
+ * slot of the same edge in the forward arrays, so the weight is read
+ * from the graph itself and the index works for every weight type.
+ *
+ *   offsets := [0, in(0), in(0) + in(1), ..., |E|]
+ *   sources := index of the node at the tail of each edge
+ *   edges   := forward slot of each edge
+ *
+ * A node only stores its outgoing edges, so backward searches read
+ * this index instead. It is built once per snapshot by a counting sort
+ * in O(|V| + |E|) and is read-only.
+ * </pre>
+ */
+public final class ReverseIndex {
+    /**
+     * Incoming edge offsets of each node, of length n + 1
+     */
+    private final int[] offsets;
+    /**
+     * The tail node index of each incoming edge
+     */
+    private final int[] sources;
+    /**
+     * The forward slot of each incoming edge
+     */
+    private final int[] edges;
+
+    /**
+     * Transpose the adjacency of a compressed graph
+     * @param graph the compressed graph
+     */
+    ReverseIndex(CompressedGraph<?, ?, ?> graph) {
+        int n = graph.size();
+        this.offsets = new int[n + 1];
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            this.offsets[graph.target(e) + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            this.offsets[v + 1] += this.offsets[v];
+        }
+        this.sources = new int[graph.edgeCount()];
+        this.edges = new int[graph.edgeCount()];
+        int[] next = Arrays.copyOf(this.offsets, n);
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.firstEdge(u), end = graph.lastEdge(u); e < end; e++) {
+                int slot = next[graph.target(e)]++;
+                this.sources[slot] = u;
+                this.edges[slot] = e;
+            }
+        }
+    }
+
+    /**
+     * The first incoming edge slot of a node
+     * @param node the node index
+     * @return the first incoming edge slot of the node
+     */
+    public int firstEdge(int node) { return this.offsets[node]; }
+
+    /**
+     * The incoming edge slot past the last one of a node
+     * @param node the node index
+     * @return the exclusive end of the incoming edge slots of the node
+     */
+    public int lastEdge(int node) { return this.offsets[node + 1]; }
+
+    /**
+     * The number of incoming edges of a node
+     * @param node the node index
+     * @return the in degree of the node
+     */
+    public int degree(int node) { return this.offsets[node + 1] - this.offsets[node]; }
+
+    /**
+     * The tail node of an incoming edge
+     * @param edge the incoming edge slot
+     * @return the index of the node the edge leaves
+     */
+    public int source(int edge) { return this.sources[edge]; }
+
+    /**
+     * The forward slot of an incoming edge, for
+     * {@link CompressedGraph#weight(int)}
+     * @param edge the incoming edge slot
+     * @return the slot of the same edge among the outgoing edges
+     */
+    public int edge(int edge) { return this.edges[edge]; }
+}
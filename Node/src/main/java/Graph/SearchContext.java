@@ -0,0 +1,275 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package Graph;
+/////////////////////////////////////////////////////////////////////
+import Node.Node;
+import java.util.Arrays;
+/////////////////////////////////////////////////////////////////////
+/**
+ * <pre>
+ * The state of a single search over a {@link CompressedGraph}: the
+ * tentative distance, the parent and the visited flag of every node,
+ * keyed by the dense node index of the snapshot.
+ *
+ *   L(v) := distance(v)
+ *   p(v) := parent(v)
+ *   S    := { v | visited(v) }
+ *
+ * Keeping this state apart from the {@link Node} objects leaves the graph
+ * read-only while it is searched, so any number of threads may query the
+ * same snapshot at once as long as each uses its own context. A context
+ * is not thread-safe and must not be shared between concurrent searches.
+ *
+ * A context is reusable. Every node carries the epoch in which it was
+ * last written, and {@link #reset()} only advances the current epoch, so
+ * the state of a node from an earlier search reads as unreached without
+ * the arrays being cleared. The cost of a search is therefore
+ * proportional to the nodes it touches rather than to the graph size.
+ * {@link #local(CompressedGraph)} hands each thread one such context to
+ * reuse across its queries.
+ * </pre>
+ */
+public final class SearchContext {
+    /**
+     * The context reused by the searches of each thread
+     */
+    private static final ThreadLocal<SearchContext> LOCAL = new ThreadLocal<>();
+    /**
+     * The tentative distance of each node from the start node
+     */
+    private final double[] distances;
+    /**
+     * The parent of each node in the search tree, or -1
+     */
+    private final int[] parents;
+    /**
+     * Whether each node has been visited/settled
+     */
+    private final boolean[] visited;
+    /**
+     * The exact integral distance of each node, allocated by the first
+     * search that records one
+     */
+    private long[] costs;
+    /**
+     * The epoch in which each node was last written
+     */
+    private final int[] stamps;
+    /**
+     * The epoch of the current search
+     */
+    private int epoch;
+    /**
+     * Scratch space for a queue of node indices, allocated on first use
+     */
+    private int[] queue;
+
+    /**
+     * A search context for a graph of the given size
+     * @param size the number of nodes
+     */
+    public SearchContext(int size) {
+        this.distances = new double[size];
+        this.parents = new int[size];
+        this.visited = new boolean[size];
+        this.stamps = new int[size];
+        this.epoch = 1;
+    }
+
+    /**
+     * A search context sized for a compressed graph
+     * @param graph the compressed graph
+     * @return a search context sized for the graph
+     */
+    public static SearchContext of(CompressedGraph<?, ?, ?> graph) {
+        return new SearchContext(graph.size());
+    }
+
+    /**
+     * Borrow the context of the calling thread, sized for a compressed
+     * graph and already reset. The context is reused by every later call
+     * on the same thread, so its state is only valid until the thread
+     * starts its next search with a borrowed context.
+     * @param graph the compressed graph
+     * @return the reset context of the calling thread
+     */
+    public static SearchContext local(CompressedGraph<?, ?, ?> graph) {
+        SearchContext context = LOCAL.get();
+        if (context == null || context.size() < graph.size()) {
+            context = of(graph);
+            LOCAL.set(context);
+        } else {
+            context.reset();
+        }
+        return context;
+    }
+
+    /**
+     * Start a new search: every distance becomes +Infinity, every parent
+     * -1 and no node is visited. This takes constant time.
+     */
+    public void reset() {
+        if (++this.epoch == 0) {
+            // the stamps wrapped around; clear them once every 2^32 searches
+            Arrays.fill(this.stamps, 0);
+            this.epoch = 1;
+        }
+    }
+
+    /**
+     * Give a node its initial state the first time it is written in the
+     * current epoch
+     * @param node the node index
+     */
+    private void touch(int node) {
+        if (this.stamps[node] != this.epoch) {
+            this.stamps[node] = this.epoch;
+            this.distances[node] = Double.POSITIVE_INFINITY;
+            this.parents[node] = -1;
+            this.visited[node] = false;
+            if (this.costs != null) this.costs[node] = Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Get the number of nodes this context can hold
+     * @return the number of nodes
+     */
+    public int size() { return this.distances.length; }
+
+    /**
+     * Get the tentative distance of a node
+     * @param node the node index
+     * @return the distance of the node, or +Infinity if it was not reached
+     */
+    public double distance(int node) {
+        return this.stamps[node] == this.epoch ? this.distances[node] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Set the tentative distance of a node
+     * @param node the node index
+     * @param distance the distance of the node
+     */
+    public void setDistance(int node, double distance) {
+        touch(node);
+        this.distances[node] = distance;
+    }
+
+    /**
+     * Get the exact integral distance of a node. A search over long weights
+     * records its distances here, since a double only holds integers up to
+     * 2^53 exactly; {@link #distance(int)} reads the same distance widened
+     * to a double.
+     * @param node the node index
+     * @return the distance of the node, or {@link Long#MAX_VALUE} if it was
+     *          not reached or no exact distance was recorded
+     */
+    public long cost(int node) {
+        return this.costs != null && this.stamps[node] == this.epoch ? this.costs[node] : Long.MAX_VALUE;
+    }
+
+    /**
+     * Set the exact integral distance of a node, and its distance to the
+     * same value widened to a double
+     * @param node the node index
+     * @param cost the distance of the node
+     */
+    public void setCost(int node, long cost) {
+        if (this.costs == null) {
+            this.costs = new long[size()];
+            Arrays.fill(this.costs, Long.MAX_VALUE);
+        }
+        touch(node);
+        this.costs[node] = cost;
+        this.distances[node] = cost;
+    }
+
+    /**
+     * Get the parent of a node in the search tree
+     * @param node the node index
+     * @return the index of the parent node, or -1 if the node has none
+     */
+    public int parent(int node) { return this.stamps[node] == this.epoch ? this.parents[node] : -1; }
+
+    /**
+     * Set the parent of a node in the search tree
+     * @param node the node index
+     * @param parent the index of the parent node
+     */
+    public void setParent(int node, int parent) {
+        touch(node);
+        this.parents[node] = parent;
+    }
+
+    /**
+     * Has a node been visited/settled
+     * @param node the node index
+     * @return true if the node has been visited, false otherwise
+     */
+    public boolean isVisited(int node) { return this.stamps[node] == this.epoch && this.visited[node]; }
+
+    /**
+     * Mark a node as visited/settled
+     * @param node the node index
+     */
+    public void visit(int node) {
+        touch(node);
+        this.visited[node] = true;
+    }
+
+    /**
+     * Has a node been reached by the search
+     * @param node the node index
+     * @return true if the node has a finite distance, false otherwise
+     */
+    public boolean isReached(int node) { return distance(node) != Double.POSITIVE_INFINITY; }
+
+    /**
+     * Get scratch space for a queue of node indices. The array has one slot
+     * per node, is shared by every search using this context and holds no
+     * meaningful content between searches.
+     * @return an int array with one slot per node
+     */
+    public int[] queue() {
+        if (this.queue == null) this.queue = new int[size()];
+        return this.queue;
+    }
+
+    /**
+     * Back up from a node to the root of the search tree through the parents.
+     * The path is sized by a first walk up the parents and filled by a
+     * second, so it is built once into a single array.
+     * @param graph the compressed graph that was searched
+     * @param node the node index to back up from
+     * @param <Id> the node identifier
+     * @param <Data> the object stored by each node
+     * @param <Metric> the system of measurement of the edge weights
+     * @return an immutable {@link Path} from the node back to the start
+     * node with its distance as cost, or the empty path if the node was not reached.
+     */
+    public <Id, Data, Metric> Path<Id, Data, Metric> path(
+            CompressedGraph<Id, Data, Metric> graph, int node) {
+        if (!isReached(node)) return Path.empty();
+        return Path.of(graph, node, this::parent, distance(node));
+    }
+}
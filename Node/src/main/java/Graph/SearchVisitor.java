@@ -0,0 +1,94 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package Graph;
+/////////////////////////////////////////////////////////////////////
+/**
+ * <pre>
+ * Callbacks of a traversal over a {@link CompressedGraph}, called as the
+ * search runs instead of collecting its nodes.
+ *
+ *   onDiscover := a node is reached for the first time
+ *   onRelax    := an edge is about to lower the distance of its head
+ *   onSettle   := the distance of a node is final and its edges are next
+ *
+ * Nodes and edges are passed as dense indices of the snapshot and
+ * distances as doubles, so a visitor that only counts, bounds or matches
+ * allocates nothing per node; {@link CompressedGraph#getNode(int)} maps an
+ * index back to its node. Each callback steers the search:
+ *
+ *   CONTINUE := go on
+ *   PRUNE    := onDiscover: close the node without expanding it
+ *               onRelax:    skip the edge
+ *               onSettle:   do not follow the edges of the node
+ *   STOP     := end the search now
+ *
+ * Every callback defaults to CONTINUE, so a visitor overrides only those
+ * it needs.
+ * </pre>
+ */
+public interface SearchVisitor {
+
+    /**
+     * How the search goes on after a callback
+     */
+    enum Action {
+        /**
+         * Go on
+         */
+        CONTINUE,
+        /**
+         * Skip the node or edge just visited
+         */
+        PRUNE,
+        /**
+         * End the search
+         */
+        STOP
+    }
+
+    /**
+     * A node is reached for the first time
+     * @param node the node index
+     * @param parent the index of the node it was reached from, -1 for the start node
+     * @param distance its tentative distance from the start node
+     * @return how the search goes on
+     */
+    default Action onDiscover(int node, int parent, double distance) { return Action.CONTINUE; }
+
+    /**
+     * An edge is about to lower the distance of its head
+     * @param from the tail node index
+     * @param to the head node index
+     * @param edge the edge slot
+     * @param distance the distance of the head through the edge
+     * @return how the search goes on
+     */
+    default Action onRelax(int from, int to, int edge, double distance) { return Action.CONTINUE; }
+
+    /**
+     * The distance of a node is final
+     * @param node the node index
+     * @param distance its distance from the start node
+     * @return how the search goes on
+     */
+    default Action onSettle(int node, double distance) { return Action.CONTINUE; }
+}
@@ -0,0 +1,89 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package Graph;
+/////////////////////////////////////////////////////////////////////
+import Node.Node;
+/////////////////////////////////////////////////////////////////////
+/**
+ * <pre>
+ * A node whose distance from the start of a search is final, as handed
+ * out in settle order by the streams of the traversals.
+ * </pre>
+ * @param <Id> the node identifier
+ * @param <Data> the object stored by each node
+ * @param <Metric> the system of measurement of the edge weights
+ */
+public final class SettledNode<Id, Data, Metric> {
+    private final Node<Id, Data, Metric> node;
+    private final int index;
+    private final double distance;
+    private final int parent;
+
+    /**
+     * A settled node
+     * @param node the node
+     * @param index the dense index of the node in the snapshot
+     * @param distance the distance of the node from the start node
+     * @param parent the index of the node it was reached from, -1 for the start node
+     */
+    public SettledNode(Node<Id, Data, Metric> node, int index, double distance, int parent) {
+        this.node = node;
+        this.index = index;
+        this.distance = distance;
+        this.parent = parent;
+    }
+
+    /**
+     * Get the node
+     * @return the settled node
+     */
+    public Node<Id, Data, Metric> getNode() { return this.node; }
+
+    /**
+     * Get the dense index of the node in the snapshot
+     * @return the node index
+     */
+    public int index() { return this.index; }
+
+    /**
+     * Get the distance from the start node
+     * @return the final distance, the hop count for a breadth-first search
+     */
+    public double getDistance() { return this.distance; }
+
+    /**
+     * Get the node this one was reached from
+     * @return the parent node index, -1 for the start node
+     */
+    public int parent() { return this.parent; }
+
+    /**
+     * To string
+     * @return the contents of this object
+     */
+    public String toString() {
+        return "\n" + getClass().getSimpleName() + "{" +
+                "\n\t\"node\":\"" + this.node.getName() + "\"" +
+                ",\n\t\"distance\":" + this.distance +
+                "\n\t}";
+    }
+}
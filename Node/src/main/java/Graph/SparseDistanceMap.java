@@ -0,0 +1,186 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package Graph;
+/////////////////////////////////////////////////////////////////////
+import java.util.Arrays;
+/////////////////////////////////////////////////////////////////////
+/**
+ * <pre>
+ * The tentative distance and parent of the nodes a bounded search has
+ * touched, in an open-addressing hash table keyed by the dense node
+ * index of a {@link CompressedGraph}.
+ *
+ * A {@link SearchContext} holds one slot per node of the graph, which a
+ * query that only explores a small neighborhood pays for up front. This
+ * map starts small and doubles once it is half full, so its size follows
+ * the number of nodes reached rather than the graph size. Keys are probed
+ * linearly from a multiplicative hash; a node never leaves the map.
+ *
+ * A map is not thread-safe and belongs to a single search.
+ * </pre>
+ */
+public final class SparseDistanceMap {
+    /**
+     * The key of an unused slot
+     */
+    private static final int EMPTY = -1;
+    /**
+     * The node index held by each slot, or EMPTY
+     */
+    private int[] keys;
+    /**
+     * The tentative distance of the node in each slot
+     */
+    private double[] distances;
+    /**
+     * The parent of the node in each slot, or -1
+     */
+    private int[] parents;
+    /**
+     * The number of nodes held
+     */
+    private int size;
+    /**
+     * The number of low bits dropped from the 32 bit hash to index a slot,
+     * 32 - log2(capacity)
+     */
+    private int shift;
+
+    /**
+     * An empty map with room for 16 nodes before it grows
+     */
+    public SparseDistanceMap() {
+        this(16);
+    }
+
+    /**
+     * An empty map with room for the expected number of nodes before it grows
+     * @param expected the expected number of nodes
+     */
+    public SparseDistanceMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(expected, 8) * 2 - 1) << 1;
+        this.keys = new int[capacity];
+        this.distances = new double[capacity];
+        this.parents = new int[capacity];
+        this.shift = Integer.numberOfLeadingZeros(capacity) + 1;
+        Arrays.fill(this.keys, EMPTY);
+    }
+
+    /**
+     * Get the number of nodes reached
+     * @return the number of nodes in the map
+     */
+    public int size() { return this.size; }
+
+    /**
+     * Whether a node has been reached
+     * @param node the node index
+     * @return true if the node is in the map
+     */
+    public boolean contains(int node) { return this.keys[slot(node)] == node; }
+
+    /**
+     * Get the tentative distance of a node
+     * @param node the node index
+     * @return the distance, +Infinity if the node has not been reached
+     */
+    public double distance(int node) {
+        int i = slot(node);
+        return this.keys[i] == node ? this.distances[i] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Get the parent of a node
+     * @param node the node index
+     * @return the parent node index, -1 for the start node or an unreached node
+     */
+    public int parent(int node) {
+        int i = slot(node);
+        return this.keys[i] == node ? this.parents[i] : -1;
+    }
+
+    /**
+     * Set the tentative distance and parent of a node, adding it if it has
+     * not been reached yet
+     * @param node the node index
+     * @param distance the tentative distance
+     * @param parent the parent node index, or -1
+     */
+    public void put(int node, double distance, int parent) {
+        int i = slot(node);
+        if (this.keys[i] != node) {
+            if (2 * (this.size + 1) > this.keys.length) {
+                grow();
+                i = slot(node);
+            }
+            this.keys[i] = node;
+            this.size++;
+        }
+        this.distances[i] = distance;
+        this.parents[i] = parent;
+    }
+
+    /**
+     * The slot holding the node, or the empty slot where it belongs. The
+     * slot is taken from the high bits of a Fibonacci hash, which depend on
+     * every bit of the node index, so indices that differ by a multiple of
+     * the capacity, such as the nodes of one column of a grid, spread out.
+     */
+    private int slot(int node) {
+        int mask = this.keys.length - 1;
+        int i = node * 0x9E3779B9 >>> this.shift;
+        while (this.keys[i] != EMPTY && this.keys[i] != node) i = i + 1 & mask;
+        return i;
+    }
+
+    /**
+     * Double the table and re-insert every node
+     */
+    private void grow() {
+        int[] keys = this.keys;
+        double[] distances = this.distances;
+        int[] parents = this.parents;
+        this.keys = new int[keys.length * 2];
+        this.distances = new double[keys.length * 2];
+        this.parents = new int[keys.length * 2];
+        this.shift--;
+        Arrays.fill(this.keys, EMPTY);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == EMPTY) continue;
+            int j = slot(keys[i]);
+            this.keys[j] = keys[i];
+            this.distances[j] = distances[i];
+            this.parents[j] = parents[i];
+        }
+    }
+
+    /**
+     * To string
+     * @return the contents of this object
+     */
+    public String toString() {
+        return "\n" + getClass().getSimpleName() + "{" +
+                "\n\t\"size\":" + this.size +
+                ",\n\t\"capacity\":" + this.keys.length +
+                "\n\t}";
+    }
+}
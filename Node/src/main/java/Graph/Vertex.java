@@ -0,0 +1,40 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+/////////////////////////////////////////////////////////////////////
+package Graph;
+/////////////////////////////////////////////////////////////////////
+/**
+ * A member of a {@link Graph} that carries a name. Each graph the vertex
+ * is added to gives it a dense integer id of its own, see
+ * {@link Graph#getId(Object)}, and indexes it by name.
+ */
+public interface Vertex {
+    /**
+     * The id of a vertex that is not in a graph
+     */
+    int UNASSIGNED = -1;
+
+    /**
+     * Get the name of this vertex
+     * @return the name of this vertex
+     */
+    Object getName();
+}
@@ -21,10 +21,10 @@
 /////////////////////////////////////////////////////////////////////
 package Node;
 /////////////////////////////////////////////////////////////////////
+import Graph.Vertex;
 import lombok.NonNull;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Objects;
 /////////////////////////////////////////////////////////////////////
 /**
  * <pre>
@@ -34,10 +34,15 @@ import java.util.Objects;
  * city and could store the city name. If you use a graph to store data about
  * a local area network, each node might represent a network device, and could
  * store the IP address and physical location of the device.
+ *
+ * A node is identified by the object itself: two nodes are equal only
+ * if they are the same node, and its hashcode never changes while its
+ * distance, path or edges are updated by a search. Each {@link Graph.Graph}
+ * a node is added to gives it a dense integer id of its own.
  * </pre>
  * @param <Data> the data stored in the node
  */
-public class Node<Name, Data, Metric> implements Comparable<Node<Name, Data, Metric>> {
+public class Node<Name, Data, Metric> implements Comparable<Node<Name, Data, Metric>>, Vertex {
     /**
      * The identifier of this node
      */
@@ -102,6 +107,9 @@ public class Node<Name, Data, Metric> implements Comparable<Node<Name, Data, Met
         this.name = name;
         this.data = data;
         this.coordinate = coordinate;
+        this.shortestPath = new LinkedList<>();
+        this.distance = new Distance<Metric>();
+        this.edges = new LinkedList<>();
     }
 
     /**
@@ -217,66 +225,23 @@ public class Node<Name, Data, Metric> implements Comparable<Node<Name, Data, Met
     }
 
     /**
-     * If object o is equal to this class object.
+     * If object o is equal to this class object. A node is equal only to
+     * itself.
      * @param o the object to compare
-     * @return true if equal otherwise false
+     * @return true if o is this node, false otherwise
      */
     public boolean equals(final Object o) {
-        if (o == this) return true;
-        if (!(o instanceof Node)) return false;
-        final Node<?,?,?> other = (Node<?,?,?>) o;
-        if (!other.canEqual(( this))) return false;
-        final Object this$name = this.getName();
-        final Object other$name = other.getName();
-        if (!Objects.equals(this$name, other$name)) return false;
-        final Object this$data = this.getData();
-        final Object other$data = other.getData();
-        if (!Objects.equals(this$data, other$data)) return false;
-        final Object this$coordinate = this.getCoordinate();
-        final Object other$coordinate = other.getCoordinate();
-        if (!Objects.equals(this$coordinate, other$coordinate))
-            return false;
-        final Object this$shortestPath = this.getShortestPath();
-        final Object other$shortestPath = other.getShortestPath();
-        if (!Objects.equals(this$shortestPath, other$shortestPath))
-            return false;
-        final Object this$distance = this.getDistance();
-        final Object other$distance = other.getDistance();
-        if (!Objects.equals(this$distance, other$distance)) return false;
-        final Object this$edges = this.getEdges();
-        final Object other$edges = other.getEdges();
-        return Objects.equals(this$edges, other$edges);
-    }
-
-    /**
-     * Is this other object an instance of this object.
-     * @param other the object to compare
-     * @return true if an instance of this object, false otherwise
-     */
-    protected boolean canEqual(final Object other) {
-        return other instanceof Node;
+        return o == this;
     }
 
     /**
-     * Get the hashcode of this class
+     * Get the hashcode of this class. The hashcode depends on the identity
+     * of the node alone, so it is constant time and stays the same while
+     * the node is updated.
      * @return the hashcode
      */
     public int hashCode() {
-        final int PRIME = 59;
-        int result = 1;
-        final Object $name = this.getName();
-        result = result * PRIME + ($name == null ? 43 : $name.hashCode());
-        final Object $data = this.getData();
-        result = result * PRIME + ($data == null ? 43 : $data.hashCode());
-        final Object $coordinate = this.getCoordinate();
-        result = result * PRIME + ($coordinate == null ? 43 : $coordinate.hashCode());
-        final Object $shortestPath = this.getShortestPath();
-        result = result * PRIME + ($shortestPath == null ? 43 : $shortestPath.hashCode());
-        final Object $distance = this.getDistance();
-        result = result * PRIME + ($distance == null ? 43 : $distance.hashCode());
-        final Object $edges = this.getEdges().stream();
-        result = result * PRIME + ($edges == null ? 43 : $edges.hashCode());
-        return result;
+        return System.identityHashCode(this);
     }
     /**
      * Compares this object with the specified object for order.  Returns a
@@ -0,0 +1,146 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+import Graph.CompressedGraph;
+import Graph.Components;
+import Graph.Graph;
+import Node.*;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+@Slf4j
+public class ComponentsTest {
+
+    static CompressedGraph<String,String,Integer> randomGraph(int n, int edges, long seed) {
+        Random random = new Random(seed);
+        List<Node<String,String,Integer>> nodes = new ArrayList<>();
+        Graph<Node<String,String,Integer>> graph = new Graph<Node<String,String,Integer>>();
+        for (int i = 0; i < n; i++) {
+            Node<String,String,Integer> node = new Node<String,String,Integer>("N" + i, "D" + i);
+            nodes.add(node);
+            graph.addNode(node);
+        }
+        for (int e = 0; e < edges; e++) {
+            nodes.get(random.nextInt(n)).addAdjacentNode(nodes.get(random.nextInt(n)), new Distance<>(1));
+        }
+        return CompressedGraph.ofInt(graph);
+    }
+
+    /**
+     * Which nodes each node reaches, by a search from every node
+     */
+    static boolean[][] reachability(CompressedGraph<?,?,?> csr, boolean undirected) {
+        int n = csr.size();
+        boolean[][] reach = new boolean[n][n];
+        for (int s = 0; s < n; s++) {
+            int[] queue = new int[n];
+            int head = 0, tail = 0;
+            queue[tail++] = s;
+            reach[s][s] = true;
+            while (head < tail) {
+                int u = queue[head++];
+                for (int v = 0; v < n; v++) {
+                    boolean edge = false;
+                    for (int e = csr.firstEdge(u); e < csr.lastEdge(u) && !edge; e++) edge = csr.target(e) == v;
+                    for (int e = csr.firstEdge(v); undirected && e < csr.lastEdge(v) && !edge; e++) edge = csr.target(e) == u;
+                    if (edge && !reach[s][v]) {
+                        reach[s][v] = true;
+                        queue[tail++] = v;
+                    }
+                }
+            }
+        }
+        return reach;
+    }
+
+    @Test
+    public void componentsTest() {
+        CompressedGraph<String,String,Integer> csr = randomGraph(120, 130, 7);
+        // nothing is rejected before the components are found
+        for (int u = 0; u < csr.size(); u++) {
+            for (int v = 0; v < csr.size(); v++) Assert.assertTrue(csr.mayReach(u, v));
+        }
+        Assert.assertSame(csr.withComponents(), csr);
+        Components weak = csr.weakComponents();
+        Components strong = csr.strongComponents();
+        log.info("{}{}", weak, strong);
+        Assert.assertSame(csr.weakComponents(), weak);
+
+        boolean[][] undirected = reachability(csr, true);
+        boolean[][] directed = reachability(csr, false);
+        for (int u = 0; u < csr.size(); u++) {
+            for (int v = 0; v < csr.size(); v++) {
+                Assert.assertEquals(weak.connected(u, v), undirected[u][v]);
+                Assert.assertEquals(strong.connected(u, v), directed[u][v] && directed[v][u]);
+                // a path never leads into a component with a larger id
+                if (directed[u][v]) Assert.assertTrue(strong.componentOf(v) <= strong.componentOf(u));
+                // never rejects a reachable node, and rejects across weak components and against the order
+                if (directed[u][v]) Assert.assertTrue(csr.mayReach(u, v));
+                Assert.assertEquals(csr.mayReach(u, v),
+                        undirected[u][v] && strong.componentOf(u) >= strong.componentOf(v));
+            }
+        }
+        int total = 0;
+        for (int size : weak.sizes()) total += size;
+        Assert.assertEquals(total, csr.size());
+    }
+
+    @Test
+    public void parallelWeakComponentsTest() {
+        CompressedGraph<String,String,Integer> csr = randomGraph(200000, 110000, 3);
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Components sequential = Components.weak(csr, single);
+            Components parallel = Components.weak(csr, pool);
+            Assert.assertEquals(parallel.count(), sequential.count());
+            for (int v = 0; v < csr.size(); v++) {
+                Assert.assertEquals(parallel.componentOf(v), sequential.componentOf(v));
+            }
+        } finally {
+            single.shutdown();
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void deepStrongComponentsTest() {
+        // a single cycle far deeper than a recursive search could go
+        int n = 200000;
+        List<Node<String,String,Integer>> nodes = new ArrayList<>();
+        Graph<Node<String,String,Integer>> graph = new Graph<Node<String,String,Integer>>();
+        for (int i = 0; i < n; i++) {
+            Node<String,String,Integer> node = new Node<String,String,Integer>("N" + i, "D" + i);
+            nodes.add(node);
+            graph.addNode(node);
+        }
+        for (int i = 0; i < n; i++) nodes.get(i).addAdjacentNode(nodes.get((i + 1) % n), new Distance<>(1));
+        Components strong = CompressedGraph.ofInt(graph).strongComponents();
+        Assert.assertEquals(strong.count(), 1);
+        // breaking the cycle leaves every node on its own
+        nodes.get(n - 1).getEdges().clear();
+        Assert.assertEquals(CompressedGraph.ofInt(graph).strongComponents().count(), n);
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+import Graph.CompressedGraph;
+import Graph.Graph;
+import Graph.ReverseIndex;
+import Node.*;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Slf4j
+public class CompressedGraphTest {
+
+    @Test
+    public void compressedGraphTest() {
+        Node<String, String, Integer> nodeA = new Node<String, String, Integer>("A", "AA");
+        Node<String, String, Integer> nodeB = new Node<String, String, Integer>("B", "BB");
+        Node<String, String, Integer> nodeC = new Node<String, String, Integer>("C", "CC");
+        Node<String, String, Integer> nodeD = new Node<String, String, Integer>("D", "DD");
+
+        nodeA.addAdjacentNode(nodeB, new Distance<>(1));
+        nodeA.addAdjacentNode(nodeC, new Distance<>(4));
+        nodeB.addAdjacentNode(nodeC, new Distance<>(2));
+        nodeC.addAdjacentNode(nodeD, new Distance<>(3));
+
+        Graph<Node<String, String, Integer>> graph = new Graph<Node<String, String, Integer>>();
+        graph.addNode(nodeA);
+        graph.addNode(nodeB);
+        graph.addNode(nodeC);
+        graph.addNode(nodeD);
+
+        CompressedGraph<String, String, Integer> csr = CompressedGraph.of(graph);
+        log.info("{}", csr);
+
+        Assert.assertEquals(csr.size(), 4);
+        Assert.assertEquals(csr.edgeCount(), 4);
+        // each node maps back to itself through its dense index
+        for (Node<String, String, Integer> node : graph.getNodes()) {
+            int u = csr.indexOf(node);
+            Assert.assertSame(csr.getNode(u), node);
+            Assert.assertEquals(csr.degree(u), node.getEdges().size());
+        }
+        // the adjacency of A is laid out in insertion order
+        int a = csr.indexOf(nodeA);
+        Assert.assertEquals(csr.target(csr.firstEdge(a)), csr.indexOf(nodeB));
+        Assert.assertEquals(csr.weight(csr.firstEdge(a)), 1.0);
+        Assert.assertEquals(csr.target(csr.firstEdge(a) + 1), csr.indexOf(nodeC));
+        Assert.assertEquals(csr.weight(csr.firstEdge(a) + 1), 4.0);
+        Assert.assertEquals(csr.degree(csr.indexOf(nodeD)), 0);
+        Assert.assertEquals(csr.indexOf(new Node<>("Z", "ZZ")), -1);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void compressedGraphRejectsForeignNodeTest() {
+        Node<String, String, Integer> nodeA = new Node<String, String, Integer>("A", "AA");
+        Node<String, String, Integer> nodeB = new Node<String, String, Integer>("B", "BB");
+        nodeA.addAdjacentNode(nodeB, new Distance<>(1));
+        Graph<Node<String, String, Integer>> graph = new Graph<Node<String, String, Integer>>();
+        graph.addNode(nodeA);
+        CompressedGraph.of(graph);
+    }
+
+    @Test
+    public void reverseIndexTest() {
+        Node<String, String, Integer> nodeA = new Node<String, String, Integer>("A", "AA");
+        Node<String, String, Integer> nodeB = new Node<String, String, Integer>("B", "BB");
+        Node<String, String, Integer> nodeC = new Node<String, String, Integer>("C", "CC");
+        nodeA.addAdjacentNode(nodeC, new Distance<>(4));
+        nodeB.addAdjacentNode(nodeC, new Distance<>(2));
+        nodeC.addAdjacentNode(nodeA, new Distance<>(3));
+        Graph<Node<String, String, Integer>> graph = new Graph<Node<String, String, Integer>>();
+        graph.addNode(nodeA);
+        graph.addNode(nodeB);
+        graph.addNode(nodeC);
+
+        CompressedGraph<String, String, Integer> csr = CompressedGraph.ofInt(graph);
+        ReverseIndex reverse = csr.reverse();
+        Assert.assertSame(csr.reverse(), reverse);
+        // C is entered from A and then B, each slot pointing at its forward edge
+        int c = csr.indexOf(nodeC);
+        Assert.assertEquals(reverse.degree(c), 2);
+        Assert.assertEquals(reverse.source(reverse.firstEdge(c)), csr.indexOf(nodeA));
+        Assert.assertEquals(csr.weight(reverse.edge(reverse.firstEdge(c))), 4.0);
+        Assert.assertEquals(reverse.source(reverse.firstEdge(c) + 1), csr.indexOf(nodeB));
+        Assert.assertEquals(csr.weight(reverse.edge(reverse.firstEdge(c) + 1)), 2.0);
+        Assert.assertEquals(reverse.degree(csr.indexOf(nodeB)), 0);
+        Assert.assertEquals(reverse.source(reverse.firstEdge(csr.indexOf(nodeA))), c);
+    }
+}
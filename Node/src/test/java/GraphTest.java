@@ -0,0 +1,104 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+import Graph.CompressedGraph;
+import Graph.Graph;
+import Node.*;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Slf4j
+public class GraphTest {
+
+    @Test
+    public void graphIdTest() {
+        Node<String, String, Integer> nodeA = new Node<String, String, Integer>("A", "AA");
+        Node<String, String, Integer> nodeB = new Node<String, String, Integer>("B", "BB");
+        Node<String, String, Integer> nodeC = new Node<String, String, Integer>("C", "CC");
+        Set<Node<String, String, Integer>> set = new HashSet<>();
+        set.add(nodeA);
+
+        Graph<Node<String, String, Integer>> graph = new Graph<Node<String, String, Integer>>();
+        graph.addNode(nodeA);
+        graph.addNode(nodeB);
+        graph.addNode(nodeB);
+        log.info("{}", graph.getNodesById());
+
+        // ids are dense and assigned in insertion order
+        Assert.assertEquals(graph.size(), 2);
+        Assert.assertEquals(graph.getId(nodeA), 0);
+        Assert.assertEquals(graph.getId(nodeB), 1);
+        Assert.assertEquals(graph.getId(nodeC), -1);
+        Assert.assertTrue(graph.isDenselyIndexed());
+        Assert.assertSame(graph.getNode(1), nodeB);
+        Assert.assertSame(graph.findNode("A"), nodeA);
+        Assert.assertEquals(graph.idOf("Z"), -1);
+        Assert.assertTrue(graph.contains(nodeA));
+        Assert.assertFalse(graph.contains(nodeC));
+        // assigning an id does not move a node already held in a hashed set
+        Assert.assertTrue(set.contains(nodeA));
+        // equality is identity, not name
+        Assert.assertNotEquals(new Node<String, String, Integer>("A", "AA"), nodeA);
+    }
+
+    @Test
+    public void sharedNodeTest() {
+        Node<String, String, Integer> nodeA = new Node<String, String, Integer>("A", "AA");
+        Node<String, String, Integer> nodeB = new Node<String, String, Integer>("B", "BB");
+        Graph<Node<String, String, Integer>> first = new Graph<Node<String, String, Integer>>();
+        first.addNode(nodeA);
+        Graph<Node<String, String, Integer>> second = new Graph<Node<String, String, Integer>>();
+        second.addNode(nodeB);
+        // both nodes hold id 0 in their own graph and still combine into a third
+        Graph<Node<String, String, Integer>> both = new Graph<Node<String, String, Integer>>();
+        both.addNode(nodeB);
+        both.addNode(nodeA);
+        Assert.assertEquals(first.getId(nodeA), 0);
+        Assert.assertEquals(second.getId(nodeB), 0);
+        Assert.assertEquals(both.getId(nodeB), 0);
+        Assert.assertEquals(both.getId(nodeA), 1);
+        Assert.assertTrue(both.isDenselyIndexed());
+        Assert.assertEquals(both.getNodesById().size(), 2);
+        Assert.assertFalse(first.contains(nodeB));
+    }
+
+    @Test
+    public void swappedMemberTest() {
+        Node<String, String, Integer> nodeA = new Node<String, String, Integer>("A", "AA");
+        Node<String, String, Integer> nodeB = new Node<String, String, Integer>("B", "BB");
+        Node<String, String, Integer> nodeC = new Node<String, String, Integer>("C", "CC");
+        Graph<Node<String, String, Integer>> graph = new Graph<Node<String, String, Integer>>();
+        graph.addNode(nodeA);
+        graph.addNode(nodeB);
+        // one node swapped for another behind the graph's back keeps the count
+        graph.getNodes().remove(nodeA);
+        graph.getNodes().add(nodeC);
+        Assert.assertEquals(graph.getNodesById().size(), graph.size());
+        Assert.assertFalse(graph.isDenselyIndexed());
+        // the snapshot follows the members, not the stale ids
+        CompressedGraph<String, String, Integer> csr = CompressedGraph.ofInt(graph);
+        Assert.assertEquals(csr.indexOf(nodeA), -1);
+        Assert.assertTrue(csr.indexOf(nodeC) >= 0);
+    }
+}
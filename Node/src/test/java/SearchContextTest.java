@@ -0,0 +1,50 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+import Graph.SearchContext;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Slf4j
+public class SearchContextTest {
+
+    @Test
+    public void searchContextResetTest() {
+        SearchContext context = new SearchContext(4);
+        Assert.assertFalse(context.isReached(2));
+        context.setDistance(2, 7);
+        context.setParent(2, 1);
+        context.visit(3);
+        Assert.assertEquals(context.distance(2), 7.0);
+        Assert.assertEquals(context.parent(2), 1);
+        Assert.assertTrue(context.isVisited(3));
+        // the state of the previous search reads as unreached after a reset
+        context.reset();
+        Assert.assertEquals(context.distance(2), Double.POSITIVE_INFINITY);
+        Assert.assertEquals(context.parent(2), -1);
+        Assert.assertFalse(context.isVisited(3));
+        // a node written in the new epoch starts from its initial state
+        context.visit(2);
+        Assert.assertTrue(context.isVisited(2));
+        Assert.assertEquals(context.distance(2), Double.POSITIVE_INFINITY);
+        Assert.assertEquals(context.parent(2), -1);
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Algorithms  Copyright (C) 2022  Dellius Alexander
+ *
+ * This program comes with ABSOLUTELY NO WARRANTY; for details type `show w'.
+ * This is free software, and you are welcome to redistribute it
+ * under certain conditions; type `show c' for details.
+ */
+import Graph.SparseDistanceMap;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+@Slf4j
+public class SparseDistanceMapTest {
+
+    @Test
+    public void sparseDistanceMapTest() {
+        SparseDistanceMap map = new SparseDistanceMap();
+        Map<Integer, Double> expected = new HashMap<>();
+        Random random = new Random(29);
+        // enough keys to force several rounds of growth, some written twice
+        for (int i = 0; i < 5000; i++) {
+            int node = random.nextInt(1 << 20);
+            double distance = random.nextDouble();
+            map.put(node, distance, node / 2);
+            expected.put(node, distance);
+        }
+        log.info("{}", map);
+        Assert.assertEquals(map.size(), expected.size());
+        for (Map.Entry<Integer, Double> entry : expected.entrySet()) {
+            Assert.assertTrue(map.contains(entry.getKey()));
+            Assert.assertEquals(map.distance(entry.getKey()), entry.getValue());
+            Assert.assertEquals(map.parent(entry.getKey()), entry.getKey() / 2);
+        }
+        int absent = 0;
+        while (expected.containsKey(absent)) absent++;
+        Assert.assertFalse(map.contains(absent));
+        Assert.assertEquals(map.distance(absent), Double.POSITIVE_INFINITY);
+        Assert.assertEquals(map.parent(absent), -1);
+    }
+
+    @Test
+    public void stridedKeysTest() {
+        SparseDistanceMap map = new SparseDistanceMap(64);
+        // the nodes of one column of a grid 1024 wide, all equal in their low bits
+        for (int row = 0; row < 64; row++) map.put(row * 1024, row, (row - 1) * 1024);
+        Assert.assertEquals(map.size(), 64);
+        for (int row = 0; row < 64; row++) {
+            Assert.assertEquals(map.distance(row * 1024), (double) row);
+            Assert.assertEquals(map.parent(row * 1024), (row - 1) * 1024);
+        }
+        Assert.assertFalse(map.contains(512));
+    }
+}